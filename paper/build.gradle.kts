@@ -171,6 +171,11 @@ dependencies {
     compileOnly("com.mojang:brigadier:1.0.18")
 
     implementation("commons-io:commons-io:2.11.0")
+
+    //Database connection pool. SLF4J is provided by Paper
+    implementation("com.zaxxer:HikariCP:5.0.1") {
+        exclude(group = "org.slf4j")
+    }
 }
 
 /**
@@ -206,6 +211,8 @@ tasks.withType<ShadowJar> {
 
     relocate("org.incendo.interfaces", "$shadowPath.interfaces")
 
+    relocate("com.zaxxer.hikari", "$shadowPath.hikari")
+
 
     dependencies {
         //include(dependency('org.apache.commons:')
@@ -223,6 +230,7 @@ tasks.withType<ShadowJar> {
 
         include(dependency("com.github.AlessioGr.packetevents:"))
         include(dependency("org.incendo.interfaces:"))
+        include(dependency("com.zaxxer:"))
 
         //include(dependency('net.kyori:adventure-platform-bukkit:')
         include(dependency("net.kyori:adventure-text-minimessage:"))
@@ -13,6 +13,7 @@ import rocks.gravili.notquests.paper.conversation.ConversationEvents;
 import rocks.gravili.notquests.paper.conversation.ConversationManager;
 import rocks.gravili.notquests.paper.events.ArmorStandEvents;
 import rocks.gravili.notquests.paper.events.InventoryEvents;
+import rocks.gravili.notquests.paper.events.PlayerDataEvents;
 import rocks.gravili.notquests.paper.events.QuestEvents;
 import rocks.gravili.notquests.paper.events.TriggerEvents;
 import rocks.gravili.notquests.paper.events.notquests.other.PlayerJumpEvent;
@@ -47,6 +48,7 @@ public class NotQuests {
     private LanguageManager languageManager;
     private ArmorStandManager armorStandManager;
     private PerformanceManager performanceManager;
+    private QuestGiverIndicatorManager questGiverIndicatorManager;
     private CommandManager commandManager;
     private ConversationManager conversationManager;
     private PacketManager packetManager;
@@ -123,6 +125,9 @@ public class NotQuests {
         //Create a new instance of the Performance Manager which will be re-used everywhere
         performanceManager = new PerformanceManager(this);
 
+        //Create a new instance of the Quest Giver Indicator Manager, which spawns the particles above quest givers. Citizens NPCs register themselves once they spawn.
+        questGiverIndicatorManager = new QuestGiverIndicatorManager(this);
+
 
         actionsYMLManager = new ActionsYMLManager(this);
         conditionsYMLManager = new ConditionsYMLManager(this);
@@ -160,6 +165,8 @@ public class NotQuests {
 
         armorStandManager.loadAllArmorStandsFromLoadedChunks();
 
+        questGiverIndicatorManager.start();
+
 
         //Registering the nquestgiver Trait here has been commented out. I think I'm currently doing that somewhere else atm. So, this isn't needed at the moment.
         //net.citizensnpcs.api.CitizensAPI.getTraitFactory().registerTrait(net.citizensnpcs.api.trait.TraitInfo.create(QuestGiverNPCTrait.class).withName("nquestgiver"));
@@ -190,6 +197,9 @@ public class NotQuests {
         //Register the Event Listeners in ArmorStandEvents
         main.getServer().getPluginManager().registerEvents(new ArmorStandEvents(this), main);
 
+        //Register the Event Listeners in PlayerDataEvents
+        main.getServer().getPluginManager().registerEvents(new PlayerDataEvents(this), main);
+
 
         integrationsManager.registerEvents();
 
@@ -330,6 +340,10 @@ public class NotQuests {
         //Save all kinds of data
         dataManager.saveData();
 
+        questPlayerManager.onDisable();
+        dataManager.closeDataSource();
+
+        questGiverIndicatorManager.stop();
 
 
         /* This is kind of useful for compatibility with ServerUtils or Plugman.
@@ -342,6 +356,7 @@ public class NotQuests {
 
         packetManager.terminate();
 
+        logManager.shutdown();
     }
 
 
@@ -410,6 +425,10 @@ public class NotQuests {
         return performanceManager;
     }
 
+    public QuestGiverIndicatorManager getQuestGiverIndicatorManager() {
+        return questGiverIndicatorManager;
+    }
+
     public ObjectiveManager getObjectiveManager() {
         return objectiveManager;
     }
@@ -36,6 +36,7 @@ import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.commands.arguments.ActiveQuestSelector;
 import rocks.gravili.notquests.paper.commands.arguments.QuestSelector;
+import rocks.gravili.notquests.paper.conversation.ChatHistory;
 import rocks.gravili.notquests.paper.structs.*;
 import rocks.gravili.notquests.paper.structs.actions.Action;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
@@ -170,18 +171,19 @@ public class AdminCommands {
                         }
                     } else {
                         OfflinePlayer offlinePlayer = main.getUtilManager().getOfflinePlayer(singlePlayerSelector.getSelector());
-                        QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                        if (questPlayer != null) {
-                            context.getSender().sendMessage(main.parse("<main>Active quests of player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>:"));
-                            int counter = 1;
-                            for (ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                                context.getSender().sendMessage(main.parse("<highlight>" + counter + ".</highlight> <main>" + activeQuest.getQuest().getQuestName()));
-                                counter += 1;
+                        main.getQuestPlayerManager().getOfflineQuestPlayerAsync(offlinePlayer.getUniqueId()).thenAccept(questPlayer -> {
+                            if (questPlayer != null) {
+                                context.getSender().sendMessage(main.parse("<main>Active quests of player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>:"));
+                                int counter = 1;
+                                for (ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
+                                    context.getSender().sendMessage(main.parse("<highlight>" + counter + ".</highlight> <main>" + activeQuest.getQuest().getQuestName()));
+                                    counter += 1;
+                                }
+                                context.getSender().sendMessage(main.parse("<unimportant>Total active quests: <highlight2>" + (counter - 1) + "</highlight2>."));
+                            } else {
+                                context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> did not accept any active quests."));
                             }
-                            context.getSender().sendMessage(main.parse("<unimportant>Total active quests: <highlight2>" + (counter - 1) + "</highlight2>."));
-                        } else {
-                            context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> did not accept any active quests."));
-                        }
+                        });
                     }
                 }));
 
@@ -211,22 +213,23 @@ public class AdminCommands {
                         }
                     } else {
                         OfflinePlayer offlinePlayer = main.getUtilManager().getOfflinePlayer(singlePlayerSelector.getSelector());
-                        QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                        if (questPlayer != null) {
-                            context.getSender().sendMessage(main.parse("<main>Completed quests of player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>:"));
-                            int counter = 1;
-                            for (CompletedQuest completedQuest : questPlayer.getCompletedQuests()) {
-                                resultDate.setTime(completedQuest.getTimeCompleted());
-                                context.getSender().sendMessage(main.parse("<main><highlight>" + counter + ".</highlight> <highlight2>" + completedQuest.getQuest().getQuestName()
-                                        + "</highlight2> Completed: <highlight2>" + resultDate + "</highlight2>"
-                                ));
-                                counter += 1;
-                            }
+                        main.getQuestPlayerManager().getOfflineQuestPlayerAsync(offlinePlayer.getUniqueId()).thenAccept(questPlayer -> {
+                            if (questPlayer != null) {
+                                context.getSender().sendMessage(main.parse("<main>Completed quests of player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>:"));
+                                int counter = 1;
+                                for (CompletedQuest completedQuest : questPlayer.getCompletedQuests()) {
+                                    resultDate.setTime(completedQuest.getTimeCompleted());
+                                    context.getSender().sendMessage(main.parse("<main><highlight>" + counter + ".</highlight> <highlight2>" + completedQuest.getQuest().getQuestName()
+                                            + "</highlight2> Completed: <highlight2>" + resultDate + "</highlight2>"
+                                    ));
+                                    counter += 1;
+                                }
 
-                            context.getSender().sendMessage(main.parse("<unimportant>Total completed quests: <highlight2>" + (counter - 1) + "</highlight2>."));
-                        } else {
-                            context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> never completed any quests."));
-                        }
+                                context.getSender().sendMessage(main.parse("<unimportant>Total completed quests: <highlight2>" + (counter - 1) + "</highlight2>."));
+                            } else {
+                                context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> never completed any quests."));
+                            }
+                        });
                     }
                 }));
 
@@ -458,6 +461,7 @@ public class AdminCommands {
                         }
 
                         questPlayer.getActiveQuests().removeAll(activeQuestsToRemove);
+                        questPlayer.markActiveQuestsChanged();
 
                         final ArrayList<CompletedQuest> completedQuestsToRemove = new ArrayList<>();
 
@@ -473,6 +477,7 @@ public class AdminCommands {
                         }
 
                         questPlayer.getCompletedQuests().removeAll(completedQuestsToRemove);
+                        questPlayer.markCompletedQuestsChanged();
                     }
                     context.getSender().sendMessage(main.parse("<success>Operation done!"));
                 }));
@@ -519,6 +524,7 @@ public class AdminCommands {
                         }
 
                         questPlayer.getCompletedQuests().removeAll(completedQuestsToRemove);
+                        questPlayer.markCompletedQuestsChanged();
                     }
                     context.getSender().sendMessage(main.parse("<success>Operation done!"));
 
@@ -586,10 +592,10 @@ public class AdminCommands {
                 .handler((context) -> {
                     context.getSender().sendMessage(Component.empty());
                     Player player = (Player) context.getSender();
-                    ArrayList<Component> history = main.getConversationManager().getChatHistory().get(player.getUniqueId());
+                    final ChatHistory history = main.getConversationManager().getChatHistory(player.getUniqueId());
                     if (history != null) {
                         Component collectiveComponent = Component.text("");
-                        for (Component component : history) {
+                        for (Component component : history.getMessages()) {
                             if (component != null) {
                                 // audience.sendMessage(component.append(Component.text("fg9023zf729ofz")));
                                 collectiveComponent = collectiveComponent.append(component).append(Component.newline());
@@ -612,11 +618,12 @@ public class AdminCommands {
                 .handler((context) -> {
                     context.getSender().sendMessage(Component.empty());
                     Player player = (Player) context.getSender();
-                    ArrayList<Component> history = main.getConversationManager().getChatHistory().get(player.getUniqueId());
+                    final ChatHistory history = main.getConversationManager().getChatHistory(player.getUniqueId());
                     if (history != null) {
+                        final List<Component> messages = history.getMessages();
                         Component collectiveComponent = Component.text("");
-                        for (int i = 0; i < history.size(); i++) {
-                            Component component = history.get(i);
+                        for (int i = 0; i < messages.size(); i++) {
+                            Component component = messages.get(i);
                             if (component != null) {
                                 // audience.sendMessage(component.append(Component.text("fg9023zf729ofz")));
                                 collectiveComponent = collectiveComponent.append(Component.text(i + ".", NamedTextColor.RED).append(component)).append(Component.newline());
@@ -654,12 +661,13 @@ public class AdminCommands {
 
                         final OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(singlePlayerSelector.getSelector());
 
-                        final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                        if (questPlayer != null) {
-                            context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>: <highlight2>" + questPlayer.getQuestPoints()));
-                        } else {
-                            context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> does not have any quest points!"));
-                        }
+                        main.getQuestPlayerManager().getOfflineQuestPlayerAsync(offlinePlayer.getUniqueId()).thenAccept(questPlayer -> {
+                            if (questPlayer != null) {
+                                context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>: <highlight2>" + questPlayer.getQuestPoints()));
+                            } else {
+                                context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> does not have any quest points!"));
+                            }
+                        });
                     }
 
 
@@ -700,33 +708,34 @@ public class AdminCommands {
                         }
                     } else {
                         final OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(singlePlayerSelector.getSelector());
-                        final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                        if (questPlayer != null) {
-                            final long oldQuestPoints = questPlayer.getQuestPoints();
-                            questPlayer.addQuestPoints(questPointsToAdd, false);
-                            context.getSender().sendMessage(main.parse(  "<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints
-                                    + "</unimportant> to <highlight2>" + (oldQuestPoints + questPointsToAdd) + "</highlight2>."));
-                        } else {
-                            context.getSender().sendMessage(main.parse("<warn>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> never accepted any quests! A new QuestPlayer has been created for him."));
-                            context.getSender().sendMessage(main.parse("<main>Quest player creation status: <highlight>" + main.getQuestPlayerManager().createQuestPlayer(offlinePlayer.getUniqueId())));
-
-                            final QuestPlayer newQuestPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                            if (newQuestPlayer != null) {
-                                final long oldQuestPoints = newQuestPlayer.getQuestPoints();
-                                newQuestPlayer.addQuestPoints(questPointsToAdd, false);
-                                context.getSender().sendMessage(main.parse(
-                                        "<success>Quest points for player <highlight>" + offlinePlayer.getName()
-                                                + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints + "</unimportant> to <highlight2>"
-                                                + (oldQuestPoints + questPointsToAdd) + "</highlight2>."));
+                        main.getQuestPlayerManager().getOfflineQuestPlayerAsync(offlinePlayer.getUniqueId()).thenAccept(questPlayer -> {
+                            if (questPlayer != null) {
+                                final long oldQuestPoints = questPlayer.getQuestPoints();
+                                questPlayer.addQuestPoints(questPointsToAdd, false);
+                                context.getSender().sendMessage(main.parse(  "<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints
+                                        + "</unimportant> to <highlight2>" + (oldQuestPoints + questPointsToAdd) + "</highlight2>."));
                             } else {
-                                context.getSender().sendMessage(main.parse("<error>Something went wrong during the questPlayer creation!"));
+                                context.getSender().sendMessage(main.parse("<warn>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> never accepted any quests! A new QuestPlayer has been created for him."));
+                                context.getSender().sendMessage(main.parse("<main>Quest player creation status: <highlight>" + main.getQuestPlayerManager().createQuestPlayer(offlinePlayer.getUniqueId())));
+
+                                final QuestPlayer newQuestPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
+                                if (newQuestPlayer != null) {
+                                    final long oldQuestPoints = newQuestPlayer.getQuestPoints();
+                                    newQuestPlayer.addQuestPoints(questPointsToAdd, false);
+                                    context.getSender().sendMessage(main.parse(
+                                            "<success>Quest points for player <highlight>" + offlinePlayer.getName()
+                                                    + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints + "</unimportant> to <highlight2>"
+                                                    + (oldQuestPoints + questPointsToAdd) + "</highlight2>."));
+                                } else {
+                                    context.getSender().sendMessage(main.parse("<error>Something went wrong during the questPlayer creation!"));
+                                }
                             }
-                        }
-                        if (questPlayer != null) {
-                            context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>: <highlight2>"  + questPlayer.getQuestPoints()));
-                        } else {
-                            context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> does not have any quest points!"));
-                        }
+                            if (questPlayer != null) {
+                                context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>: <highlight2>"  + questPlayer.getQuestPoints()));
+                            } else {
+                                context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> does not have any quest points!"));
+                            }
+                        });
                     }
                 }));
 
@@ -764,33 +773,34 @@ public class AdminCommands {
                         }
                     } else {
                         final OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(singlePlayerSelector.getSelector());
-                        final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                        if (questPlayer != null) {
-                            final long oldQuestPoints = questPlayer.getQuestPoints();
-                            questPlayer.removeQuestPoints(questPointsToRemove, false);
-                            context.getSender().sendMessage(main.parse( "<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints
-                                    + "</unimportant> to <highlight2>" + (oldQuestPoints - questPointsToRemove) + "</highlight2>."));
-                        } else {
-                            context.getSender().sendMessage(main.parse( "<warn>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> never accepted any quests! A new QuestPlayer has been created for him."));
-                            context.getSender().sendMessage(main.parse("<main>Quest player creation status: <highlight>" + main.getQuestPlayerManager().createQuestPlayer(offlinePlayer.getUniqueId())));
-
-                            final QuestPlayer newQuestPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                            if (newQuestPlayer != null) {
-                                final long oldQuestPoints = newQuestPlayer.getQuestPoints();
-                                newQuestPlayer.removeQuestPoints(questPointsToRemove, false);
-                                context.getSender().sendMessage(main.parse(
-                                        "<success>Quest points for player <highlight>" + offlinePlayer.getName()
-                                                + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints + "</unimportant> to <highlight2>"
-                                                + (oldQuestPoints - questPointsToRemove) + "</highlight2>."));
+                        main.getQuestPlayerManager().getOfflineQuestPlayerAsync(offlinePlayer.getUniqueId()).thenAccept(questPlayer -> {
+                            if (questPlayer != null) {
+                                final long oldQuestPoints = questPlayer.getQuestPoints();
+                                questPlayer.removeQuestPoints(questPointsToRemove, false);
+                                context.getSender().sendMessage(main.parse( "<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints
+                                        + "</unimportant> to <highlight2>" + (oldQuestPoints - questPointsToRemove) + "</highlight2>."));
                             } else {
-                                context.getSender().sendMessage(main.parse("<error>Something went wrong during the questPlayer creation!"));
+                                context.getSender().sendMessage(main.parse( "<warn>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> never accepted any quests! A new QuestPlayer has been created for him."));
+                                context.getSender().sendMessage(main.parse("<main>Quest player creation status: <highlight>" + main.getQuestPlayerManager().createQuestPlayer(offlinePlayer.getUniqueId())));
+
+                                final QuestPlayer newQuestPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
+                                if (newQuestPlayer != null) {
+                                    final long oldQuestPoints = newQuestPlayer.getQuestPoints();
+                                    newQuestPlayer.removeQuestPoints(questPointsToRemove, false);
+                                    context.getSender().sendMessage(main.parse(
+                                            "<success>Quest points for player <highlight>" + offlinePlayer.getName()
+                                                    + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints + "</unimportant> to <highlight2>"
+                                                    + (oldQuestPoints - questPointsToRemove) + "</highlight2>."));
+                                } else {
+                                    context.getSender().sendMessage(main.parse("<error>Something went wrong during the questPlayer creation!"));
+                                }
                             }
-                        }
-                        if (questPlayer != null) {
-                            context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>: <highlight2>" + questPlayer.getQuestPoints()));
-                        } else {
-                            context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> does not have any quest points!"));
-                        }
+                            if (questPlayer != null) {
+                                context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>: <highlight2>" + questPlayer.getQuestPoints()));
+                            } else {
+                                context.getSender().sendMessage(main.parse("<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> does not have any quest points!"));
+                            }
+                        });
                     }
                 }));
 
@@ -829,33 +839,34 @@ public class AdminCommands {
                         }
                     } else {
                         final OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(singlePlayerSelector.getSelector());
-                        final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                        if (questPlayer != null) {
-                            final long oldQuestPoints = questPlayer.getQuestPoints();
-                            questPlayer.setQuestPoints(newQuestPointsAmount, false);
-                            context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight2> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints
-                                    + "</unimportant> to <highlight2>" + (newQuestPointsAmount) + "</highlight2>."));
-                        } else {
-                            context.getSender().sendMessage(main.parse("<warn>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> never accepted any quests! A new QuestPlayer has been created for him."));
-                            context.getSender().sendMessage(main.parse("<main>Quest player creation status: <highlight>" + main.getQuestPlayerManager().createQuestPlayer(offlinePlayer.getUniqueId())));
-
-                            final QuestPlayer newQuestPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-                            if (newQuestPlayer != null) {
-                                final long oldQuestPoints = newQuestPlayer.getQuestPoints();
-                                newQuestPlayer.setQuestPoints(newQuestPointsAmount, false);
-                                context.getSender().sendMessage(main.parse(
-                                        "<success>Quest points for player <highlight>" + offlinePlayer.getName()
-                                                + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints + "</unimportant> to <highlight2>"
-                                                + (newQuestPointsAmount) + "</highlight2>."));
+                        main.getQuestPlayerManager().getOfflineQuestPlayerAsync(offlinePlayer.getUniqueId()).thenAccept(questPlayer -> {
+                            if (questPlayer != null) {
+                                final long oldQuestPoints = questPlayer.getQuestPoints();
+                                questPlayer.setQuestPoints(newQuestPointsAmount, false);
+                                context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight2> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints
+                                        + "</unimportant> to <highlight2>" + (newQuestPointsAmount) + "</highlight2>."));
                             } else {
-                                context.getSender().sendMessage(main.parse("<error>Something went wrong during the questPlayer creation!"));
+                                context.getSender().sendMessage(main.parse("<warn>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> never accepted any quests! A new QuestPlayer has been created for him."));
+                                context.getSender().sendMessage(main.parse("<main>Quest player creation status: <highlight>" + main.getQuestPlayerManager().createQuestPlayer(offlinePlayer.getUniqueId())));
+
+                                final QuestPlayer newQuestPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
+                                if (newQuestPlayer != null) {
+                                    final long oldQuestPoints = newQuestPlayer.getQuestPoints();
+                                    newQuestPlayer.setQuestPoints(newQuestPointsAmount, false);
+                                    context.getSender().sendMessage(main.parse(
+                                            "<success>Quest points for player <highlight>" + offlinePlayer.getName()
+                                                    + "</highlight> <red>(offline)</red> have been set from <unimportant>" + oldQuestPoints + "</unimportant> to <highlight2>"
+                                                    + (newQuestPointsAmount) + "</highlight2>."));
+                                } else {
+                                    context.getSender().sendMessage(main.parse("<error>Something went wrong during the questPlayer creation!"));
+                                }
                             }
-                        }
-                        if (questPlayer != null) {
-                            context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>: <highlight2>" + questPlayer.getQuestPoints()));
-                        } else {
-                            context.getSender().sendMessage(main.parse( "<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> does not have any quest points!"));
-                        }
+                            if (questPlayer != null) {
+                                context.getSender().sendMessage(main.parse("<main>Quest points for player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red>: <highlight2>" + questPlayer.getQuestPoints()));
+                            } else {
+                                context.getSender().sendMessage(main.parse( "<error>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> does not have any quest points!"));
+                            }
+                        });
                     }
                 }));
 
@@ -933,6 +944,10 @@ public class AdminCommands {
 
 
                         QuestPlayer questPlayer = main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId());
+                        if (questPlayer == null) {
+                            context.getSender().sendMessage(main.parse("<error>The data of this quest player is still being loaded."));
+                            return;
+                        }
                         String result = foundCondition.check(questPlayer, enforce);
                         if (result.isBlank()) {
                             result = "<success>Condition fulfilled!";
@@ -1033,7 +1048,12 @@ public class AdminCommands {
                             foundAction.execute(player);
                             context.getSender().sendMessage(main.parse("<success>Action with the name <highlight>" + actionIdentifier + "</highlight> has been executed!"));
                         } else {
-                            main.getActionManager().executeActionWithConditions(foundAction, main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId()), player, false);
+                            final QuestPlayer questPlayer = main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId());
+                            if (questPlayer == null) {
+                                context.getSender().sendMessage(main.parse("<error>The data of this quest player is still being loaded."));
+                                return;
+                            }
+                            main.getActionManager().executeActionWithConditions(foundAction, questPlayer, player, false);
                         }
 
 
@@ -1176,40 +1196,41 @@ public class AdminCommands {
         } else {
             OfflinePlayer offlinePlayer = main.getUtilManager().getOfflinePlayer(playerName);
 
-            QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(offlinePlayer.getUniqueId());
-            if (questPlayer != null) {
+            main.getQuestPlayerManager().getOfflineQuestPlayerAsync(offlinePlayer.getUniqueId()).thenAccept(questPlayer -> {
+                if (questPlayer != null) {
 
 
-                if (activeQuest != null) {
+                    if (activeQuest != null) {
 
-                    sender.sendMessage(main.parse(
-                            "<main>Completed Objectives for Quest <highlight>" + activeQuest.getQuest().getQuestName() + "</highlight> of player <highlight2>"
-                                    + playerName + "</highlight2> <red>(offline)</red>:"
-                    ));
-                    main.getQuestManager().sendCompletedObjectivesAndProgress((Player) sender, activeQuest);
+                        sender.sendMessage(main.parse(
+                                "<main>Completed Objectives for Quest <highlight>" + activeQuest.getQuest().getQuestName() + "</highlight> of player <highlight2>"
+                                        + playerName + "</highlight2> <red>(offline)</red>:"
+                        ));
+                        main.getQuestManager().sendCompletedObjectivesAndProgress((Player) sender, activeQuest);
 
-                    sender.sendMessage(main.parse(
-                             "<main>Active Objectives for Quest <highlight>" + activeQuest.getQuest().getQuestName() + "</highlight> of player <highlight2>"
-                                    + playerName + "</highlight2> <red>(offline)</red>:"
-                    ));
-                    main.getQuestManager().sendActiveObjectivesAndProgress((Player) sender, activeQuest);
+                        sender.sendMessage(main.parse(
+                                 "<main>Active Objectives for Quest <highlight>" + activeQuest.getQuest().getQuestName() + "</highlight> of player <highlight2>"
+                                        + playerName + "</highlight2> <red>(offline)</red>:"
+                        ));
+                        main.getQuestManager().sendActiveObjectivesAndProgress((Player) sender, activeQuest);
 
 
-                } else {
-                    sender.sendMessage(main.parse(
-                            "<error>Quest was not found or active!"
-                    ));
-                    sender.sendMessage(main.parse( "<main>Active quests of player <highlight>" + offlinePlayer.getName() + "</highlight> <green>(online)</green>:"));
-                    int counter = 1;
-                    for (ActiveQuest activeQuest1 : questPlayer.getActiveQuests()) {
-                        sender.sendMessage(main.parse("<highlight>" + counter + ".</highlight> <main>" + activeQuest1.getQuest().getQuestName()));
-                        counter += 1;
-                    }
+                    } else {
+                        sender.sendMessage(main.parse(
+                                "<error>Quest was not found or active!"
+                        ));
+                        sender.sendMessage(main.parse( "<main>Active quests of player <highlight>" + offlinePlayer.getName() + "</highlight> <green>(online)</green>:"));
+                        int counter = 1;
+                        for (ActiveQuest activeQuest1 : questPlayer.getActiveQuests()) {
+                            sender.sendMessage(main.parse("<highlight>" + counter + ".</highlight> <main>" + activeQuest1.getQuest().getQuestName()));
+                            counter += 1;
+                        }
 
+                    }
+                } else {
+                    sender.sendMessage(main.parse("<main>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> did not accept any active quests."));
                 }
-            } else {
-                sender.sendMessage(main.parse("<main>Seems like the player <highlight>" + offlinePlayer.getName() + "</highlight> <red>(offline)</red> did not accept any active quests."));
-            }
+            });
         }
 
     }
@@ -145,10 +145,11 @@ public class UserCommands {
 
                     final Player player = (Player) context.getSender();
 
-                    final String result = main.getQuestPlayerManager().acceptQuest(player, quest, true, true);
-                    if (!result.equals("accepted")) {
-                        main.sendMessage(context.getSender(), result);
-                    }
+                    main.getQuestPlayerManager().acceptQuestAsync(player, quest, true, true).thenAccept(result -> {
+                        if (!result.equals("accepted")) {
+                            main.sendMessage(context.getSender(), result);
+                        }
+                    });
                 }));
 
 
@@ -527,6 +528,8 @@ public class UserCommands {
                     final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer((player.getUniqueId()));
                     final Quest quest = context.get("Quest Name");
 
+                    main.getQuestPlayerManager().prefetchQuestRequirements(player, quest);
+
                     String[] guiSetup = {
                             "zxxxxxxxx",
                             "x0123456x",
@@ -830,6 +833,7 @@ public class UserCommands {
 
                     final Quest quest = context.get("Quest Name");
 
+                    main.getQuestPlayerManager().prefetchQuestRequirements(player, quest);
                     main.getQuestManager().sendSingleQuestPreview(player, quest);
                 }));
 
@@ -0,0 +1,224 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.conversation;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A bounded history of the chat messages a player has received. Messages are added from the netty threads and read from
+ * the main thread, so all methods are synchronized.
+ * <p>
+ * Every message is tagged with its origin when it's added: either a regular chat message captured from the outgoing
+ * chat packets, or a conversation message. That way, the conversation messages can be removed from the history
+ * without comparing any components. Only regular messages count towards the capacity, so a long conversation never
+ * pushes the player's real chat out of the history.
+ */
+public class ChatHistory {
+    /**
+     * Upper bound for conversation messages in the history. They are removed whenever the chat is replayed, so this is
+     * only reached by very long conversations.
+     */
+    private static final int MAX_CONVERSATION_MESSAGES = 100;
+    /**
+     * Upper bound for conversation messages which have been sent, but whose chat packet has not been captured yet
+     */
+    private static final int MAX_PENDING_CONVERSATION_MESSAGES = 20;
+    /**
+     * The chat packet of a conversation message is sent right after the message has been added. If it hasn't been
+     * captured after this time, it never will be (for example because another plugin changed the message), so the
+     * pending message is dropped instead of being compared against every following packet.
+     */
+    private static final long PENDING_CONVERSATION_MESSAGE_TIMEOUT_NANOS = 2_000_000_000L;
+
+    private record Entry(Component message, boolean conversationMessage) {
+    }
+
+    /**
+     * All messages, from the oldest to the newest
+     */
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private int capacity;
+    private int regularMessages = 0;
+    private int conversationMessages = 0;
+
+    /**
+     * Conversation messages which are already in the history, but will be captured again once their chat packet is
+     * sent. Those captures are skipped, so the message isn't recorded twice as a regular message.
+     */
+    private final ArrayDeque<PendingMessage> pendingConversationMessages = new ArrayDeque<>();
+
+    private record PendingMessage(Component message, long expiresAt) {
+    }
+
+    public ChatHistory(final int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * @return the maximum amount of regular chat messages
+     */
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Changes the maximum amount of regular chat messages. If there are more messages than that, the oldest ones are removed.
+     *
+     * @param capacity the new maximum amount of regular chat messages
+     */
+    public synchronized void setCapacity(final int capacity) {
+        this.capacity = Math.max(1, capacity);
+        while (regularMessages > this.capacity) {
+            removeOldest(false);
+        }
+    }
+
+    /**
+     * Removes the oldest message of the given kind. During a conversation, the regular messages are at the start and
+     * the conversation messages follow them, so this only has to skip at most the capacity of regular messages.
+     */
+    private void removeOldest(final boolean conversationMessage) {
+        final Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().conversationMessage() == conversationMessage) {
+                iterator.remove();
+                if (conversationMessage) {
+                    conversationMessages--;
+                } else {
+                    regularMessages--;
+                }
+                return;
+            }
+        }
+    }
+
+    private void add(final Component message, final boolean conversationMessage) {
+        if (conversationMessage) {
+            if (conversationMessages >= MAX_CONVERSATION_MESSAGES) {
+                removeOldest(true);
+            }
+            conversationMessages++;
+        } else {
+            if (regularMessages >= capacity) {
+                removeOldest(false);
+            }
+            regularMessages++;
+        }
+        entries.addLast(new Entry(message, conversationMessage));
+    }
+
+    /**
+     * Adds a regular chat message, which has been captured from an outgoing chat packet. If it is the packet of a
+     * conversation message which has already been added, it's skipped.
+     *
+     * @param message the captured message
+     */
+    public synchronized void addCapturedMessage(final Component message) {
+        if (message == null) {
+            return;
+        }
+        if (!pendingConversationMessages.isEmpty()) {
+            removeExpiredPendingMessages(System.nanoTime());
+            final Iterator<PendingMessage> iterator = pendingConversationMessages.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().message().equals(message)) {
+                    iterator.remove();
+                    return;
+                }
+            }
+        }
+        add(message, false);
+    }
+
+    /**
+     * Pending messages are added in the order they expire, so only the oldest ones have to be checked
+     */
+    private void removeExpiredPendingMessages(final long now) {
+        PendingMessage oldest;
+        while ((oldest = pendingConversationMessages.peekFirst()) != null && now - oldest.expiresAt() >= 0) {
+            pendingConversationMessages.pollFirst();
+        }
+    }
+
+    /**
+     * Adds a conversation message. Call this right before the message is sent to the player.
+     *
+     * @param message the conversation message
+     */
+    public synchronized void addConversationMessage(final Component message) {
+        if (message == null) {
+            return;
+        }
+        add(message, true);
+        final long now = System.nanoTime();
+        removeExpiredPendingMessages(now);
+        if (pendingConversationMessages.size() >= MAX_PENDING_CONVERSATION_MESSAGES) {
+            pendingConversationMessages.pollFirst();
+        }
+        pendingConversationMessages.addLast(new PendingMessage(message, now + PENDING_CONVERSATION_MESSAGE_TIMEOUT_NANOS));
+    }
+
+    /**
+     * Removes all conversation messages, keeping the order of the remaining messages.
+     *
+     * @return the remaining regular chat messages, from the oldest to the newest
+     */
+    public synchronized List<Component> removeConversationMessages() {
+        final ArrayList<Component> remaining = new ArrayList<>(regularMessages);
+        if (conversationMessages > 0) {
+            entries.removeIf(Entry::conversationMessage);
+            conversationMessages = 0;
+        }
+        for (final Entry entry : entries) {
+            remaining.add(entry.message());
+        }
+        return remaining;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        regularMessages = 0;
+        conversationMessages = 0;
+        pendingConversationMessages.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return a copy of all messages, from the oldest to the newest
+     */
+    public synchronized List<Component> getMessages() {
+        final ArrayList<Component> copy = new ArrayList<>(entries.size());
+        for (final Entry entry : entries) {
+            copy.add(entry.message());
+        }
+        return copy;
+    }
+}
@@ -182,6 +182,10 @@ public class Conversation {
     public void setNPC(int npcID) {
         this.npcID = npcID;
         bindToCitizensNPC();
+        //The ConversationManager doesn't exist yet while conversations are loaded at startup. It builds the index itself after loading them.
+        if (main.getConversationManager() != null) {
+            main.getConversationManager().updateConversationNPCIndex();
+        }
 
         if (configFile == null || config == null) {
             return;
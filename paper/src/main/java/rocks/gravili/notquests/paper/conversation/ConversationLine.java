@@ -18,6 +18,7 @@
 
 package rocks.gravili.notquests.paper.conversation;
 
+import net.kyori.adventure.text.Component;
 import rocks.gravili.notquests.paper.structs.actions.Action;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
 
@@ -36,10 +37,21 @@ public class ConversationLine {
     private final String identifier;
     private final String fullIdentifier;
 
+    /*
+     * If the message contains no placeholders, it's the same for every player. Its parsed Components are then built once
+     * when the conversation is loaded, together with the speaker color they were built with, so they can be re-built
+     * if the speaker color changes.
+     */
+    private final boolean hasPlaceholders;
+    private Component prebuiltLineComponent;
+    private Component prebuiltOptionComponent;
+    private String prebuiltSpeakerColor;
+
     public ConversationLine(final Speaker speaker, final String identifier, final String message) {
         this.speaker = speaker;
         this.identifier = identifier;
         this.message = message;
+        this.hasPlaceholders = message.indexOf('{') >= 0 || message.indexOf('%') >= 0;
         next = new ArrayList<>();
         conditions = new ArrayList<>();
         actions = new ArrayList<>();
@@ -97,6 +109,35 @@ public class ConversationLine {
 
     public void setShouting(final boolean shouting) {
         this.shout = shouting;
+        prebuiltLineComponent = null;
+        prebuiltOptionComponent = null;
+    }
+
+    /**
+     * @return if the message contains placeholders, which means it needs to be parsed for every player
+     */
+    public final boolean hasPlaceholders() {
+        return hasPlaceholders;
+    }
+
+    /**
+     * @return the prebuilt Component which is sent as a normal line, or null if there is none or it's outdated
+     */
+    public final Component getPrebuiltLineComponent() {
+        return speaker.getColor().equals(prebuiltSpeakerColor) ? prebuiltLineComponent : null;
+    }
+
+    /**
+     * @return the prebuilt Component which is sent as an answer option, without its hover text, or null if there is none or it's outdated
+     */
+    public final Component getPrebuiltOptionComponent() {
+        return speaker.getColor().equals(prebuiltSpeakerColor) ? prebuiltOptionComponent : null;
+    }
+
+    public void setPrebuiltComponents(final Component lineComponent, final Component optionComponent) {
+        this.prebuiltLineComponent = lineComponent;
+        this.prebuiltOptionComponent = optionComponent;
+        this.prebuiltSpeakerColor = speaker.getColor();
     }
 
     public final ArrayList<Action> getActions() {
@@ -19,51 +19,70 @@
 package rocks.gravili.notquests.paper.conversation;
 
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Player;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import rocks.gravili.notquests.paper.NotQuests;
+import rocks.gravili.notquests.paper.managers.QuestPlayerManager;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 import rocks.gravili.notquests.paper.structs.actions.Action;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ConversationManager {
     private final NotQuests main;
     private final ArrayList<Conversation> conversations;
+    /*
+     * Indexes of the conversations, so they don't have to be searched. They are re-built whenever conversations are
+     * loaded or an NPC is bound to a conversation.
+     */
+    private final HashMap<String, Conversation> conversationsByIdentifier;
+    private final HashMap<Integer, Conversation> conversationsByNPCID;
     private final Speaker playerSpeaker;
 
     private final HashMap<UUID, ConversationPlayer> openConversations;
 
-    final ArrayList<ConversationLine> linesForOneFile = new ArrayList<>();
+    /*
+     * All lines of the conversation file which is currently being loaded, by their lower-case full identifier
+     */
+    final HashMap<String, ConversationLine> linesForOneFile = new HashMap<>();
 
     private File conversationsFolder;
 
-    HashMap<UUID, ArrayList<Component>> chatHistory;
-    HashMap<UUID, ArrayList<Component>> conversationChatHistory;
+    /*
+     * The chat history is written from the netty threads, so this map needs to be concurrent. It contains both the
+     * regular chat messages and the conversation messages, tagged by their origin.
+     */
+    private final ConcurrentHashMap<UUID, ChatHistory> chatHistory;
 
     public ConversationManager(final NotQuests main) {
         this.main = main;
         conversations = new ArrayList<>();
+        conversationsByIdentifier = new HashMap<>();
+        conversationsByNPCID = new HashMap<>();
 
         openConversations = new HashMap<>();
 
         playerSpeaker = new Speaker("You");
         playerSpeaker.setPlayer(true);
 
-        chatHistory = new HashMap<>();
-        conversationChatHistory = new HashMap<>();
+        chatHistory = new ConcurrentHashMap<>();
 
 
         //playConversation(Bukkit.getPlayer("NoeX"), createTestConversation());
@@ -80,12 +99,18 @@ public class ConversationManager {
     }
 
     public Conversation getConversationForNPCID(final int npcID) {
+        return conversationsByNPCID.get(npcID);
+    }
+
+    /**
+     * Re-builds the index used by getConversationForNPCID(). This needs to be called whenever the NPC of a conversation changes.
+     */
+    public void updateConversationNPCIndex() {
+        conversationsByNPCID.clear();
         for (final Conversation conversation : conversations) {
-            if (conversation.getNPCID() == npcID) {
-                return conversation;
-            }
+            //If multiple conversations use the same NPC, the first one is used
+            conversationsByNPCID.putIfAbsent(conversation.getNPCID(), conversation);
         }
-        return null;
     }
 
     public ConversationPlayer getOpenConversation(final UUID uuid) {
@@ -139,6 +164,10 @@ public class ConversationManager {
 
     public void playConversation(final Player player, final Conversation conversation) {
         final QuestPlayer questPlayer = main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId());
+        if (questPlayer == null) {
+            main.sendMessage(player, QuestPlayerManager.STILL_LOADING_MESSAGE);
+            return;
+        }
 
         final ConversationPlayer openConversation = getOpenConversation(questPlayer.getUUID());
         if (openConversation != null) {
@@ -173,23 +202,45 @@ public class ConversationManager {
 
     public void loadConversationsFromConfig() {
         conversations.clear();
+        conversationsByIdentifier.clear();
+        conversationsByNPCID.clear();
         openConversations.clear();
 
         if (!prepareConversationsFolder()) {
             return;
         }
 
-        for (File conversationFile : main.getUtilManager().listFilesRecursively(conversationsFolder)) {
+        final List<File> conversationFiles = main.getUtilManager().listFilesRecursively(conversationsFolder);
+
+        //Reading and parsing the YAML files is the slow part and doesn't touch anything else, so it's done in parallel.
+        //Building the conversations needs the actions and conditions and is done afterwards, in the original file order.
+        final ExecutorService fileReaderPool = Executors.newFixedThreadPool(Math.max(1, Math.min(conversationFiles.size(), Runtime.getRuntime().availableProcessors())));
+        final ArrayList<Future<YamlConfiguration>> readConversationFiles = new ArrayList<>();
+        for (final File conversationFile : conversationFiles) {
+            readConversationFiles.add(fileReaderPool.submit(() -> {
+                final YamlConfiguration config = new YamlConfiguration();
+                config.load(conversationFile);
+                return config;
+            }));
+        }
+        fileReaderPool.shutdown();
+
+        for (int i = 0; i < conversationFiles.size(); i++) {
+            final File conversationFile = conversationFiles.get(i);
             linesForOneFile.clear();
             main.getLogManager().info("Reading conversation file <highlight>" + conversationFile.getName() + "</highlight>...");
 
-            final YamlConfiguration config = new YamlConfiguration();
+            final YamlConfiguration config;
             try {
-                config.load(conversationFile);
-            } catch (IOException | InvalidConfigurationException e) {
-                e.printStackTrace();
+                config = readConversationFiles.get(i).get();
+            } catch (ExecutionException e) {
+                e.getCause().printStackTrace();
                 main.getLogManager().warn("Failed reading conversation file <highlight>" + conversationFile.getName() + "</highlight>. It's being skipped.");
                 continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                main.getLogManager().warn("Reading conversation file <highlight>" + conversationFile.getName() + "</highlight> was interrupted. It's being skipped.");
+                continue;
             }
 
             final int npcID = config.getInt("npcID", -1);
@@ -289,13 +340,21 @@ public class ConversationManager {
 
             //Now here we have all starter conversation lines. We need to dive deep into them!
 
-            linesForOneFile.addAll(conversationLines);
+            for (final ConversationLine conversationLine : conversationLines) {
+                linesForOneFile.put(conversationLine.getFullIdentifier().toLowerCase(Locale.ROOT), conversationLine);
+            }
             deepDiveAndConnectStarterLines(conversation, conversationLines, config);
 
+            for (final ConversationLine conversationLine : linesForOneFile.values()) {
+                prebuildComponents(conversationLine);
+            }
+
 
             conversations.add(conversation);
+            conversationsByIdentifier.putIfAbsent(conversation.getIdentifier(), conversation);
 
         }
+        updateConversationNPCIndex();
     }
 
 
@@ -329,12 +388,10 @@ public class ConversationManager {
                     main.getLogManager().debug("---- Message: <highlight>" + message + "</highlight> | Next: <highlight>" + next + "</highlight>");
 
                     //Skip if we already added this line
-                    for (final ConversationLine existingLine : linesForOneFile) {
-                        final String fullExistingLineIdentifier = existingLine.getFullIdentifier();
-                        if (nextLineFullIdentifier.equalsIgnoreCase(fullExistingLineIdentifier)) {
-                            conversationLine.addNext(existingLine);
-                            continue outerLoop; //Skip this line
-                        }
+                    final ConversationLine existingLine = linesForOneFile.get(nextLineFullIdentifier.toLowerCase(Locale.ROOT));
+                    if (existingLine != null) {
+                        conversationLine.addNext(existingLine);
+                        continue outerLoop; //Skip this line
                     }
 
 
@@ -379,7 +436,7 @@ public class ConversationManager {
 
 
                     conversationLine.addNext(newLine);
-                    linesForOneFile.add(newLine);
+                    linesForOneFile.put(newLine.getFullIdentifier().toLowerCase(Locale.ROOT), newLine);
 
                     if (!next.isBlank()) {
                         keepDiving.add(newLine);
@@ -396,12 +453,26 @@ public class ConversationManager {
         }
     }
 
-    public final HashMap<UUID, ArrayList<Component>> getChatHistory() {
-        return chatHistory;
+    /**
+     * @param uuid the UUID of the player
+     * @return the chat history of that player, or null if nothing has been recorded yet
+     */
+    public final ChatHistory getChatHistory(final UUID uuid) {
+        return chatHistory.get(uuid);
+    }
+
+    public final ChatHistory getOrCreateChatHistory(final UUID uuid) {
+        ChatHistory history = chatHistory.get(uuid);
+        if (history == null) {
+            history = chatHistory.computeIfAbsent(uuid, k -> new ChatHistory(getMaxChatHistory()));
+        } else if (history.getCapacity() != getMaxChatHistory()) { //The config has been reloaded
+            history.setCapacity(getMaxChatHistory());
+        }
+        return history;
     }
 
-    public final HashMap<UUID, ArrayList<Component>> getConversationChatHistory() {
-        return conversationChatHistory;
+    public void removeChatHistory(final UUID uuid) {
+        chatHistory.remove(uuid);
     }
 
 
@@ -444,6 +515,63 @@ public class ConversationManager {
         }*/
     }
 
+    /**
+     * Parses the Components of a line without placeholders once, so they don't have to be parsed every time the line is sent
+     *
+     * @param conversationLine the conversation line
+     */
+    private void prebuildComponents(final ConversationLine conversationLine) {
+        if (!conversationLine.hasPlaceholders()) {
+            conversationLine.setPrebuiltComponents(buildLineComponent(conversationLine, null), buildOptionComponent(conversationLine, null));
+        }
+    }
+
+    private Component buildLineComponent(final ConversationLine conversationLine, final Player player) {
+        return main.parse(
+                conversationLine.getSpeaker().getColor() + "[" + conversationLine.getSpeaker().getSpeakerDisplayName() + "] <GRAY>" + main.getUtilManager().applyPlaceholders(conversationLine.getMessage(), player)
+        );
+    }
+
+    private Component buildOptionComponent(final ConversationLine conversationLine, final Player player) {
+        return main.parse(
+                conversationLine.getSpeaker().getColor() + " > <GRAY>" + main.getUtilManager().applyPlaceholders(conversationLine.getMessage(), player)
+        ).clickEvent(ClickEvent.runCommand("/notquests continueConversation " + conversationLine.getMessage()));
+    }
+
+    /**
+     * @param conversationLine the conversation line
+     * @param player           the player the line is sent to
+     * @return the Component of the line when it's sent as a normal line
+     */
+    public final Component getLineComponent(final ConversationLine conversationLine, final Player player) {
+        if (!conversationLine.hasPlaceholders()) {
+            Component lineComponent = conversationLine.getPrebuiltLineComponent();
+            if (lineComponent == null) { //The speaker color has changed
+                prebuildComponents(conversationLine);
+                lineComponent = conversationLine.getPrebuiltLineComponent();
+            }
+            return lineComponent;
+        }
+        return buildLineComponent(conversationLine, player);
+    }
+
+    /**
+     * @param conversationLine the conversation line
+     * @param player           the player the line is sent to
+     * @return the Component of the line when it's sent as a clickable answer option, without its hover text
+     */
+    public final Component getOptionComponent(final ConversationLine conversationLine, final Player player) {
+        if (!conversationLine.hasPlaceholders()) {
+            Component optionComponent = conversationLine.getPrebuiltOptionComponent();
+            if (optionComponent == null) { //The speaker color has changed
+                prebuildComponents(conversationLine);
+                optionComponent = conversationLine.getPrebuiltOptionComponent();
+            }
+            return optionComponent;
+        }
+        return buildOptionComponent(conversationLine, player);
+    }
+
     public final ArrayList<Condition> parseConditionsString(final List<String> allConditionsString) {
         if (allConditionsString != null && !allConditionsString.isEmpty()) {
             ArrayList<Condition> conditions = new ArrayList<>();
@@ -494,13 +622,10 @@ public class ConversationManager {
 
 
     public final Conversation getConversation(final String identifier) {
-        for (final Conversation conversation : conversations) {
-            if (conversation.getIdentifier().equals(identifier)) {
-                return conversation;
-            }
+        if (identifier == null) {
+            return null;
         }
-        return null;
-
+        return conversationsByIdentifier.get(identifier);
     }
 
     public final Conversation getConversationAttachedToArmorstand(final ArmorStand armorstand) {
@@ -19,7 +19,7 @@
 package rocks.gravili.notquests.paper.conversation;
 
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.event.HoverEvent;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
@@ -28,6 +28,7 @@ import rocks.gravili.notquests.paper.structs.actions.Action;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class ConversationPlayer {
     private final NotQuests main;
@@ -72,16 +73,16 @@ public class ConversationPlayer {
     public boolean next(final ConversationLine currentLine, boolean deletePrevious) {
         sendLine(currentLine, deletePrevious);
 
-        ArrayList<ConversationLine> next = findConversationLinesWhichFulfillsCondition(currentLine.getNext());
+        final ArrayList<ConversationLine> next = findConversationLinesWhichFulfillsCondition(currentLine.getNext());
 
         if (next == null) {
-            questPlayer.sendDebugMessage("Next of <highlight>" + currentLine.getFullIdentifier() + "</highlight> is empty. Ending conversation...");
+            questPlayer.sendDebugMessage(() -> "Next of <highlight>" + currentLine.getFullIdentifier() + "</highlight> is empty. Ending conversation...");
             main.getConversationManager().stopConversation(this);
             return false;
         } else {
             if (next.size() == 1) {
                 if (!next.get(0).getSpeaker().isPlayer()) {
-                    questPlayer.sendDebugMessage("Line <highlight>" + currentLine.getFullIdentifier() + "</highlight> has one next: <highlight>" + next.get(0).getFullIdentifier());
+                    questPlayer.sendDebugMessage(() -> "Line <highlight>" + currentLine.getFullIdentifier() + "</highlight> has one next: <highlight>" + next.get(0).getFullIdentifier());
 
                     if (!currentLine.getSpeaker().isPlayer()) { //Two consecutive non-playerl ines
                         return next(next.get(0), false); //Setting it to false won't remove the previous lines (if packet stuff enabled). Otherwise, the first line wouldn't even be visible to the player
@@ -90,7 +91,7 @@ public class ConversationPlayer {
                     }
 
                 } else {
-                    questPlayer.sendDebugMessage("Line <highlight>" + currentLine.getFullIdentifier() + "</highlight> has one PLAYER next: <highlight>" + next.get(0).getFullIdentifier());
+                    questPlayer.sendDebugMessage(() -> "Line <highlight>" + currentLine.getFullIdentifier() + "</highlight> has one PLAYER next: <highlight>" + next.get(0).getFullIdentifier());
 
                     nextPlayer(next);
                 }
@@ -113,7 +114,7 @@ public class ConversationPlayer {
     public void nextPlayer(final ArrayList<ConversationLine> playerLines) {
         questPlayer.sendDebugMessage("Clearing currentPlayerLines (3)");
         currentPlayerLines.clear();
-        questPlayer.sendDebugMessage("Adding " + playerLines.size() + " currentPlayerLines");
+        questPlayer.sendDebugMessage(() -> "Adding " + playerLines.size() + " currentPlayerLines");
         currentPlayerLines.addAll(playerLines);
 
 
@@ -123,15 +124,9 @@ public class ConversationPlayer {
 
 
         if (main.getConfiguration().deletePreviousConversations) {
-            ArrayList<Component> hist = main.getConversationManager().getConversationChatHistory().get(player.getUniqueId());
-            if (hist == null) {
-                hist = new ArrayList<>();
-            }
             if(!chooseAnswerPrefixMiniMessage.isBlank()){
-                hist.add(main.parse(chooseAnswerPrefixMiniMessage));
+                main.getConversationManager().getOrCreateChatHistory(player.getUniqueId()).addConversationMessage(main.parse(chooseAnswerPrefixMiniMessage));
             }
-
-            main.getConversationManager().getConversationChatHistory().put(player.getUniqueId(), hist);
         }
 
 
@@ -140,11 +135,7 @@ public class ConversationPlayer {
         }
 
         if (main.getConfiguration().deletePreviousConversations) {
-            ArrayList<Component> hist = main.getConversationManager().getConversationChatHistory().get(player.getUniqueId());
-            if (hist == null) {
-                hist = new ArrayList<>();
-            }
-            hist.add(Component.empty());
+            main.getConversationManager().getOrCreateChatHistory(player.getUniqueId()).addConversationMessage(Component.empty());
         }
 
 
@@ -171,7 +162,7 @@ public class ConversationPlayer {
                             return nextLines;
                         } else { //Check conditions
                             for (final Condition condition : conversationLineToCheck.getConditions()) {
-                                if (!condition.check(getQuestPlayer(), false).isBlank()) {
+                                if (!isConditionFulfilled(condition)) {
                                     continue conversationLineLoop;
                                 }
                             }
@@ -190,27 +181,28 @@ public class ConversationPlayer {
 
 
 
+    /**
+     * Conversation lines mostly share conditions from the conditions.yml. The results are cached by the QuestPlayer for
+     * the current tick, so each of them is only checked once per conversation step.
+     */
+    private boolean isConditionFulfilled(final Condition condition) {
+        return condition.getResult(getQuestPlayer()).isFulfilled();
+    }
+
     /**
      * Sends the player a normal text line. This is NOT a clickable/option line.
      *
      * @param conversationLine
      */
     public void sendLine(final ConversationLine conversationLine, boolean deletePrevious) {
-        Component line = main.parse(
-                conversationLine.getSpeaker().getColor() + "[" + conversationLine.getSpeaker().getSpeakerDisplayName() + "] <GRAY>" + main.getUtilManager().applyPlaceholders(conversationLine.getMessage(), player)
-        );
+        final Component line = main.getConversationManager().getLineComponent(conversationLine, player);
         if (deletePrevious) {
             removeOldMessages();
         }
 
 
         if (main.getConfiguration().deletePreviousConversations) {
-            ArrayList<Component> hist = main.getConversationManager().getConversationChatHistory().get(player.getUniqueId());
-            if (hist == null) {
-                hist = new ArrayList<>();
-            }
-            hist.add(line);
-            main.getConversationManager().getConversationChatHistory().put(player.getUniqueId(), hist);
+            main.getConversationManager().getOrCreateChatHistory(player.getUniqueId()).addConversationMessage(line);
         }
 
         player.sendMessage(line);
@@ -232,18 +224,12 @@ public class ConversationPlayer {
      * @param conversationLine
      */
     public void sendOptionLine(final ConversationLine conversationLine) {
-        Component toSend = main.parse(
-                conversationLine.getSpeaker().getColor() + " > <GRAY>" + main.getUtilManager().applyPlaceholders(conversationLine.getMessage(), player)
-        ).clickEvent(ClickEvent.runCommand("/notquests continueConversation " + conversationLine.getMessage())).hoverEvent(HoverEvent.showText(main.parse(main.getLanguageManager().getString("chat.conversations.choose-answer-answer-hover-text", player, conversation, conversationLine))));
+        final Component toSend = main.getConversationManager().getOptionComponent(conversationLine, player)
+                .hoverEvent(HoverEvent.showText(main.getLanguageManager().getComponent("chat.conversations.choose-answer-answer-hover-text", player, conversation, conversationLine)));
 
 
         if (main.getConfiguration().deletePreviousConversations) {
-            ArrayList<Component> hist = main.getConversationManager().getConversationChatHistory().get(player.getUniqueId());
-            if (hist == null) {
-                hist = new ArrayList<>();
-            }
-            hist.add(toSend);
-            main.getConversationManager().getConversationChatHistory().put(player.getUniqueId(), hist);
+            main.getConversationManager().getOrCreateChatHistory(player.getUniqueId()).addConversationMessage(toSend);
         }
 
         player.sendMessage(toSend);
@@ -257,9 +243,9 @@ public class ConversationPlayer {
      * @param option option which the player chooses = exact message
      */
     public void chooseOption(final String option) {
-        questPlayer.sendDebugMessage("Conversation option triggered: " + option + ". currentPlayerLines count: " + currentPlayerLines.size());
+        questPlayer.sendDebugMessage(() -> "Conversation option triggered: " + option + ". currentPlayerLines count: " + currentPlayerLines.size());
         for (final ConversationLine playerOptionLine : currentPlayerLines) {
-            questPlayer.sendDebugMessage("Looking through current player line: <highlight>" + playerOptionLine.getMessage());
+            questPlayer.sendDebugMessage(() -> "Looking through current player line: <highlight>" + playerOptionLine.getMessage());
             if (playerOptionLine.getMessage().equalsIgnoreCase(option)) {
 
                 //Trigger its actions first:
@@ -313,40 +299,30 @@ public class ConversationPlayer {
             return;
         }
         //Send back old messages
-        ArrayList<Component> allChatHistory = main.getConversationManager().getChatHistory().get(getQuestPlayer().getUUID());
-        ArrayList<Component> allConversationHistory = main.getConversationManager().getConversationChatHistory().get(getQuestPlayer().getUUID());
+        final ChatHistory allChatHistory = main.getConversationManager().getChatHistory(getQuestPlayer().getUUID());
 
         main.getLogManager().debug("Conversation stop stage 1");
 
         if (allChatHistory == null) {
             return;
         }
-        main.getLogManager().debug("Conversation stop stage 1.5");
-        if (allConversationHistory == null) {
-            return;
-        }
         main.getLogManager().debug("Conversation stop stage 2");
 
         final Player player = getQuestPlayer().getPlayer();
 
+        //The conversation messages are tagged when they are added, so they can be dropped without comparing components
+        final List<Component> remainingMessages = allChatHistory.removeConversationMessages();
 
-        Component collectiveComponent = Component.text("");
-        for (int i = 0; i < allChatHistory.size(); i++) {
-            Component component = allChatHistory.get(i);
-            if (component != null) {
-                // audience.sendMessage(component.append(Component.text("fg9023zf729ofz")));
-                collectiveComponent = collectiveComponent.append(component).append(Component.newline());
-            }
+        //Building it with one builder instead of appending to the previous component, which would copy all children every time
+        final TextComponent.Builder collectiveComponent = Component.text();
+        for (final Component component : remainingMessages) {
+            collectiveComponent.append(component).append(Component.newline());
         }
-        player.sendMessage(collectiveComponent);
-
-        allChatHistory.removeAll(allConversationHistory);
-        allConversationHistory.clear();
-        main.getConversationManager().getChatHistory().put(getQuestPlayer().getUUID(), allChatHistory);
-        main.getConversationManager().getConversationChatHistory().put(getQuestPlayer().getUUID(), allConversationHistory);
+        final Component replay = collectiveComponent.build();
 
-        //maybe this won't send the huge, 1-component-chat-history again
-        allConversationHistory.add(collectiveComponent);
+        //The replay itself counts as a conversation message, so it's not replayed again by the next conversation line
+        allChatHistory.addConversationMessage(replay);
+        player.sendMessage(replay);
 
     }
 
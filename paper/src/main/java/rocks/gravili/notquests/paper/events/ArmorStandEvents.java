@@ -50,8 +50,23 @@ import java.util.Arrays;
 public class ArmorStandEvents implements Listener {
     private final NotQuests main;
 
+    private final NamespacedKey specialItemKey;
+    private final NamespacedKey questsKey;
+    private final NamespacedKey objectiveIDKey;
+    private final NamespacedKey amountToDeliverKey;
+    private final NamespacedKey itemStackCacheKey;
+    private final NamespacedKey deliverAnyKey;
+    private final NamespacedKey conversationIdentifierKey;
+
     public ArmorStandEvents(final NotQuests main){
         this.main = main;
+        specialItemKey = new NamespacedKey(main.getMain(), "notquests-item");
+        questsKey = new NamespacedKey(main.getMain(), "notquests-questname");
+        objectiveIDKey = new NamespacedKey(main.getMain(), "notquests-objectiveid");
+        amountToDeliverKey = new NamespacedKey(main.getMain(), "notquests-itemstackamount");
+        itemStackCacheKey = new NamespacedKey(main.getMain(), "notquests-itemstackcache");
+        deliverAnyKey = new NamespacedKey(main.getMain(), "notquests-anyitemstack");
+        conversationIdentifierKey = new NamespacedKey(main.getMain(), "notquests-conversation");
     }
 
     @EventHandler
@@ -66,17 +81,12 @@ public class ArmorStandEvents implements Listener {
             if (player.hasPermission("notquests.admin.armorstandeditingitems") && heldItem.getType() != Material.AIR && heldItem.getItemMeta() != null) {
                 final PersistentDataContainer container = heldItem.getItemMeta().getPersistentDataContainer();
 
-                final NamespacedKey specialItemKey = new NamespacedKey(main.getMain(), "notquests-item");
-
-
                 if (container.has(specialItemKey, PersistentDataType.INTEGER)) {
 
                     int id = container.get(specialItemKey, PersistentDataType.INTEGER); //Not null, because we check for it in container.has()
 
-                    final NamespacedKey questsKey = new NamespacedKey(main.getMain(), "notquests-questname");
                     final String questName = container.get(questsKey, PersistentDataType.STRING);
 
-                    final NamespacedKey objectiveIDKey = new NamespacedKey(main.getMain(), "notquests-objectiveid");
                     int objectiveID = -1;
                     if (container.has(objectiveIDKey, PersistentDataType.INTEGER)) {
                         objectiveID = container.get(objectiveIDKey, PersistentDataType.INTEGER);
@@ -131,6 +141,7 @@ public class ArmorStandEvents implements Listener {
                             }
 
                             armorStandPDB.set(attachedQuestsKey, PersistentDataType.STRING, existingAttachedQuests);
+                            main.getArmorStandManager().updateAttachedQuestsCache(armorStand);
 
                             player.sendMessage(main.parse(
                                     "<GREEN>Quest with the name <highlight>" + questName + "</highlight> was added to this poor little armorstand!"
@@ -139,6 +150,7 @@ public class ArmorStandEvents implements Listener {
 
                         }else {
                             armorStandPDB.set(attachedQuestsKey, PersistentDataType.STRING, "°" + questName + "°");
+                            main.getArmorStandManager().updateAttachedQuestsCache(armorStand);
                             player.sendMessage(main.parse(
                                     "<GREEN>Quest with the name <highlight>" + questName + "</highlight> was added to this poor little armorstand!"
                                             + " <DARK_GREEN>Attached Quests: <highlight>" + "°" + questName + "°"
@@ -186,6 +198,7 @@ public class ArmorStandEvents implements Listener {
                                 } else {
                                     armorstandPDB.set(attachedQuestsKey, PersistentDataType.STRING, existingAttachedQuests);
                                 }
+                                main.getArmorStandManager().updateAttachedQuestsCache(armorStand);
 
                                 player.sendMessage(main.parse(
                                         "<DARK_GREEN>Quest with the name <highlight>" + questName + "</highlight> was removed from this armor stand!\n" +
@@ -334,13 +347,10 @@ public class ArmorStandEvents implements Listener {
 
                         final Quest quest = main.getQuestManager().getQuest(questName);
                         if (quest != null) {
-                            final NamespacedKey amountToDeliverKey = new NamespacedKey(main.getMain(), "notquests-itemstackamount");
                             final int amountToDeliver = container.get(amountToDeliverKey, PersistentDataType.INTEGER);
 
-                            final NamespacedKey itemStackCacheKey = new NamespacedKey(main.getMain(), "notquests-itemstackcache");
                             final int itemStackCache = container.get(itemStackCacheKey, PersistentDataType.INTEGER);
 
-                            final NamespacedKey deliverAnyKey = new NamespacedKey(main.getMain(), "notquests-anyitemstack");
                             boolean deliverAny = false;
                             if (container.has(deliverAnyKey, PersistentDataType.BYTE) && container.get(deliverAnyKey, PersistentDataType.BYTE) == 1) {
                                 deliverAny = true;
@@ -380,8 +390,6 @@ public class ArmorStandEvents implements Listener {
                     } else if (id == 8) { //Add conversation to armorstand
 
 
-                        NamespacedKey conversationIdentifierKey = new NamespacedKey(main.getMain(), "notquests-conversation");
-
                         final String conversationIdentifier = container.get(conversationIdentifierKey, PersistentDataType.STRING);
                         if (conversationIdentifier != null && !conversationIdentifier.isBlank()) {
                             final Conversation conversation = main.getConversationManager().getConversation(conversationIdentifier);
@@ -477,10 +485,7 @@ public class ArmorStandEvents implements Listener {
                                 if (deliverItemsObjective.getRecipientNPCID() == -1 && deliverItemsObjective.getRecipientArmorStandUUID().equals(armorStand.getUniqueId())) {
                                     for (final ItemStack itemStack : player.getInventory().getContents()) {
                                         if (itemStack != null) {
-                                            if (deliverItemsObjective.isDeliverAnyItem() || deliverItemsObjective.getItemToDeliver().getType().equals(itemStack.getType())) {
-                                                if (!deliverItemsObjective.isDeliverAnyItem() && deliverItemsObjective.getItemToDeliver().getItemMeta() != null && !deliverItemsObjective.getItemToDeliver().getItemMeta().equals(itemStack.getItemMeta())) {
-                                                    continue;
-                                                }
+                                            if (deliverItemsObjective.isMatchingItem(itemStack)) {
                                                 final long progressLeft = activeObjective.getProgressNeeded() - activeObjective.getCurrentProgress();
 
                                                 if (progressLeft == 0) {
@@ -560,18 +565,21 @@ public class ArmorStandEvents implements Listener {
 
     @EventHandler
     private void onArmorStandLoad(EntitiesLoadEvent event) {
-        if (!main.getConfiguration().isArmorStandQuestGiverIndicatorParticleEnabled()) {
-            return;
-        }
+        final boolean particlesEnabled = main.getConfiguration().isArmorStandQuestGiverIndicatorParticleEnabled();
         for(final Entity entity : event.getEntities()){
             if (entity instanceof final ArmorStand armorStand) {
                 final PersistentDataContainer armorStandPDB = armorStand.getPersistentDataContainer();
 
                 if (!armorStandPDB.has(main.getArmorStandManager().getAttachedQuestsShowingKey(), PersistentDataType.STRING) && !armorStandPDB.has(main.getArmorStandManager().getAttachedQuestsNonShowingKey(), PersistentDataType.STRING) && !armorStandPDB.has(main.getArmorStandManager().getAttachedConversationKey(), PersistentDataType.STRING)) {
-                    return;
+                    continue;
                 }
 
-                main.getArmorStandManager().addArmorStandWithQuestsOrConversationAttachedToThem(armorStand);
+                //Decode the attached quests once now, so clicks and closeness checks don't have to
+                main.getArmorStandManager().updateAttachedQuestsCache(armorStand);
+
+                if (particlesEnabled) {
+                    main.getArmorStandManager().addArmorStandWithQuestsOrConversationAttachedToThem(armorStand);
+                }
 
             }
         }
@@ -580,11 +588,12 @@ public class ArmorStandEvents implements Listener {
 
     @EventHandler
     private void onArmorStandUnload(EntitiesUnloadEvent event) {
-        if (!main.getConfiguration().isArmorStandQuestGiverIndicatorParticleEnabled()) {
-            return;
-        }
         for (final Entity entity : event.getEntities()) {
             if (entity instanceof final ArmorStand armorStand) {
+                main.getArmorStandManager().removeFromAttachedQuestsCache(armorStand);
+                if (!main.getConfiguration().isArmorStandQuestGiverIndicatorParticleEnabled()) {
+                    continue;
+                }
                 final PersistentDataContainer armorStandPDB = armorStand.getPersistentDataContainer();
 
 
@@ -620,6 +629,7 @@ public class ArmorStandEvents implements Listener {
     @EventHandler
     public void onArmorStandDeath(EntityDeathEvent event) {
         if (event.getEntity() instanceof final ArmorStand armorStand) {
+            main.getArmorStandManager().removeFromAttachedQuestsCache(armorStand);
             if (!main.getConfiguration().isArmorStandQuestGiverIndicatorParticleEnabled()) {
                 return;
             }
@@ -65,7 +65,9 @@ public class InventoryEvents implements Listener {
         final Player player = event.getPlayer();
         final ItemStack itemInHand = player.getInventory().getItemInMainHand();
         if (event.getAction().equals(Action.RIGHT_CLICK_AIR) || event.getAction().equals(Action.RIGHT_CLICK_BLOCK)) {
-            if (itemInHand.isSimilar(main.getConfiguration().journalItem)) {
+            final ItemStack journalItem = main.getConfiguration().journalItem;
+            //Comparing the type first is a lot cheaper than comparing the item meta, and rules out almost every item
+            if (journalItem != null && itemInHand.getType() == journalItem.getType() && itemInHand.isSimilar(journalItem)) {
                 main.getGuiManager().showActiveQuests(main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId()), player);
             }
         }
@@ -0,0 +1,103 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.events;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import rocks.gravili.notquests.paper.NotQuests;
+
+import java.util.UUID;
+
+/**
+ * Loads and unloads player data if the data of a player should only be loaded once they join (storage.load-playerdata-on-join).
+ */
+public class PlayerDataEvents implements Listener {
+    private final NotQuests main;
+
+    public PlayerDataEvents(NotQuests main) {
+        this.main = main;
+    }
+
+    private boolean isLoadingOnJoin() {
+        return main.getConfiguration().loadPlayerData && main.getConfiguration().loadPlayerDataOnJoin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPlayerPreLogin(final AsyncPlayerPreLoginEvent e) {
+        if (!isLoadingOnJoin() || e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        //Quests are not loaded yet. The data will be loaded in onPlayerJoin or by loadPlayerData() instead.
+        if (main.getDataManager().isCurrentlyLoading()) {
+            return;
+        }
+
+        //This event is already called asynchronously and the player will not join before it's done, so the data can be loaded right here
+        main.getQuestPlayerManager().cancelScheduledUnload(e.getUniqueId());
+        main.getQuestPlayerManager().loadQuestPlayer(e.getUniqueId(), true);
+    }
+
+    /**
+     * If the login is disallowed after the data has been loaded in onAsyncPlayerPreLogin (for example because of the whitelist,
+     * a ban or a full server), no PlayerQuitEvent will be called. The data is unloaded again instead.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(final PlayerLoginEvent e) {
+        if (!isLoadingOnJoin() || e.getResult() == PlayerLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        main.getQuestPlayerManager().scheduleUnload(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onPlayerJoin(final PlayerJoinEvent e) {
+        if (!isLoadingOnJoin()) {
+            return;
+        }
+        final UUID uuid = e.getPlayer().getUniqueId();
+        main.getQuestPlayerManager().cancelScheduledUnload(uuid);
+
+        //Fallback in case the data could not be loaded during the login, for example because the plugin was still loading
+        if (main.getDataManager().isCurrentlyLoading() || main.getQuestPlayerManager().getQuestPlayer(uuid) != null || main.getQuestPlayerManager().isCurrentlyLoading(uuid)) {
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> main.getQuestPlayerManager().loadQuestPlayer(uuid, true));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(final PlayerQuitEvent e) {
+        final Player player = e.getPlayer();
+        main.getGuiManager().removeCachedJournal(player.getUniqueId());
+        if (main.getIntegrationsManager().getQuestPlaceholders() != null) {
+            main.getIntegrationsManager().getQuestPlaceholders().removeCachedAnswers(player.getUniqueId());
+        }
+        main.getIntegrationsManager().getIntegrationQueryCache().removeSnapshots(player.getUniqueId());
+        if (!isLoadingOnJoin()) {
+            return;
+        }
+        main.getQuestPlayerManager().scheduleUnload(player.getUniqueId());
+    }
+}
@@ -50,11 +50,14 @@ import rocks.gravili.notquests.paper.events.notquests.other.PlayerJumpEvent;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
 import rocks.gravili.notquests.paper.structs.ActiveQuest;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
+import rocks.gravili.notquests.paper.structs.ReachLocationIndex;
 import rocks.gravili.notquests.paper.structs.objectives.*;
 import rocks.gravili.notquests.paper.structs.triggers.ActiveTrigger;
 import rocks.gravili.notquests.paper.structs.triggers.types.WorldEnterTrigger;
 import rocks.gravili.notquests.paper.structs.triggers.types.WorldLeaveTrigger;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 
 import static rocks.gravili.notquests.paper.commands.NotQuestColors.debugHighlightGradient;
@@ -77,127 +80,125 @@ public class QuestEvents implements Listener {
             final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
             if (questPlayer != null) {
                 if (questPlayer.getActiveQuests().size() > 0) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                            if (activeObjective.isUnlocked()) {
-                                if (activeObjective.getObjective() instanceof final SmeltObjective smeltObjective) {
-                                    final InventoryType inventoryType = e.getInventory().getType();
+                    final List<ActiveObjective> smeltObjectives = questPlayer.getUnlockedActiveObjectives(SmeltObjective.class);
+                    if (!smeltObjectives.isEmpty()) {
+                        for (final ActiveObjective activeObjective : smeltObjectives) {
+                            if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof final SmeltObjective smeltObjective) {
+                                final InventoryType inventoryType = e.getInventory().getType();
 
 
-                                    // questPlayer.sendDebugMessage("InventoryType: " + inventoryType.name());
-                                    //questPlayer.sendDebugMessage("CurrentItem type: " + e.getCurrentItem().getType());
-                                    //questPlayer.sendDebugMessage("View Type: " + e.getView().getType().name());
+                                // questPlayer.sendDebugMessage("InventoryType: " + inventoryType.name());
+                                //questPlayer.sendDebugMessage("CurrentItem type: " + e.getCurrentItem().getType());
+                                //questPlayer.sendDebugMessage("View Type: " + e.getView().getType().name());
 
 
-                                    if(inventoryType != InventoryType.FURNACE && inventoryType != InventoryType.BLAST_FURNACE && inventoryType != InventoryType.SMOKER){
-                                        continue;
-                                    }
-
-
-                                    final ItemStack currentItem = e.getCurrentItem();
-                                    if(main.getUtilManager().isItemEmpty(currentItem)){
-                                        //questPlayer.sendDebugMessage("Invalid item for smelt objective (1)");
-                                        continue;
-                                    }
+                                if(inventoryType != InventoryType.FURNACE && inventoryType != InventoryType.BLAST_FURNACE && inventoryType != InventoryType.SMOKER){
+                                    continue;
+                                }
 
-                                    if (!smeltObjective.isSmeltAnyItem() && !currentItem.isSimilar(smeltObjective.getItemToSmelt())) {
-                                        //questPlayer.sendDebugMessage("Invalid item for smelt objective (2). CurrentItem: " + currentItem.getType().name() + " ItemToSmelt: " + smeltObjective.getItemToSmelt().getType().name());
-                                        continue;
-                                    }
 
-                                    questPlayer.sendDebugMessage("Valid item for smelt objective");
+                                final ItemStack currentItem = e.getCurrentItem();
+                                if(main.getUtilManager().isItemEmpty(currentItem)){
+                                    //questPlayer.sendDebugMessage("Invalid item for smelt objective (1)");
+                                    continue;
+                                }
 
+                                if (!smeltObjective.isMatchingItem(currentItem)) {
+                                    //questPlayer.sendDebugMessage("Invalid item for smelt objective (2). CurrentItem: " + currentItem.getType().name() + " ItemToSmelt: " + smeltObjective.getItemToSmelt().getType().name());
+                                    continue;
+                                }
 
-                                    int amount = currentItem.getAmount();
-                                    final ItemStack cursor = e.getCursor();
+                                questPlayer.sendDebugMessage("Valid item for smelt objective");
 
 
+                                int amount = currentItem.getAmount();
+                                final ItemStack cursor = e.getCursor();
 
-                                    switch (e.getClick()) {
-                                        case LEFT:
-                                            if (!main.getUtilManager().isItemEmpty(cursor)) {
-                                                questPlayer.sendDebugMessage("Inventory craft event: Cursor is not empty");
 
-                                                if (!cursor.isSimilar(currentItem)) {
-                                                    amount = 0;
-                                                }
-                                                if (cursor.getAmount() + currentItem.getAmount() > cursor.getMaxStackSize()) {
-                                                    amount = 0;
-                                                }
-                                            }
-                                            break;
 
-                                        case RIGHT:
-                                            if (!main.getUtilManager().isItemEmpty(cursor)) {
-                                                questPlayer.sendDebugMessage("Inventory craft event: Cursor is not empty");
+                                switch (e.getClick()) {
+                                    case LEFT:
+                                        if (!main.getUtilManager().isItemEmpty(cursor)) {
+                                            questPlayer.sendDebugMessage("Inventory craft event: Cursor is not empty");
 
-                                                if (!cursor.isSimilar(currentItem)) {
-                                                    amount = 0;
-                                                }
-                                                if (cursor.getAmount() + currentItem.getAmount() > cursor.getMaxStackSize()) {
-                                                    amount = 0;
-                                                }
+                                            if (!cursor.isSimilar(currentItem)) {
+                                                amount = 0;
                                             }
-                                            amount = (amount+1)/2;
-                                            break;
-                                        case NUMBER_KEY:
-                                            //If the hotbar is full, the item will not be crafted but it will still trigger this event for some reason. That's
-                                            //why we manually have to set the amount to 0 here
-                                            if (player.getInventory().getItem(e.getHotbarButton()) != null) {
+                                            if (cursor.getAmount() + currentItem.getAmount() > cursor.getMaxStackSize()) {
                                                 amount = 0;
                                             }
-                                            break;
+                                        }
+                                        break;
+
+                                    case RIGHT:
+                                        if (!main.getUtilManager().isItemEmpty(cursor)) {
+                                            questPlayer.sendDebugMessage("Inventory craft event: Cursor is not empty");
 
-                                        case DROP:
-                                            if (!main.getUtilManager().isItemEmpty(cursor)) {
+                                            if (!cursor.isSimilar(currentItem)) {
                                                 amount = 0;
                                             }
-                                            amount = 1;
-                                            break;
-                                        case CONTROL_DROP:
-                                            // If we are holding items, craft-via-drop fails (vanilla behavior)
-                                            // Cursor is either null or AIR
-                                            if (!main.getUtilManager().isItemEmpty(cursor)) {
+                                            if (cursor.getAmount() + currentItem.getAmount() > cursor.getMaxStackSize()) {
                                                 amount = 0;
                                             }
+                                        }
+                                        amount = (amount+1)/2;
+                                        break;
+                                    case NUMBER_KEY:
+                                        //If the hotbar is full, the item will not be crafted but it will still trigger this event for some reason. That's
+                                        //why we manually have to set the amount to 0 here
+                                        if (player.getInventory().getItem(e.getHotbarButton()) != null) {
+                                            amount = 0;
+                                        }
+                                        break;
 
+                                    case DROP:
+                                        if (!main.getUtilManager().isItemEmpty(cursor)) {
+                                            amount = 0;
+                                        }
+                                        amount = 1;
+                                        break;
+                                    case CONTROL_DROP:
+                                        // If we are holding items, craft-via-drop fails (vanilla behavior)
+                                        // Cursor is either null or AIR
+                                        if (!main.getUtilManager().isItemEmpty(cursor)) {
+                                            amount = 0;
+                                        }
+
+                                        break;
+                                    case SWAP_OFFHAND:
+                                        if(!main.getUtilManager().isItemEmpty(player.getInventory().getItemInOffHand())){
+                                            amount = 0;
+                                        }
+                                        break;
+                                    case SHIFT_LEFT:
+                                    case SHIFT_RIGHT:
+                                        if (amount == 0) {
                                             break;
-                                        case SWAP_OFFHAND:
-                                            if(!main.getUtilManager().isItemEmpty(player.getInventory().getItemInOffHand())){
-                                                amount = 0;
-                                            }
-                                            break;
-                                        case SHIFT_LEFT:
-                                        case SHIFT_RIGHT:
-                                            if (amount == 0) {
-                                                break;
-                                            }
+                                        }
 
-                                            amount = Math.min(getInventorySpaceLeftForItem(player.getInventory(), currentItem ) ,amount);
+                                        amount = Math.min(getInventorySpaceLeftForItem(player.getInventory(), currentItem ) ,amount);
 
-                                            break;
-                                        default:
-                                            amount = 0;
-                                    }
+                                        break;
+                                    default:
+                                        amount = 0;
+                                }
 
 
-                                    questPlayer.sendDebugMessage("Amount: " + amount);
+                                final int debugAmount = amount;
+                                questPlayer.sendDebugMessage(() -> "Amount: " + debugAmount);
 
-                                    if (amount == 0) {
-                                        continue;
-                                    }
+                                if (amount == 0) {
+                                    continue;
+                                }
 
 
-                                    activeObjective.addProgress(amount);
+                                activeObjective.addProgress(amount);
 
 
-                                }
                             }
-
                         }
-                        activeQuest.removeCompletedObjectives(true);
+                        questPlayer.removeCompletedObjectivesAndQuests();
                     }
-                    questPlayer.removeCompletedQuests();
                 }
             }
         }
@@ -229,51 +230,40 @@ public class QuestEvents implements Listener {
             final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
             if (questPlayer != null) {
                 if (questPlayer.getActiveQuests().size() > 0) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                            if (activeObjective.isUnlocked()) {
-                                if (activeObjective.getObjective() instanceof final CraftItemsObjective craftItemsObjective) {
-                                    final ItemStack result = e.getRecipe().getResult();
-                                    final ItemStack cursor = e.getCursor();
-
-                                    //Check if the Material of the crafted item is equal to the Material needed in the CraftItemsObjective
-                                    if (!craftItemsObjective.isCraftAnyItem() && !(craftItemsObjective.getItemToCraft().getType() == result.getType())) {
-                                        continue;
-                                    }
-
-                                    //If the objectiv-item which needs to be crafted has an ItemMeta...
-                                    if (!craftItemsObjective.isCraftAnyItem() && craftItemsObjective.getItemToCraft().getItemMeta() != null) {
-                                        //then check if the ItemMeta of the crafted item is equal to the ItemMeta needed in the CraftItemsObjective
-                                        if (!craftItemsObjective.getItemToCraft().getItemMeta().equals(result.getItemMeta())) {
-                                            continue;
-                                        }
-                                    }
+                    final List<ActiveObjective> craftItemsObjectives = questPlayer.getUnlockedActiveObjectives(CraftItemsObjective.class);
+                    if (!craftItemsObjectives.isEmpty()) {
+                        for (final ActiveObjective activeObjective : craftItemsObjectives) {
+                            if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof final CraftItemsObjective craftItemsObjective) {
+                                final ItemStack result = e.getRecipe().getResult();
+                                final ItemStack cursor = e.getCursor();
+
+                                //Check if the Material and ItemMeta of the crafted item are equal to the ones needed in the CraftItemsObjective
+                                if (!craftItemsObjective.isMatchingItem(result)) {
+                                    continue;
+                                }
 
-                                    questPlayer.sendDebugMessage("Inventory craft event. Click type: " + debugHighlightGradient + e.getClick().name() + "</gradient>");
+                                questPlayer.sendDebugMessage(() -> "Inventory craft event. Click type: " + debugHighlightGradient + e.getClick().name() + "</gradient>");
 
 
-                                    //Now we gotta figure out the real amount of items which have been crafted, which is trickier than expected:
+                                //Now we gotta figure out the real amount of items which have been crafted, which is trickier than expected:
 
 
-                                    int recipeAmount = getCraftAmount(result, cursor, e.getClick(), e.getWhoClicked(), e.getHotbarButton(), e.getInventory(), e.getView(), questPlayer);
+                                int recipeAmount = getCraftAmount(result, cursor, e.getClick(), e.getWhoClicked(), e.getHotbarButton(), e.getInventory(), e.getView(), questPlayer);
 
 
-                                    // No use continuing if we haven't actually crafted a thing
-                                    if (recipeAmount == 0) {
-                                        continue;
-                                    }
+                                // No use continuing if we haven't actually crafted a thing
+                                if (recipeAmount == 0) {
+                                    continue;
+                                }
 
 
-                                    activeObjective.addProgress(recipeAmount);
+                                activeObjective.addProgress(recipeAmount);
 
 
-                                }
                             }
-
                         }
-                        activeQuest.removeCompletedObjectives(true);
+                        questPlayer.removeCompletedObjectivesAndQuests();
                     }
-                    questPlayer.removeCompletedQuests();
                 }
             }
         }
@@ -390,18 +380,15 @@ public class QuestEvents implements Listener {
             return;
         }
 
-        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-            for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                if (activeObjective.isUnlocked()) {
-                    if (activeObjective.getObjective() instanceof JumpObjective) {
-                        activeObjective.addProgress(1);
-                    }
+        final List<ActiveObjective> jumpObjectives = questPlayer.getUnlockedActiveObjectives(JumpObjective.class);
+        if (!jumpObjectives.isEmpty()) {
+            for (final ActiveObjective activeObjective : jumpObjectives) {
+                if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof JumpObjective) {
+                    activeObjective.addProgress(1);
                 }
-
             }
-            activeQuest.removeCompletedObjectives(true);
+            questPlayer.removeCompletedObjectivesAndQuests();
         }
-        questPlayer.removeCompletedQuests();
     }
 
 
@@ -417,47 +404,41 @@ public class QuestEvents implements Listener {
         }
 
 
-        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-            for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                if (activeObjective.isUnlocked()) {
-                    if (activeObjective.getObjective() instanceof InteractObjective interactObjective) {
-                        String materialName = "AIR";
-                        if (e.getClickedBlock() != null) {
-                            materialName = e.getClickedBlock().getBlockData().getMaterial().name();
-                        }
-                        questPlayer.sendDebugMessage("Found InteractObjective Objective in PlayerInteractEvent. Clicked Block material: <highlight>" + materialName
-                                + "</highlight>. Action: <highlight2>" + e.getAction() + "</highlight2>."
-                        );
+        final List<ActiveObjective> interactObjectives = questPlayer.getUnlockedActiveObjectives(InteractObjective.class);
+        if (!interactObjectives.isEmpty()) {
+            for (final ActiveObjective activeObjective : interactObjectives) {
+                if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof final InteractObjective interactObjective) {
+                    questPlayer.sendDebugMessage(() -> "Found InteractObjective Objective in PlayerInteractEvent. Clicked Block material: <highlight>"
+                            + (e.getClickedBlock() != null ? e.getClickedBlock().getBlockData().getMaterial().name() : "AIR")
+                            + "</highlight>. Action: <highlight2>" + e.getAction() + "</highlight2>."
+                    );
 
-                        if (e.getAction() == Action.RIGHT_CLICK_BLOCK && !interactObjective.isRightClick()) {
-                            return;
-                        }
-                        if (e.getAction() == Action.LEFT_CLICK_BLOCK && !interactObjective.isLeftClick()) {
-                            return;
-                        }
-                        if (e.getClickedBlock() == null || e.getClickedBlock().getLocation().getWorld() == null || interactObjective.getLocationToInteract().getWorld() == null) {
-                            return;
-                        }
-
-                        if (!e.getClickedBlock().getLocation().getWorld().getName().equalsIgnoreCase(interactObjective.getLocationToInteract().getWorld().getName())) {
-                            return;
-                        }
-                        if (e.getClickedBlock().getLocation().distance(interactObjective.getLocationToInteract()) > interactObjective.getMaxDistance()) {
-                            return;
-                        }
+                    if (e.getAction() == Action.RIGHT_CLICK_BLOCK && !interactObjective.isRightClick()) {
+                        return;
+                    }
+                    if (e.getAction() == Action.LEFT_CLICK_BLOCK && !interactObjective.isLeftClick()) {
+                        return;
+                    }
+                    if (e.getClickedBlock() == null || e.getClickedBlock().getLocation().getWorld() == null || interactObjective.getLocationToInteract().getWorld() == null) {
+                        return;
+                    }
 
-                        activeObjective.addProgress(1);
-                        if (interactObjective.isCancelInteraction()) {
-                            e.setCancelled(true);
-                        }
+                    if (!e.getClickedBlock().getLocation().getWorld().getName().equalsIgnoreCase(interactObjective.getLocationToInteract().getWorld().getName())) {
+                        return;
+                    }
+                    if (e.getClickedBlock().getLocation().distance(interactObjective.getLocationToInteract()) > interactObjective.getMaxDistance()) {
+                        return;
+                    }
 
+                    activeObjective.addProgress(1);
+                    if (interactObjective.isCancelInteraction()) {
+                        e.setCancelled(true);
                     }
-                }
 
+                }
             }
-            activeQuest.removeCompletedObjectives(true);
+            questPlayer.removeCompletedObjectivesAndQuests();
         }
-        questPlayer.removeCompletedQuests();
     }
 
 
@@ -472,33 +453,30 @@ public class QuestEvents implements Listener {
             return;
         }
 
-        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-            for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                if (activeObjective.isUnlocked()) {
-                    if (activeObjective.getObjective() instanceof RunCommandObjective runCommandObjective) {
-                        questPlayer.sendDebugMessage("Found RunCommand Objective in PlayerCommandPreprocessEvent. Command: <highlight>" + e.getMessage()
-                                + "</highlight> Objective command to run: <highlight2>" + runCommandObjective.getCommandToRun() + "</highlight2>."
-                        );
-
-                        if (runCommandObjective.isIgnoreCase() && !e.getMessage().equalsIgnoreCase(runCommandObjective.getCommandToRun())) {
-                            continue;
-                        }
-                        if (!runCommandObjective.isIgnoreCase() && !e.getMessage().equals(runCommandObjective.getCommandToRun())) {
-                            continue;
-                        }
+        final List<ActiveObjective> runCommandObjectives = questPlayer.getUnlockedActiveObjectives(RunCommandObjective.class);
+        if (!runCommandObjectives.isEmpty()) {
+            for (final ActiveObjective activeObjective : runCommandObjectives) {
+                if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof final RunCommandObjective runCommandObjective) {
+                    questPlayer.sendDebugMessage(() -> "Found RunCommand Objective in PlayerCommandPreprocessEvent. Command: <highlight>" + e.getMessage()
+                            + "</highlight> Objective command to run: <highlight2>" + runCommandObjective.getCommandToRun() + "</highlight2>."
+                    );
 
-                        activeObjective.addProgress(1);
-                        if (runCommandObjective.isCancelCommand()) {
-                            e.setCancelled(true);
-                        }
+                    if (runCommandObjective.isIgnoreCase() && !e.getMessage().equalsIgnoreCase(runCommandObjective.getCommandToRun())) {
+                        continue;
+                    }
+                    if (!runCommandObjective.isIgnoreCase() && !e.getMessage().equals(runCommandObjective.getCommandToRun())) {
+                        continue;
+                    }
 
+                    activeObjective.addProgress(1);
+                    if (runCommandObjective.isCancelCommand()) {
+                        e.setCancelled(true);
                     }
-                }
 
+                }
             }
-            activeQuest.removeCompletedObjectives(true);
+            questPlayer.removeCompletedObjectivesAndQuests();
         }
-        questPlayer.removeCompletedQuests();
 
 
     }
@@ -546,21 +524,18 @@ public class QuestEvents implements Listener {
                     return;
                 }
 
-                for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                    for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                        if (activeObjective.isUnlocked()) {
-                            if (activeObjective.getObjective() instanceof BreedObjective breedObjective) {
-                                if(breedObjective.getEntityToBreedType().equalsIgnoreCase("any") ||  breedObjective.getEntityToBreedType().equalsIgnoreCase(e.getEntityType().toString())){
-                                    activeObjective.addProgress(1);
-                                }
-
+                final List<ActiveObjective> breedObjectives = questPlayer.getUnlockedActiveObjectives(BreedObjective.class);
+                if (!breedObjectives.isEmpty()) {
+                    for (final ActiveObjective activeObjective : breedObjectives) {
+                        if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof final BreedObjective breedObjective) {
+                            if(breedObjective.getEntityToBreedType().equalsIgnoreCase("any") ||  breedObjective.getEntityToBreedType().equalsIgnoreCase(e.getEntityType().toString())){
+                                activeObjective.addProgress(1);
                             }
-                        }
 
+                        }
                     }
-                    activeQuest.removeCompletedObjectives(true);
+                    questPlayer.removeCompletedObjectivesAndQuests();
                 }
-                questPlayer.removeCompletedQuests();
 
             }
         }
@@ -574,26 +549,28 @@ public class QuestEvents implements Listener {
             final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
             if (questPlayer != null) {
                 if (questPlayer.getActiveQuests().size() > 0) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                            if (activeObjective.isUnlocked()) {
-                                if (activeObjective.getObjective() instanceof BreakBlocksObjective breakBlocksObjective) {
-                                    if (breakBlocksObjective.getBlockToBreak().equalsIgnoreCase("any") || breakBlocksObjective.getBlockToBreak().equalsIgnoreCase(e.getBlock().getType().name())) {
-                                        activeObjective.addProgress(1);
-                                    }
-                                } else if (activeObjective.getObjective() instanceof PlaceBlocksObjective placeBlocksObjective) { //Deduct if Block is Broken for PlaceBlocksObjective
-                                    if (placeBlocksObjective.getBlockToPlace().equalsIgnoreCase("any") || placeBlocksObjective.getBlockToPlace().equalsIgnoreCase(e.getBlock().getType().name())) {
-                                        if (placeBlocksObjective.isDeductIfBlockBroken()) {
-                                            activeObjective.removeProgress(1, false);
-                                        }
-                                    }
+                    final List<ActiveObjective> breakBlocksObjectives = questPlayer.getUnlockedActiveObjectives(BreakBlocksObjective.class);
+                    final List<ActiveObjective> placeBlocksObjectives = questPlayer.getUnlockedActiveObjectives(PlaceBlocksObjective.class);
+                    if (breakBlocksObjectives.isEmpty() && placeBlocksObjectives.isEmpty()) {
+                        return;
+                    }
+                    for (final ActiveObjective activeObjective : breakBlocksObjectives) {
+                        if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof BreakBlocksObjective breakBlocksObjective) {
+                            if (breakBlocksObjective.isMatchingBlock(e.getBlock().getType())) {
+                                activeObjective.addProgress(1);
+                            }
+                        }
+                    }
+                    for (final ActiveObjective activeObjective : placeBlocksObjectives) { //Deduct if Block is Broken for PlaceBlocksObjective
+                        if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof PlaceBlocksObjective placeBlocksObjective) {
+                            if (placeBlocksObjective.isMatchingBlock(e.getBlock().getType())) {
+                                if (placeBlocksObjective.isDeductIfBlockBroken()) {
+                                    activeObjective.removeProgress(1, false);
                                 }
                             }
-
                         }
-                        activeQuest.removeCompletedObjectives(true);
                     }
-                    questPlayer.removeCompletedQuests();
+                    questPlayer.removeCompletedObjectivesAndQuests();
                 }
             }
         }
@@ -607,26 +584,29 @@ public class QuestEvents implements Listener {
             final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
             if (questPlayer != null) {
                 if (questPlayer.getActiveQuests().size() > 0) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                            if (activeObjective.isUnlocked()) {
-                                //This is for the BreakBlocksObjective. It should deduct the progress if the player placed the same block again (if willDeductIfBlockPlaced() is set to true)
-                                if (activeObjective.getObjective() instanceof BreakBlocksObjective breakBlocksObjective) {
-                                    if (breakBlocksObjective.getBlockToBreak().equalsIgnoreCase("any") || breakBlocksObjective.getBlockToBreak().equalsIgnoreCase(e.getBlock().getType().name())) {
-                                        if (breakBlocksObjective.isDeductIfBlockPlaced()) {
-                                            activeObjective.removeProgress(1, false);
-                                        }
-                                    }
-                                } else if (activeObjective.getObjective() instanceof PlaceBlocksObjective placeBlocksObjective) {
-                                    if (placeBlocksObjective.getBlockToPlace().equalsIgnoreCase("any") || placeBlocksObjective.getBlockToPlace().equalsIgnoreCase(e.getBlock().getType().name())) {
-                                        activeObjective.addProgress(1);
-                                    }
+                    final List<ActiveObjective> breakBlocksObjectives = questPlayer.getUnlockedActiveObjectives(BreakBlocksObjective.class);
+                    final List<ActiveObjective> placeBlocksObjectives = questPlayer.getUnlockedActiveObjectives(PlaceBlocksObjective.class);
+                    if (breakBlocksObjectives.isEmpty() && placeBlocksObjectives.isEmpty()) {
+                        return;
+                    }
+                    //This is for the BreakBlocksObjective. It should deduct the progress if the player placed the same block again (if willDeductIfBlockPlaced() is set to true)
+                    for (final ActiveObjective activeObjective : breakBlocksObjectives) {
+                        if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof BreakBlocksObjective breakBlocksObjective) {
+                            if (breakBlocksObjective.isMatchingBlock(e.getBlock().getType())) {
+                                if (breakBlocksObjective.isDeductIfBlockPlaced()) {
+                                    activeObjective.removeProgress(1, false);
                                 }
                             }
                         }
-                        activeQuest.removeCompletedObjectives(true);
                     }
-                    questPlayer.removeCompletedQuests();
+                    for (final ActiveObjective activeObjective : placeBlocksObjectives) {
+                        if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof PlaceBlocksObjective placeBlocksObjective) {
+                            if (placeBlocksObjective.isMatchingBlock(e.getBlock().getType())) {
+                                activeObjective.addProgress(1);
+                            }
+                        }
+                    }
+                    questPlayer.removeCompletedObjectivesAndQuests();
                 }
             }
         }
@@ -641,34 +621,23 @@ public class QuestEvents implements Listener {
             final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
             if (questPlayer != null) {
                 if (questPlayer.getActiveQuests().size() > 0) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                            if (activeObjective.isUnlocked()) {
-                                if (activeObjective.getObjective() instanceof final CollectItemsObjective collectItemsObjective) {
+                    final List<ActiveObjective> collectItemsObjectives = questPlayer.getUnlockedActiveObjectives(CollectItemsObjective.class);
+                    if (!collectItemsObjectives.isEmpty()) {
+                        for (final ActiveObjective activeObjective : collectItemsObjectives) {
+                            if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof final CollectItemsObjective collectItemsObjective) {
 
 
-                                    //Check if the Material of the collected item is equal to the Material needed in the CollectItemsObjective
-                                    if (!collectItemsObjective.isCollectAnyItem() && !(collectItemsObjective.getItemToCollect().getType() == e.getItem().getItemStack().getType())) {
-                                        continue;
-                                    }
-
-                                    //If the objective-item which needs to be collected has an ItemMeta...
-                                    if (!collectItemsObjective.isCollectAnyItem() && collectItemsObjective.getItemToCollect().getItemMeta() != null) {
-                                        //then check if the ItemMeta of the collected item is equal to the ItemMeta needed in the CollectItemsObjective
-                                        if (!collectItemsObjective.getItemToCollect().getItemMeta().equals(e.getItem().getItemStack().getItemMeta())) {
-                                            continue;
-                                        }
-                                    }
+                                //Check if the Material and ItemMeta of the collected item are equal to the ones needed in the CollectItemsObjective
+                                if (!collectItemsObjective.isMatchingItem(e.getItem().getItemStack())) {
+                                    continue;
+                                }
 
-                                    activeObjective.addProgress(e.getItem().getItemStack().getAmount());
+                                activeObjective.addProgress(e.getItem().getItemStack().getAmount());
 
-                                }
                             }
-
                         }
-                        activeQuest.removeCompletedObjectives(true);
+                        questPlayer.removeCompletedObjectivesAndQuests();
                     }
-                    questPlayer.removeCompletedQuests();
                 }
             }
         }
@@ -683,36 +652,25 @@ public class QuestEvents implements Listener {
         final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
         if (questPlayer != null) {
             if (questPlayer.getActiveQuests().size() > 0) {
-                for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                    for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                        if (activeObjective.isUnlocked()) {
-                            if (activeObjective.getObjective() instanceof final CollectItemsObjective collectItemsObjective) {
-                                if (!collectItemsObjective.isDeductIfItemIsDropped()) {
-                                    continue;
-                                }
-
-                                //Check if the Material of the collected item is equal to the Material needed in the CollectItemsObjective
-                                if (!collectItemsObjective.isCollectAnyItem() && !(collectItemsObjective.getItemToCollect().getType() == e.getItemDrop().getItemStack().getType())) {
-                                    continue;
-                                }
+                final List<ActiveObjective> collectItemsObjectives = questPlayer.getUnlockedActiveObjectives(CollectItemsObjective.class);
+                if (!collectItemsObjectives.isEmpty()) {
+                    for (final ActiveObjective activeObjective : collectItemsObjectives) {
+                        if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof final CollectItemsObjective collectItemsObjective) {
+                            if (!collectItemsObjective.isDeductIfItemIsDropped()) {
+                                continue;
+                            }
 
-                                //If the objective-item which needs to be collected has an ItemMeta...
-                                if (!collectItemsObjective.isCollectAnyItem() && collectItemsObjective.getItemToCollect().getItemMeta() != null) {
-                                    //then check if the ItemMeta of the collected item is equal to the ItemMeta needed in the CollectItemsObjective
-                                    if (!collectItemsObjective.getItemToCollect().getItemMeta().equals(e.getItemDrop().getItemStack().getItemMeta())) {
-                                        continue;
-                                    }
-                                }
+                            //Check if the Material and ItemMeta of the dropped item are equal to the ones needed in the CollectItemsObjective
+                            if (!collectItemsObjective.isMatchingItem(e.getItemDrop().getItemStack())) {
+                                continue;
+                            }
 
-                                activeObjective.removeProgress(e.getItemDrop().getItemStack().getAmount(), false);
+                            activeObjective.removeProgress(e.getItemDrop().getItemStack().getAmount(), false);
 
-                            }
                         }
-
                     }
-                    activeQuest.removeCompletedObjectives(true);
+                    questPlayer.removeCompletedObjectivesAndQuests();
                 }
-                questPlayer.removeCompletedQuests();
             }
         }
 
@@ -753,46 +711,41 @@ public class QuestEvents implements Listener {
             final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
             if (questPlayer != null) {
                 if (questPlayer.getActiveQuests().size() > 0) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                            if (activeObjective.getObjective() instanceof KillMobsObjective killMobsObjective) {
-                                if (activeObjective.isUnlocked()) {
-                                    final EntityType killedMob = e.getEntity().getType();
-                                    if (killMobsObjective.getMobToKill().equalsIgnoreCase("any") || killMobsObjective.getMobToKill().equalsIgnoreCase(killedMob.toString())) {
-                                        if (e.getEntity() != e.getEntity().getKiller()) { //Suicide prevention
-
-                                            //Extra Flags
-                                            if (!killMobsObjective.getNameTagContainsAny().isBlank()) {
-                                                if (e.getEntity().getCustomName() == null || e.getEntity().getCustomName().isBlank()) {
-                                                    continue;
-                                                }
-                                                boolean foundOneNotFitting = false;
-                                                for (final String namePart : killMobsObjective.getNameTagContainsAny().toLowerCase(Locale.ROOT).split(" ")) {
-                                                    if (!e.getEntity().getCustomName().toLowerCase(Locale.ROOT).contains(namePart)) {
-                                                        foundOneNotFitting = true;
-                                                    }
-                                                }
-                                                if (foundOneNotFitting) {
-                                                    continue;
-                                                }
+                    final List<ActiveObjective> killMobsObjectives = questPlayer.getUnlockedActiveObjectives(KillMobsObjective.class);
+                    if (!killMobsObjectives.isEmpty()) {
+                        final EntityType killedMob = e.getEntity().getType();
+                        String lowerCaseCustomName = null; //Only computed if an objective has the nameTagContainsAny flag
+                        for (final ActiveObjective activeObjective : killMobsObjectives) {
+                            if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof KillMobsObjective killMobsObjective) {
+                                if (killMobsObjective.isMatchingEntityType(killedMob)) {
+                                    if (e.getEntity() != e.getEntity().getKiller()) { //Suicide prevention
+
+                                        //Extra Flags
+                                        if (!killMobsObjective.getNameTagContainsAny().isBlank()) {
+                                            if (e.getEntity().getCustomName() == null || e.getEntity().getCustomName().isBlank()) {
+                                                continue;
                                             }
-                                            if (!killMobsObjective.getNameTagEquals().isBlank()) {
-                                                if (e.getEntity().getCustomName() == null || e.getEntity().getCustomName().isBlank() || !e.getEntity().getCustomName().equalsIgnoreCase(killMobsObjective.getNameTagEquals())) {
-                                                    continue;
-                                                }
+                                            if (lowerCaseCustomName == null) {
+                                                lowerCaseCustomName = e.getEntity().getCustomName().toLowerCase(Locale.ROOT);
+                                            }
+                                            if (!killMobsObjective.isNameTagContainingAll(lowerCaseCustomName)) {
+                                                continue;
+                                            }
+                                        }
+                                        if (!killMobsObjective.getNameTagEquals().isBlank()) {
+                                            if (e.getEntity().getCustomName() == null || e.getEntity().getCustomName().isBlank() || !e.getEntity().getCustomName().equalsIgnoreCase(killMobsObjective.getNameTagEquals())) {
+                                                continue;
                                             }
-
-                                            activeObjective.addProgress(1);
                                         }
 
+                                        activeObjective.addProgress(1);
                                     }
-                                }
 
+                                }
                             }
                         }
-                        activeQuest.removeCompletedObjectives(true);
+                        questPlayer.removeCompletedObjectivesAndQuests();
                     }
-                    questPlayer.removeCompletedQuests();
                 }
             }
         }
@@ -806,33 +759,22 @@ public class QuestEvents implements Listener {
         final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
         if (questPlayer != null) {
             if (questPlayer.getActiveQuests().size() > 0) {
-                for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                    for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                        if (activeObjective.getObjective() instanceof ConsumeItemsObjective consumeItemsObjective) {
-                            if (activeObjective.isUnlocked()) {
-
-                                //Check if the Material of the consumed item is equal to the Material needed in the ConsumeItemsObjective
-                                if (!consumeItemsObjective.isConsumeAnyItem() && !(consumeItemsObjective.getItemToConsume().getType() == e.getItem().getType())) {
-                                    continue;
-                                }
-
-                                //If the objective-item which needs to be crafted has an ItemMeta...
-                                if (!consumeItemsObjective.isConsumeAnyItem() && consumeItemsObjective.getItemToConsume().getItemMeta() != null) {
-                                    //then check if the ItemMeta of the consumed item is equal to the ItemMeta needed in the ConsumeItemsObjective
-                                    if (!consumeItemsObjective.getItemToConsume().getItemMeta().equals(e.getItem().getItemMeta())) {
-                                        continue;
-                                    }
-                                }
-
-                                activeObjective.addProgress(1);
-
+                final List<ActiveObjective> consumeItemsObjectives = questPlayer.getUnlockedActiveObjectives(ConsumeItemsObjective.class);
+                if (!consumeItemsObjectives.isEmpty()) {
+                    for (final ActiveObjective activeObjective : consumeItemsObjectives) {
+                        if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof ConsumeItemsObjective consumeItemsObjective) {
+
+                            //Check if the Material and ItemMeta of the consumed item are equal to the ones needed in the ConsumeItemsObjective
+                            if (!consumeItemsObjective.isMatchingItem(e.getItem())) {
+                                continue;
                             }
 
+                            activeObjective.addProgress(1);
+
                         }
                     }
-                    activeQuest.removeCompletedObjectives(true);
+                    questPlayer.removeCompletedObjectivesAndQuests();
                 }
-                questPlayer.removeCompletedQuests();
             }
         }
 
@@ -918,30 +860,35 @@ public class QuestEvents implements Listener {
             final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(e.getPlayer().getUniqueId());
             if (questPlayer != null) {
                 if (questPlayer.getActiveQuests().size() > 0) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                            if (activeObjective.isUnlocked()) {
-                                if (activeObjective.getObjective() instanceof final ReachLocationObjective reachLocationObjective) {
-
-                                    final Location minLocation = reachLocationObjective.getMinLocation();
-                                    if (minLocation.getWorld() != null && currentLocation.getWorld() != null && !currentLocation.getWorld().equals(minLocation.getWorld())) {
-                                        continue;
-                                    }
-                                    final Location maxLocation = reachLocationObjective.getMaxLocation();
-                                    if (currentLocation.getX() >= minLocation.getX() && currentLocation.getX() <= maxLocation.getX()) {
-                                        if (currentLocation.getZ() >= minLocation.getZ() && currentLocation.getZ() <= maxLocation.getZ()) {
-                                            if (currentLocation.getY() >= minLocation.getY() && currentLocation.getY() <= maxLocation.getY()) {
-                                                activeObjective.addProgress(1);
-                                            }
-                                        }
-                                    }
+                    final ReachLocationIndex reachLocationIndex = questPlayer.getReachLocationIndex();
+                    final HashSet<ActiveObjective> reachLocationsInside = questPlayer.getReachLocationsInside();
+
+                    //Forget the regions the player has left, so they count again once the player re-enters them
+                    if (!reachLocationsInside.isEmpty()) {
+                        reachLocationsInside.removeIf(activeObjective -> !activeObjective.isUnlocked()
+                                || !(activeObjective.getObjective() instanceof final ReachLocationObjective reachLocationObjective)
+                                || !reachLocationObjective.isInRegion(currentLocation));
+                    }
+                    if (reachLocationIndex.isEmpty()) {
+                        return;
+                    }
+
+                    final List<ActiveObjective> reachLocationObjectives = reachLocationIndex.getCandidates(currentLocation);
+                    if (!reachLocationObjectives.isEmpty()) {
+                        boolean progressAdded = false;
+                        for (final ActiveObjective activeObjective : reachLocationObjectives) {
+                            if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof final ReachLocationObjective reachLocationObjective) {
+                                //Only add progress once the player enters the region
+                                if (reachLocationObjective.isInRegion(currentLocation) && reachLocationsInside.add(activeObjective)) {
+                                    activeObjective.addProgress(1);
+                                    progressAdded = true;
                                 }
                             }
-
                         }
-                        activeQuest.removeCompletedObjectives(true);
+                        if (progressAdded) {
+                            questPlayer.removeCompletedObjectivesAndQuests();
+                        }
                     }
-                    questPlayer.removeCompletedQuests();
                 }
             }
         }
@@ -982,9 +929,9 @@ public class QuestEvents implements Listener {
         if (conversationPlayer != null) {
             conversationPlayer.chooseOption(option);
         } else {
-            questPlayer.sendDebugMessage("Tried to choose conversation option, but the conversationPlayer was not found! Active conversationPlayers count: <highlight>" + main.getConversationManager().getOpenConversations().size());
-            questPlayer.sendDebugMessage("All active conversationPlayers: <highlight>" + main.getConversationManager().getOpenConversations().toString());
-            questPlayer.sendDebugMessage("Current QuestPlayer: <highlight>" + questPlayer);
+            questPlayer.sendDebugMessage(() -> "Tried to choose conversation option, but the conversationPlayer was not found! Active conversationPlayers count: <highlight>" + main.getConversationManager().getOpenConversations().size());
+            questPlayer.sendDebugMessage(() -> "All active conversationPlayers: <highlight>" + main.getConversationManager().getOpenConversations().toString());
+            questPlayer.sendDebugMessage(() -> "Current QuestPlayer: <highlight>" + questPlayer);
         }
     }
 
@@ -1004,18 +951,15 @@ public class QuestEvents implements Listener {
             return;
         }
 
-        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-            for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                if (activeObjective.isUnlocked()) {
-                    if (activeObjective.getObjective() instanceof SneakObjective) {
-                        activeObjective.addProgress(1);
-                    }
+        final List<ActiveObjective> sneakObjectives = questPlayer.getUnlockedActiveObjectives(SneakObjective.class);
+        if (!sneakObjectives.isEmpty()) {
+            for (final ActiveObjective activeObjective : sneakObjectives) {
+                if (activeObjective.isUnlocked() && activeObjective.getObjective() instanceof SneakObjective) {
+                    activeObjective.addProgress(1);
                 }
-
             }
-            activeQuest.removeCompletedObjectives(true);
+            questPlayer.removeCompletedObjectivesAndQuests();
         }
-        questPlayer.removeCompletedQuests();
     }
 
 }
@@ -48,7 +48,7 @@ public class MythicMobsEvents implements Listener {
                             if (activeObjective.getObjective() instanceof KillMobsObjective killMobsObjective) {
                                 if (activeObjective.isUnlocked()) {
                                     final MythicMob killedMob = event.getMobType();
-                                    if (killMobsObjective.getMobToKill().equalsIgnoreCase("any") || killMobsObjective.getMobToKill().equals(killedMob.getInternalName())) {
+                                    if (killMobsObjective.isMatchingMythicMob(killedMob.getInternalName())) {
                                         if (event.getEntity() != event.getKiller()) { //Suicide prevention
                                             activeObjective.addProgress(1);
                                         }
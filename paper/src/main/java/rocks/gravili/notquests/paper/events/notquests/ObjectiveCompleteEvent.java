@@ -18,6 +18,7 @@
 
 package rocks.gravili.notquests.paper.events.notquests;
 
+import org.bukkit.Bukkit;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
@@ -35,7 +36,7 @@ public class ObjectiveCompleteEvent extends Event implements Cancellable {
     private boolean isCancelled;
 
     public ObjectiveCompleteEvent(final QuestPlayer questPlayer, final ActiveObjective activeObjective, final ActiveQuest activeQuest) {
-        super(true);
+        super(!Bukkit.isPrimaryThread());
 
         this.questPlayer = questPlayer;
         this.activeObjective = activeObjective;
@@ -18,6 +18,7 @@
 
 package rocks.gravili.notquests.paper.events.notquests;
 
+import org.bukkit.Bukkit;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
@@ -37,7 +38,7 @@ public class ObjectiveUnlockEvent extends Event implements Cancellable {
     private boolean isCancelled;
 
     public ObjectiveUnlockEvent(final QuestPlayer questPlayer, final ActiveObjective activeObjective, final ActiveQuest activeQuest, final boolean triggerAcceptQuestTrigger) {
-        super(true);
+        super(!Bukkit.isPrimaryThread());
 
         this.questPlayer = questPlayer;
         this.activeObjective = activeObjective;
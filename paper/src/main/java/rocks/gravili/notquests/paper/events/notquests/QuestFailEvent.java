@@ -18,6 +18,7 @@
 
 package rocks.gravili.notquests.paper.events.notquests;
 
+import org.bukkit.Bukkit;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
@@ -33,7 +34,7 @@ public class QuestFailEvent extends Event implements Cancellable {
     private boolean isCancelled;
 
     public QuestFailEvent(final QuestPlayer questPlayer, final ActiveQuest activeQuest) {
-        super(true);
+        super(!Bukkit.isPrimaryThread());
 
         this.questPlayer = questPlayer;
         this.activeQuest = activeQuest;
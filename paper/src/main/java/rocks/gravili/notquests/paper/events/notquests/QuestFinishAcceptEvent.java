@@ -18,6 +18,7 @@
 
 package rocks.gravili.notquests.paper.events.notquests;
 
+import org.bukkit.Bukkit;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
@@ -34,7 +35,7 @@ public class QuestFinishAcceptEvent extends Event implements Cancellable {
     private boolean isCancelled;
 
     public QuestFinishAcceptEvent(final QuestPlayer questPlayer, final ActiveQuest activeQuest, final boolean triggerAcceptQuestTrigger) {
-        super(true);
+        super(!Bukkit.isPrimaryThread());
 
         this.questPlayer = questPlayer;
         this.activeQuest = activeQuest;
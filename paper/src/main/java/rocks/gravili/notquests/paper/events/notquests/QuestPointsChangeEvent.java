@@ -18,6 +18,7 @@
 
 package rocks.gravili.notquests.paper.events.notquests;
 
+import org.bukkit.Bukkit;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
@@ -32,7 +33,7 @@ public class QuestPointsChangeEvent extends Event implements Cancellable {
     private boolean isCancelled;
 
     public QuestPointsChangeEvent(final QuestPlayer questPlayer, final long newQuestPointsAmount) {
-        super(true);
+        super(!Bukkit.isPrimaryThread());
 
         this.questPlayer = questPlayer;
         this.newQuestPointsAmount = newQuestPointsAmount;
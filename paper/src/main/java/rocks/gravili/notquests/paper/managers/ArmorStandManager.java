@@ -19,7 +19,6 @@
 package rocks.gravili.notquests.paper.managers;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 import org.bukkit.entity.ArmorStand;
@@ -29,6 +28,8 @@ import org.bukkit.persistence.PersistentDataType;
 import rocks.gravili.notquests.paper.NotQuests;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 
 public class ArmorStandManager {
@@ -38,17 +39,30 @@ public class ArmorStandManager {
     final NamespacedKey attachedConversationKey;
 
     private final ArrayList<ArmorStand> armorStandsWithQuestsOrConversationAttachedToThem;
+    /**
+     * Armor Stand => its index in armorStandsWithQuestsOrConversationAttachedToThem, so adding and removing them
+     * doesn't have to search the whole list
+     */
+    private final HashMap<ArmorStand, Integer> armorStandIndexes;
+
+    /**
+     * Armor Stand UUID => decoded names of the quests attached to it. The PDB strings are only decoded once, when the
+     * armor stand is loaded or first looked up, and not on every click or closeness check. Entries are removed when
+     * the armor stand is unloaded or dies, and invalidated whenever the attached quests are edited.
+     */
+    private final HashMap<UUID, AttachedQuestNames> attachedQuestNamesCache;
+
+    private record AttachedQuestNames(List<String> showing, List<String> nonShowing) {
+    }
 
     public ArmorStandManager(NotQuests main) {
         this.main = main;
         armorStandsWithQuestsOrConversationAttachedToThem = new ArrayList<>();
+        armorStandIndexes = new HashMap<>();
+        attachedQuestNamesCache = new HashMap<>();
         attachedQuestsShowingKey = new NamespacedKey(main.getMain(), "notquests-attachedQuests-showing");
         attachedQuestsNonShowingKey = new NamespacedKey(main.getMain(), "notquests-attachedQuests-nonshowing");
         attachedConversationKey = new NamespacedKey(main.getMain(), "notquests-attachedConversation");
-
-        if (main.getConfiguration().isArmorStandQuestGiverIndicatorParticleEnabled()) {
-            startQuestGiverIndicatorParticleRunnable();
-        }
     }
 
     public final NamespacedKey getAttachedConversationKey() {
@@ -63,12 +77,90 @@ public class ArmorStandManager {
         return attachedQuestsNonShowingKey;
     }
 
+    /**
+     * @return the loaded armor stands with quests or a conversation attached to them. Don't modify this list - use
+     * addArmorStandWithQuestsOrConversationAttachedToThem() and removeArmorStandWithQuestsOrConversationAttachedToThem() instead.
+     */
+    public final List<ArmorStand> getArmorStandsWithQuestsOrConversationAttachedToThem() {
+        return armorStandsWithQuestsOrConversationAttachedToThem;
+    }
+
     public void addArmorStandWithQuestsOrConversationAttachedToThem(final ArmorStand armorStand) {
-        this.armorStandsWithQuestsOrConversationAttachedToThem.add(armorStand);
+        if (armorStandIndexes.putIfAbsent(armorStand, armorStandsWithQuestsOrConversationAttachedToThem.size()) == null) {
+            armorStandsWithQuestsOrConversationAttachedToThem.add(armorStand);
+        }
     }
 
     public void removeArmorStandWithQuestsOrConversationAttachedToThem(final ArmorStand armorStand) {
-        this.armorStandsWithQuestsOrConversationAttachedToThem.remove(armorStand);
+        final Integer index = armorStandIndexes.remove(armorStand);
+        if (index == null) {
+            return;
+        }
+        //Move the last armor stand into the gap, so nothing has to be shifted
+        final ArmorStand last = armorStandsWithQuestsOrConversationAttachedToThem.remove(armorStandsWithQuestsOrConversationAttachedToThem.size() - 1);
+        if (index < armorStandsWithQuestsOrConversationAttachedToThem.size()) {
+            armorStandsWithQuestsOrConversationAttachedToThem.set(index, last);
+            armorStandIndexes.put(last, index);
+        }
+    }
+
+    /**
+     * @param armorStand the armor stand
+     * @return the names of the quests attached to the armor stand, which are shown when it's clicked. Don't modify this list.
+     */
+    public final List<String> getAttachedQuestNamesWithShowing(final ArmorStand armorStand) {
+        return getAttachedQuestNames(armorStand).showing();
+    }
+
+    /**
+     * @param armorStand the armor stand
+     * @return the names of the quests attached to the armor stand, which are not shown when it's clicked. Don't modify this list.
+     */
+    public final List<String> getAttachedQuestNamesWithoutShowing(final ArmorStand armorStand) {
+        return getAttachedQuestNames(armorStand).nonShowing();
+    }
+
+    private AttachedQuestNames getAttachedQuestNames(final ArmorStand armorStand) {
+        return attachedQuestNamesCache.computeIfAbsent(armorStand.getUniqueId(), uuid -> decodeAttachedQuestNames(armorStand));
+    }
+
+    private AttachedQuestNames decodeAttachedQuestNames(final ArmorStand armorStand) {
+        final PersistentDataContainer armorStandPDB = armorStand.getPersistentDataContainer();
+        return new AttachedQuestNames(
+                decodeAttachedQuestNames(armorStandPDB.get(attachedQuestsShowingKey, PersistentDataType.STRING)),
+                decodeAttachedQuestNames(armorStandPDB.get(attachedQuestsNonShowingKey, PersistentDataType.STRING))
+        );
+    }
+
+    private List<String> decodeAttachedQuestNames(final String attachedQuests) {
+        if (attachedQuests == null || attachedQuests.isEmpty()) {
+            return List.of();
+        }
+        final ArrayList<String> questNames = new ArrayList<>();
+        for (final String questName : attachedQuests.split("°")) {
+            if (!questName.isBlank()) {
+                questNames.add(questName);
+            }
+        }
+        return List.copyOf(questNames);
+    }
+
+    /**
+     * Decodes the quests attached to the armor stand again. Call this after the attached quests in its PDB have been changed.
+     *
+     * @param armorStand the armor stand
+     */
+    public void updateAttachedQuestsCache(final ArmorStand armorStand) {
+        attachedQuestNamesCache.put(armorStand.getUniqueId(), decodeAttachedQuestNames(armorStand));
+    }
+
+    /**
+     * Removes the armor stand from the attached quests cache, for example when it's unloaded or dies.
+     *
+     * @param armorStand the armor stand
+     */
+    public void removeFromAttachedQuestsCache(final ArmorStand armorStand) {
+        attachedQuestNamesCache.remove(armorStand.getUniqueId());
     }
 
     public void loadAllArmorStandsFromLoadedChunks() {
@@ -81,18 +173,21 @@ public class ArmorStandManager {
                     boolean hasNonShowingQuestsPDBKey = false;
                     boolean hasConversationPDBKey = false;
 
-                    if (armorStandPDB.has(main.getArmorStandManager().getAttachedQuestsShowingKey(), PersistentDataType.STRING)) {
+                    if (armorStandPDB.has(attachedQuestsShowingKey, PersistentDataType.STRING)) {
                         hasShowingQuestsPDBKey = true;
                     }
-                    if (armorStandPDB.has(main.getArmorStandManager().getAttachedQuestsNonShowingKey(), PersistentDataType.STRING)) {
+                    if (armorStandPDB.has(attachedQuestsNonShowingKey, PersistentDataType.STRING)) {
                         hasNonShowingQuestsPDBKey = true;
                     }
-                    if (armorStandPDB.has(main.getArmorStandManager().getAttachedConversationKey(), PersistentDataType.STRING)) {
+                    if (armorStandPDB.has(attachedConversationKey, PersistentDataType.STRING)) {
                         hasConversationPDBKey = true;
                     }
 
+                    if (hasShowingQuestsPDBKey || hasNonShowingQuestsPDBKey) {
+                        updateAttachedQuestsCache(armorStand);
+                    }
                     if (hasShowingQuestsPDBKey || hasNonShowingQuestsPDBKey || hasConversationPDBKey) {
-                        main.getArmorStandManager().addArmorStandWithQuestsOrConversationAttachedToThem(armorStand);
+                        addArmorStandWithQuestsOrConversationAttachedToThem(armorStand);
                     }
                 }
             }
@@ -100,25 +195,6 @@ public class ArmorStandManager {
     }
 
 
-    public void startQuestGiverIndicatorParticleRunnable() {
-        Bukkit.getServer().getScheduler().runTaskTimerAsynchronously(main.getMain(), () -> {
-
-            //Disable if Server TPS is too low
-            double minimumTPS = main.getConfiguration().getArmorStandQuestGiverIndicatorParticleDisableIfTPSBelow();
-            if (minimumTPS >= 0) {
-                if (main.getPerformanceManager().getTPS() < minimumTPS) {
-                    return;
-                }
-            }
-
-            for (final ArmorStand armorStand : armorStandsWithQuestsOrConversationAttachedToThem) {
-                final Location location = armorStand.getLocation();
-                armorStand.getWorld().spawnParticle(main.getConfiguration().getArmorStandQuestGiverIndicatorParticleType(), location.getX() - 0.25 + (Math.random() / 2), location.getY() + 1.75 + (Math.random() / 2), location.getZ() - 0.25 + (Math.random() / 2), main.getConfiguration().getArmorStandQuestGiverIndicatorParticleCount());
-
-            }
-        }, main.getConfiguration().getArmorStandQuestGiverIndicatorParticleSpawnInterval(), main.getConfiguration().getArmorStandQuestGiverIndicatorParticleSpawnInterval());
-    }
-
     public final String getArmorStandName(final UUID armorStandUUID) {
         if (Bukkit.getEntity(armorStandUUID) instanceof ArmorStand armorStand) {
             return armorStand.getName();
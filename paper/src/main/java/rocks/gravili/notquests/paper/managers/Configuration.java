@@ -39,6 +39,9 @@ public class Configuration {
 
     public boolean loadPlayerData = true;
     public boolean savePlayerData = true;
+    public int savePlayerDataIntervalSeconds = 300;
+    public boolean loadPlayerDataOnJoin = false;
+    public int playerDataUnloadDelaySeconds = 300;
 
     /**
      * MYSQL Database Connection Information
@@ -81,12 +84,14 @@ public class Configuration {
     private Particle citizensNPCQuestGiverIndicatorParticleType = Particle.VILLAGER_ANGRY;
     private boolean citizensNPCQuestGiverIndicatorParticleEnabled = true;
     private double citizensNPCQuestGiverIndicatorParticleDisableIfTPSBelow = -1;
+    private double citizensNPCQuestGiverIndicatorParticleViewDistance = 32;
 
     private int armorStandQuestGiverIndicatorParticleSpawnInterval = 10;
     private int armorStandQuestGiverIndicatorParticleCount = 1;
     private Particle armorStandQuestGiverIndicatorParticleType = Particle.VILLAGER_ANGRY;
     private boolean armorStandQuestGiverIndicatorParticleEnabled = true;
     private double armorStandQuestGiverIndicatorParticleDisableIfTPSBelow = -1;
+    private double armorStandQuestGiverIndicatorParticleViewDistance = 32;
 
 
     private String languageCode = "en";
@@ -105,6 +110,7 @@ public class Configuration {
     private boolean integrationTownyEnabled = true;
     private boolean integrationJobsRebornEnabled = true;
     private boolean integrationProjectKorraEnabled = true;
+    public int integrationQueryCacheMillis = 3000;
 
 
     //Other
@@ -273,6 +279,14 @@ public class Configuration {
         this.citizensNPCQuestGiverIndicatorParticleDisableIfTPSBelow = disableIfTPSBelow;
     }
 
+    public final double getCitizensNPCQuestGiverIndicatorParticleViewDistance() {
+        return citizensNPCQuestGiverIndicatorParticleViewDistance;
+    }
+
+    public final void setCitizensNPCQuestGiverIndicatorParticleViewDistance(double viewDistance) {
+        this.citizensNPCQuestGiverIndicatorParticleViewDistance = viewDistance;
+    }
+
 
     //Particles ArmorStands
     public final int getArmorStandQuestGiverIndicatorParticleSpawnInterval() {
@@ -315,6 +329,14 @@ public class Configuration {
         this.armorStandQuestGiverIndicatorParticleDisableIfTPSBelow = disableIfTPSBelow;
     }
 
+    public final double getArmorStandQuestGiverIndicatorParticleViewDistance() {
+        return armorStandQuestGiverIndicatorParticleViewDistance;
+    }
+
+    public final void setArmorStandQuestGiverIndicatorParticleViewDistance(double viewDistance) {
+        this.armorStandQuestGiverIndicatorParticleViewDistance = viewDistance;
+    }
+
 
     public final String getLanguageCode() {
         return languageCode;
@@ -18,6 +18,8 @@
 
 package rocks.gravili.notquests.paper.managers;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import net.citizensnpcs.api.CitizensAPI;
 import net.citizensnpcs.api.npc.NPC;
 import net.kyori.adventure.text.Component;
@@ -39,13 +41,12 @@ import rocks.gravili.notquests.paper.structs.objectives.Objective;
 
 import java.io.*;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.logging.Level;
 
 
 /**
@@ -94,13 +95,9 @@ public class DataManager {
     public final List<String> standardEliteMobNamesCompletions = new ArrayList<>();
 
     /**
-     * MYSQL Database Connection Object
+     * Database Connection Pool (MySQL or SQLite)
      */
-    private Connection connection;
-    /**
-     * MYSQL Database Connection Object
-     */
-    private Statement statement;
+    private volatile HikariDataSource dataSource;
 
     /**
      * Quests.yml Configuration File
@@ -350,6 +347,27 @@ public class DataManager {
         }
         configuration.savePlayerData = generalConfig.getBoolean(key);
 
+        key = "storage.save-playerdata-interval-seconds";
+        if (!getGeneralConfig().isInt(key)) {
+            getGeneralConfig().set(key, 300);
+            valueChanged = true;
+        }
+        configuration.savePlayerDataIntervalSeconds = generalConfig.getInt(key);
+
+        key = "storage.load-playerdata-on-join.enabled";
+        if (!getGeneralConfig().isBoolean(key)) {
+            getGeneralConfig().set(key, false);
+            valueChanged = true;
+        }
+        configuration.loadPlayerDataOnJoin = generalConfig.getBoolean(key);
+
+        key = "storage.load-playerdata-on-join.unload-delay-seconds";
+        if (!getGeneralConfig().isInt(key)) {
+            getGeneralConfig().set(key, 300);
+            valueChanged = true;
+        }
+        configuration.playerDataUnloadDelaySeconds = generalConfig.getInt(key);
+
         key = "storage.backups.create-before-saving-quests";
         if (!getGeneralConfig().isBoolean(key)) {
             getGeneralConfig().set(key, true);
@@ -375,6 +393,28 @@ public class DataManager {
         }
         configuration.debug = getGeneralConfig().getBoolean(key);
 
+        key = "logging.async";
+        if (!getGeneralConfig().isBoolean(key)) {
+            getGeneralConfig().set(key, true);
+            valueChanged = true;
+        }
+        main.getLogManager().setAsync(getGeneralConfig().getBoolean(key));
+
+        for (final LogCategory logCategory : LogCategory.values()) {
+            key = "logging.levels." + logCategory.name().toLowerCase(Locale.ROOT);
+            if (!getGeneralConfig().isString(key)) {
+                getGeneralConfig().set(key, "INFO");
+                valueChanged = true;
+            }
+            final String levelName = getGeneralConfig().getString(key, "INFO");
+            try {
+                main.getLogManager().setLevel(logCategory, Level.parse(levelName.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                main.getLogManager().warn("The log level <highlight>" + levelName + "</highlight> of <highlight>" + key + "</highlight> is invalid. Using INFO instead.");
+                main.getLogManager().setLevel(logCategory, Level.INFO);
+            }
+        }
+
 
         //Other values from general.yml
         key = "general.max-active-quests-per-player";
@@ -430,6 +470,13 @@ public class DataManager {
         }
         configuration.setCitizensNPCQuestGiverIndicatorParticleDisableIfTPSBelow(getGeneralConfig().getDouble(key));
 
+        key = "visual.citizensnpc.quest-giver-indicator-particle.view-distance";
+        if (!getGeneralConfig().isDouble(key) && !getGeneralConfig().isInt(key)) {
+            getGeneralConfig().set(key, 32d);
+            valueChanged = true;
+        }
+        configuration.setCitizensNPCQuestGiverIndicatorParticleViewDistance(getGeneralConfig().getDouble(key));
+
         key = "visual.hide-rewards-without-name";
         if (!getGeneralConfig().isBoolean(key)) {
             getGeneralConfig().set(key, true);
@@ -497,6 +544,13 @@ public class DataManager {
         }
         configuration.setArmorStandQuestGiverIndicatorParticleDisableIfTPSBelow(getGeneralConfig().getDouble(key));
 
+        key = "visual.armorstands.quest-giver-indicator-particle.view-distance";
+        if (!getGeneralConfig().isDouble(key) && !getGeneralConfig().isInt(key)) {
+            getGeneralConfig().set(key, 32d);
+            valueChanged = true;
+        }
+        configuration.setArmorStandQuestGiverIndicatorParticleViewDistance(getGeneralConfig().getDouble(key));
+
 
         //Visual Colors
         key = "visual.colors.main";
@@ -843,6 +897,13 @@ public class DataManager {
         }
         configuration.setIntegrationProjectKorraEnabled(getGeneralConfig().getBoolean(key));
 
+        key = "integrations.query-cache-milliseconds";
+        if (!getGeneralConfig().isInt(key)) {
+            getGeneralConfig().set(key, 3000);
+            valueChanged = true;
+        }
+        configuration.integrationQueryCacheMillis = getGeneralConfig().getInt(key);
+
         key = "visual.fancy-command-completion.actionbar-enabled";
         if (!getGeneralConfig().isBoolean(key)) {
             getGeneralConfig().set(key, true);
@@ -963,6 +1024,10 @@ public class DataManager {
             saveGeneralConfig();
         }
 
+        //Cached placeholder answers might have been built with the previous placeholder options
+        if (main.getIntegrationsManager() != null && main.getIntegrationsManager().getQuestPlaceholders() != null) {
+            main.getIntegrationsManager().getQuestPlaceholders().clearCachedAnswers();
+        }
 
         //If there was an error loading data from general.yml, the plugin will be disabled
         if (errored) {
@@ -1059,50 +1124,6 @@ public class DataManager {
     }
 
 
-    /**
-     * If the plugin has been running for some time, the MySQL Database connection is
-     * sometimes interrupted which causes errors when it tries to save data once the plugin
-     * is disabled.
-     * <p>
-     * This is especially bad, because if the plugin has been running for a while, that data will be lost.
-     * <p>
-     * This method will try to re-open the database connection statement, so data can be saved to the database
-     * safely again.
-     *
-     * @param newTask sets if the plugin should force an asynchronous thread to re-open the database connection. If
-     *                set to false, it will do it in whatever thread this method is run in.
-     */
-    public void refreshDatabaseConnection(final boolean newTask) {
-        if (newTask) {
-            if (Bukkit.isPrimaryThread()) {
-                Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
-                    openConnection();
-                    try {
-                        statement = connection.createStatement();
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                    }
-                });
-            } else {
-                openConnection();
-                try {
-                    statement = connection.createStatement();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-        } else {
-            openConnection();
-            try {
-                statement = connection.createStatement();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-        }
-
-    }
-
-
     /**
      * This will LOAD the following data:
      * (1) general.yml General Configuration - in whatever Thread
@@ -1137,38 +1158,15 @@ public class DataManager {
     }
 
     private void reloadData2() {
-        openConnection();
-        if (connection == null) {
+        openDataSource();
+        if (dataSource == null) {
             disablePluginAndSaving("There was a database error, so loading has been disabled. (1)");
             return;
         }
-        try {
-            statement = connection.createStatement();
-        } catch (SQLException e) {
-            disablePluginAndSaving("There was a database error, so loading has been disabled. (2)", e);
-            return;
-        }
-
-
-        //Create Database tables if they don't exist yet
-        try {
-            main.getLogManager().info(LogCategory.DATA, "Creating database table 'QuestPlayerData' if it doesn't exist yet...");
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `QuestPlayerData` (`PlayerUUID` varchar(200), `QuestPoints` BIGINT(255), PRIMARY KEY (PlayerUUID))");
-
-            main.getLogManager().info(LogCategory.DATA, "Creating database table 'ActiveQuests' if it doesn't exist yet...");
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `ActiveQuests` (`QuestName` varchar(200), `PlayerUUID` varchar(200))");
-
-            main.getLogManager().info(LogCategory.DATA, "Creating database table 'CompletedQuests' if it doesn't exist yet...");
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `CompletedQuests` (`QuestName` varchar(200), `PlayerUUID` varchar(200), `TimeCompleted` BIGINT(255))");
-
-            main.getLogManager().info(LogCategory.DATA, "Creating database table 'ActiveObjectives' if it doesn't exist yet...");
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `ActiveObjectives` (`ObjectiveType` varchar(200), `QuestName` varchar(200), `PlayerUUID` varchar(200), `CurrentProgress` BIGINT(255), `ObjectiveID` INT(255), `HasBeenCompleted` BOOLEAN)");
-
-            main.getLogManager().info(LogCategory.DATA, "Creating database table 'ActiveTriggers' if it doesn't exist yet...");
-
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `ActiveTriggers` (`TriggerType` varchar(200), `QuestName` varchar(200), `PlayerUUID` varchar(200), `CurrentProgress` BIGINT(255), `TriggerID` INT(255))");
-
 
+        //Create Database tables if they don't exist yet, or migrate them to the current schema version
+        try (final Connection connection = getConnection()) {
+            new DatabaseSchema(main).createOrMigrate(connection);
         } catch (SQLException e) {
             disablePluginAndSaving("Plugin disabled, because there was an error while trying to load MySQL database tables", e);
             return;
@@ -1195,6 +1193,10 @@ public class DataManager {
 
             main.getQuestPlayerManager().loadPlayerData();
 
+            if (main.getMain().isEnabled()) {
+                Bukkit.getScheduler().runTask(main.getMain(), () -> main.getQuestPlayerManager().startAutoSave());
+            }
+
             //Citizens stuff if Citizens is enabled
             if (main.getIntegrationsManager().isCitizensEnabled()) {
                 //IF an NPC exist, try to load NPC data.
@@ -1245,17 +1247,19 @@ public class DataManager {
 
 
     /**
-     * This will open a MySQL connection statement which is needed to save and load
-     * to the MySQL Database.
+     * This will open the database connection pool which is needed to save and load
+     * to the MySQL or SQLite Database.
      * <p>
-     * This is where it tries to log-in to the Database.
+     * This is where it tries to log-in to the Database. Dropped connections are replaced by the pool automatically.
      *
      */
-    public void openConnection() {
+    public synchronized void openDataSource() {
+        if (dataSource != null && !dataSource.isClosed()) {
+            return;
+        }
         try {
-            if (connection != null && !connection.isClosed()) {
-                return;
-            }
+            final HikariConfig hikariConfig = new HikariConfig();
+            hikariConfig.setPoolName("NotQuests");
             if(!getConfiguration().isMySQLEnabled()){
                 File dataFolder = new File(main.getMain().getDataFolder(), "database_sqlite.db");
                 if (!dataFolder.exists()){
@@ -1267,40 +1271,58 @@ public class DataManager {
                         main.getLogManager().severe("File write error: database_sqlite.db (2)");
                     }
                 }
-                try {
-                    if(connection!=null && !connection.isClosed()){
-                        return;
-                    }
-                    Class.forName("org.sqlite.JDBC");
-                    connection = DriverManager.getConnection("jdbc:sqlite:" + dataFolder);
-                } catch (SQLException ex) {
-                    main.getLogManager().severe("SQLite exception on initialize");
-                    ex.printStackTrace();
-                } catch (ClassNotFoundException ex) {
-                    main.getLogManager().severe("You need the SQLite JBDC library. Google it. Put it in /lib folder.");
-                }
+                hikariConfig.setDriverClassName("org.sqlite.JDBC");
+                hikariConfig.setJdbcUrl("jdbc:sqlite:" + dataFolder);
+                //WAL allows reading player data while the save thread is writing
+                hikariConfig.addDataSourceProperty("journal_mode", "WAL");
+                hikariConfig.addDataSourceProperty("synchronous", "NORMAL");
+                hikariConfig.addDataSourceProperty("busy_timeout", "10000");
+                //SQLite only allows one writer anyway, so a few connections for parallel loading are enough
+                hikariConfig.setMaximumPoolSize(4);
             }else{
-                // Class.forName("com.mysql.jdbc.Driver"); - Use this with old version of the Driver
-                Class.forName("com.mysql.cj.jdbc.Driver");
-                connection = DriverManager.getConnection("jdbc:mysql://"
-                                + configuration.getDatabaseHost() + ":" + configuration.getDatabasePort() + "/" + configuration.getDatabaseName() + "?autoReconnect=true",
-                        configuration.getDatabaseUsername(), configuration.getDatabasePassword());
+                hikariConfig.setDriverClassName("com.mysql.cj.jdbc.Driver");
+                hikariConfig.setJdbcUrl("jdbc:mysql://"
+                        + configuration.getDatabaseHost() + ":" + configuration.getDatabasePort() + "/" + configuration.getDatabaseName() + "?rewriteBatchedStatements=true");
+                hikariConfig.setUsername(configuration.getDatabaseUsername());
+                hikariConfig.setPassword(configuration.getDatabasePassword());
+                hikariConfig.setMaximumPoolSize(10);
+                hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
+                hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
+                hikariConfig.addDataSourceProperty("useServerPrepStmts", "true");
+                //Needed so a fetch size makes the driver stream big result sets instead of reading them into memory at once
+                hikariConfig.addDataSourceProperty("useCursorFetch", "true");
             }
-
-        } catch (SQLException | ClassNotFoundException e) {
+            dataSource = new HikariDataSource(hikariConfig);
+        } catch (RuntimeException e) {
+            dataSource = null;
             disablePluginAndSaving("Could not connect to MySQL Database. Please check the information you entered in the general.yml. If you're not using MySQL, make sure it's disable in the general.yml. It would then use SQLite instead.", e);
         }
     }
 
+    /**
+     * Closes the database connection pool. This is called once the plugin is disabled, after all data has been saved.
+     */
+    public synchronized void closeDataSource() {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
 
     /**
-     * This returns the MySQL Database Statement, with which Database operations can be
-     * performed / executed.
+     * This returns a Database Connection from the connection pool. It has to be closed after use (preferably with
+     * try-with-resources), which returns it to the pool.
      *
-     * @return the MySQL Database Statement
+     * @return a Database Connection
      */
-    public final Statement getDatabaseStatement() {
-        return statement;
+    public final Connection getConnection() throws SQLException {
+        openDataSource();
+        final HikariDataSource dataSource = this.dataSource;
+        if (dataSource == null) {
+            throw new SQLException("The database connection pool could not be opened.");
+        }
+        return dataSource.getConnection();
     }
 
     /**
@@ -0,0 +1,271 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.managers;
+
+import rocks.gravili.notquests.paper.NotQuests;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Creates the player data tables and migrates them from older versions. The version of the schema is stored in the
+ * NotQuestsSchema table.
+ * <p>
+ * Version 1: The original tables without any keys, storing UUIDs as varchar(200).
+ * Version 2: UUIDs are stored as 16 bytes, and all tables have primary keys / indexes on PlayerUUID and QuestName.
+ */
+public class DatabaseSchema {
+    public static final int CURRENT_VERSION = 2;
+
+    private static final String[] PLAYER_DATA_TABLES = {"QuestPlayerData", "ActiveQuests", "CompletedQuests", "ActiveObjectives", "ActiveTriggers"};
+    /**
+     * The version 1 tables are renamed to this during the migration and kept as a backup
+     */
+    private static final String VERSION_1_BACKUP_SUFFIX = "_v1";
+    private static final String MIGRATION_SUFFIX = "_new";
+
+    private final NotQuests main;
+    private final boolean mySQL;
+
+    public DatabaseSchema(final NotQuests main) {
+        this.main = main;
+        this.mySQL = main.getConfiguration().isMySQLEnabled();
+    }
+
+    public static byte[] uuidToBytes(final UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    public static UUID bytesToUUID(final byte[] bytes) {
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+        return new UUID(byteBuffer.getLong(), byteBuffer.getLong());
+    }
+
+    /**
+     * Creates all tables if they don't exist yet, or migrates existing tables to the current version.
+     *
+     * @param connection the connection which should be used
+     */
+    public void createOrMigrate(final Connection connection) throws SQLException {
+        int version = getVersion(connection);
+        if (version == CURRENT_VERSION) {
+            return;
+        }
+        if (version > CURRENT_VERSION) {
+            throw new SQLException("The database has been created by a newer version of NotQuests (schema version " + version + "). Please update NotQuests.");
+        }
+
+        if (version == 0) {
+            main.getLogManager().info(LogCategory.DATA, "Creating database tables...");
+            try (final Statement statement = connection.createStatement()) {
+                createTables(statement, "");
+            }
+        } else if (version == 1) {
+            migrateFromVersion1(connection);
+        }
+        setVersion(connection, CURRENT_VERSION);
+    }
+
+    private int getVersion(final Connection connection) throws SQLException {
+        if (tableExists(connection, "NotQuestsSchema")) {
+            try (final Statement statement = connection.createStatement();
+                 final ResultSet result = statement.executeQuery("SELECT Version FROM NotQuestsSchema")) {
+                if (result.next()) {
+                    return result.getInt("Version");
+                }
+            }
+        }
+        //Tables from before the schema was versioned, or a migration from version 1 which has been interrupted
+        for (final String table : PLAYER_DATA_TABLES) {
+            if (tableExists(connection, table) || tableExists(connection, table + VERSION_1_BACKUP_SUFFIX) || tableExists(connection, table + MIGRATION_SUFFIX)) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    private void setVersion(final Connection connection, final int version) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `NotQuestsSchema` (`Version` INT NOT NULL)");
+        }
+        final boolean previousAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (final Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM NotQuestsSchema");
+            statement.executeUpdate("INSERT INTO NotQuestsSchema (Version) VALUES (" + version + ")");
+            connection.commit();
+        } catch (SQLException sqlException) {
+            connection.rollback();
+            throw sqlException;
+        } finally {
+            connection.setAutoCommit(previousAutoCommit);
+        }
+    }
+
+    /**
+     * Only looks at the database of the connection. With a null catalog, MySQL would also find tables of other databases
+     * on the same server, for example of another NotQuests installation.
+     */
+    private boolean tableExists(final Connection connection, final String tableName) throws SQLException {
+        final DatabaseMetaData metaData = connection.getMetaData();
+        //The table name is a LIKE pattern, in which _ would match any character
+        final String escape = metaData.getSearchStringEscape();
+        final String tableNamePattern = escape == null || escape.isEmpty() ? tableName : tableName.replace(escape, escape + escape).replace("_", escape + "_").replace("%", escape + "%");
+        try (final ResultSet tables = metaData.getTables(connection.getCatalog(), null, tableNamePattern, null)) {
+            return tables.next();
+        }
+    }
+
+    private void createTables(final Statement statement, final String suffix) throws SQLException {
+        final String uuidType = mySQL ? "BINARY(16)" : "BLOB";
+
+        statement.executeUpdate("CREATE TABLE `QuestPlayerData" + suffix + "` (`PlayerUUID` " + uuidType + " NOT NULL, `QuestPoints` BIGINT, PRIMARY KEY (PlayerUUID))");
+        statement.executeUpdate("CREATE TABLE `ActiveQuests" + suffix + "` (`PlayerUUID` " + uuidType + " NOT NULL, `QuestName` varchar(200) NOT NULL, PRIMARY KEY (PlayerUUID, QuestName))");
+        statement.executeUpdate("CREATE TABLE `CompletedQuests" + suffix + "` (`PlayerUUID` " + uuidType + " NOT NULL, `QuestName` varchar(200) NOT NULL, `TimeCompleted` BIGINT)");
+        statement.executeUpdate("CREATE INDEX `CompletedQuestsPlayer" + suffix + "` ON `CompletedQuests" + suffix + "` (PlayerUUID, QuestName)");
+        statement.executeUpdate("CREATE TABLE `ActiveObjectives" + suffix + "` (`PlayerUUID` " + uuidType + " NOT NULL, `QuestName` varchar(200) NOT NULL, `ObjectiveID` INT NOT NULL, `ObjectiveType` varchar(200), `CurrentProgress` BIGINT, `HasBeenCompleted` BOOLEAN, PRIMARY KEY (PlayerUUID, QuestName, ObjectiveID))");
+        statement.executeUpdate("CREATE TABLE `ActiveTriggers" + suffix + "` (`PlayerUUID` " + uuidType + " NOT NULL, `QuestName` varchar(200) NOT NULL, `TriggerID` INT NOT NULL, `TriggerType` varchar(200), `CurrentProgress` BIGINT, PRIMARY KEY (PlayerUUID, QuestName, TriggerID))");
+    }
+
+    /**
+     * Copies all data from the version 1 tables into new tables, converting the UUIDs. Rows which would be duplicates
+     * under the new primary keys are skipped. The version 1 tables are then renamed to X_v1 and kept as a backup.
+     * <p>
+     * This can be interrupted at any point (MySQL commits every table change immediately) and continues where it stopped
+     * on the next start:
+     * - As long as no table has been renamed to its backup, the version 1 tables are complete and the copy is re-done.
+     * - Tables are only renamed once all copies have been committed, so the remaining renames are simply done again.
+     * - The schema version is only set to 2 after all tables have been renamed.
+     */
+    private void migrateFromVersion1(final Connection connection) throws SQLException {
+        main.getLogManager().info(LogCategory.DATA, "Migrating the database tables to schema version <highlight>" + CURRENT_VERSION + "</highlight>. This might take a moment...");
+
+        boolean renamingStarted = false;
+        for (final String table : PLAYER_DATA_TABLES) {
+            if (tableExists(connection, table + VERSION_1_BACKUP_SUFFIX)) {
+                renamingStarted = true;
+                break;
+            }
+        }
+
+        try (final Statement statement = connection.createStatement()) {
+            if (!renamingStarted) {
+                copyVersion1Tables(connection, statement);
+            } else {
+                main.getLogManager().info(LogCategory.DATA, "Continuing a database migration which has been interrupted...");
+            }
+
+            for (final String table : PLAYER_DATA_TABLES) {
+                if (!tableExists(connection, table + VERSION_1_BACKUP_SUFFIX)) {
+                    statement.executeUpdate("ALTER TABLE `" + table + "` RENAME TO `" + table + VERSION_1_BACKUP_SUFFIX + "`");
+                }
+                if (tableExists(connection, table + MIGRATION_SUFFIX)) {
+                    statement.executeUpdate("ALTER TABLE `" + table + MIGRATION_SUFFIX + "` RENAME TO `" + table + "`");
+                }
+            }
+        }
+        main.getLogManager().info(LogCategory.DATA, "Database migration complete! The old tables have been kept with the suffix <highlight>" + VERSION_1_BACKUP_SUFFIX + "</highlight> and can be deleted once everything works.");
+    }
+
+    private void copyVersion1Tables(final Connection connection, final Statement statement) throws SQLException {
+        final String insertIgnore = mySQL ? "INSERT IGNORE INTO " : "INSERT OR IGNORE INTO ";
+
+        //Left over from an interrupted migration. The version 1 tables are still complete, so the copy is simply re-done.
+        for (final String table : PLAYER_DATA_TABLES) {
+            statement.executeUpdate("DROP TABLE IF EXISTS `" + table + MIGRATION_SUFFIX + "`");
+        }
+        createTables(statement, MIGRATION_SUFFIX);
+
+        final boolean previousAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            copyRows(connection, "SELECT PlayerUUID, QuestPoints FROM QuestPlayerData",
+                    insertIgnore + "QuestPlayerData_new (PlayerUUID, QuestPoints) VALUES (?, ?)",
+                    (result, insert) -> insert.setLong(2, result.getLong("QuestPoints")));
+            copyRows(connection, "SELECT PlayerUUID, QuestName FROM ActiveQuests",
+                    insertIgnore + "ActiveQuests_new (PlayerUUID, QuestName) VALUES (?, ?)",
+                    (result, insert) -> insert.setString(2, result.getString("QuestName")));
+            copyRows(connection, "SELECT PlayerUUID, QuestName, TimeCompleted FROM CompletedQuests",
+                    "INSERT INTO CompletedQuests_new (PlayerUUID, QuestName, TimeCompleted) VALUES (?, ?, ?)",
+                    (result, insert) -> {
+                        insert.setString(2, result.getString("QuestName"));
+                        insert.setLong(3, result.getLong("TimeCompleted"));
+                    });
+            copyRows(connection, "SELECT PlayerUUID, QuestName, ObjectiveID, ObjectiveType, CurrentProgress, HasBeenCompleted FROM ActiveObjectives",
+                    insertIgnore + "ActiveObjectives_new (PlayerUUID, QuestName, ObjectiveID, ObjectiveType, CurrentProgress, HasBeenCompleted) VALUES (?, ?, ?, ?, ?, ?)",
+                    (result, insert) -> {
+                        insert.setString(2, result.getString("QuestName"));
+                        insert.setInt(3, result.getInt("ObjectiveID"));
+                        insert.setString(4, result.getString("ObjectiveType"));
+                        insert.setLong(5, result.getLong("CurrentProgress"));
+                        insert.setBoolean(6, result.getBoolean("HasBeenCompleted"));
+                    });
+            copyRows(connection, "SELECT PlayerUUID, QuestName, TriggerID, TriggerType, CurrentProgress FROM ActiveTriggers",
+                    insertIgnore + "ActiveTriggers_new (PlayerUUID, QuestName, TriggerID, TriggerType, CurrentProgress) VALUES (?, ?, ?, ?, ?)",
+                    (result, insert) -> {
+                        insert.setString(2, result.getString("QuestName"));
+                        insert.setInt(3, result.getInt("TriggerID"));
+                        insert.setString(4, result.getString("TriggerType"));
+                        insert.setLong(5, result.getLong("CurrentProgress"));
+                    });
+            connection.commit();
+        } catch (SQLException sqlException) {
+            connection.rollback();
+            throw sqlException;
+        } finally {
+            connection.setAutoCommit(previousAutoCommit);
+        }
+    }
+
+    private interface RowCopier {
+        void copy(final ResultSet result, final PreparedStatement insert) throws SQLException;
+    }
+
+    private void copyRows(final Connection connection, final String select, final String insert, final RowCopier rowCopier) throws SQLException {
+        try (final Statement selectStatement = connection.createStatement();
+             final ResultSet result = selectStatement.executeQuery(select);
+             final PreparedStatement insertStatement = connection.prepareStatement(insert)) {
+            int rowsInBatch = 0;
+            while (result.next()) {
+                final String uuidString = result.getString("PlayerUUID");
+                final UUID uuid;
+                try {
+                    uuid = UUID.fromString(uuidString);
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    main.getLogManager().warn(LogCategory.DATA, "Skipping a row with the invalid player UUID <highlight>" + uuidString + "</highlight> during the database migration.");
+                    continue;
+                }
+                insertStatement.setBytes(1, uuidToBytes(uuid));
+                rowCopier.copy(result, insertStatement);
+                insertStatement.addBatch();
+                if (++rowsInBatch >= 1000) {
+                    insertStatement.executeBatch();
+                    rowsInBatch = 0;
+                }
+            }
+            insertStatement.executeBatch();
+        }
+    }
+}
@@ -12,11 +12,35 @@ import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.ActiveQuest;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 
+import java.util.HashMap;
+import java.util.UUID;
+
 
 public class GUIManager {
     private final NotQuests main;
     private ChestInterface interfaceActiveQuests;
 
+    private final String[] activeQuestsGuiSetup = {
+            "zxxxxxxxx",
+            "xgggggggx",
+            "xgggggggx",
+            "xgggggggx",
+            "xgggggggx",
+            "pxxxxxxxn"
+    };
+    private final ItemStack fillerItem = new ItemStack(Material.AIR, 1);
+    private final ItemStack completedQuestItem = new ItemStack(Material.EMERALD_BLOCK);
+    private final ItemStack previousPageItem = new ItemStack(Material.SPECTRAL_ARROW);
+    private final ItemStack nextPageItem = new ItemStack(Material.ARROW);
+
+    /**
+     * Player UUID => their quest journal, together with the revision of their active quests it was built for
+     */
+    private final HashMap<UUID, CachedJournal> cachedJournals = new HashMap<>();
+
+    private record CachedJournal(InventoryGui gui, Player player, QuestPlayer questPlayer, int revision) {
+    }
+
     public GUIManager(final NotQuests main) {
         this.main = main;
         constructInterfaces();
@@ -98,53 +122,24 @@ public class GUIManager {
     }
 
 
+    /**
+     * Shows the quest journal, which lists all active quests of the player. The journal is cached per player and only
+     * re-built if the active quests or their progress changed since it was last opened.
+     *
+     * @param questPlayer the QuestPlayer of the player
+     * @param player      the player who should see the journal
+     */
     public void showActiveQuests(QuestPlayer questPlayer, Player player) {
         if (questPlayer != null) {
-            String[] guiSetup = {
-                    "zxxxxxxxx",
-                    "xgggggggx",
-                    "xgggggggx",
-                    "xgggggggx",
-                    "xgggggggx",
-                    "pxxxxxxxn"
-            };
-            InventoryGui gui = new InventoryGui(main.getMain(), player, convert(main.getLanguageManager().getString("gui.activeQuests.title", player)), guiSetup);
-            gui.setFiller(new ItemStack(Material.AIR, 1));
-
-            int count = 0;
-            GuiElementGroup group = new GuiElementGroup('g');
-
-            for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-
-                final ItemStack materialToUse;
-                if (!activeQuest.isCompleted()) {
-                    materialToUse = activeQuest.getQuest().getTakeItem();
-                } else {
-                    materialToUse = new ItemStack(Material.EMERALD_BLOCK);
-                }
-
-                if (main.getConfiguration().showQuestItemAmount) {
-                    count++;
-                }
-
-                group.addElement(new StaticGuiElement('e',
-                        materialToUse,
-                        count,
-                        click -> {
-                            player.chat("/notquests progress " + activeQuest.getQuest().getQuestName());
-                            return true;
-                        },
-                        convert(main.getLanguageManager().getString("gui.activeQuests.button.activeQuestButton.text", player, activeQuest))
-                ));
+            final CachedJournal cachedJournal = cachedJournals.get(player.getUniqueId());
+            if (cachedJournal != null && cachedJournal.questPlayer() == questPlayer && cachedJournal.revision() == questPlayer.getRevision() && cachedJournal.player() == player) {
+                cachedJournal.gui().show(player);
+                return;
             }
 
-            gui.addElement(group);
-
-            // Previous page
-            gui.addElement(new GuiPageElement('p', new ItemStack(Material.SPECTRAL_ARROW), GuiPageElement.PageAction.PREVIOUS, "Go to previous page (%prevpage%)"));
-            // Next page
-            gui.addElement(new GuiPageElement('n', new ItemStack(Material.ARROW), GuiPageElement.PageAction.NEXT, "Go to next page (%nextpage%)"));
-
+            final int revision = questPlayer.getRevision();
+            final InventoryGui gui = buildActiveQuestsGui(questPlayer, player);
+            cachedJournals.put(player.getUniqueId(), new CachedJournal(gui, player, questPlayer, revision));
             gui.show(player);
         } else {
             player.sendMessage(main.parse(
@@ -152,4 +147,61 @@ public class GUIManager {
             ));
         }
     }
+
+    private InventoryGui buildActiveQuestsGui(final QuestPlayer questPlayer, final Player player) {
+        InventoryGui gui = new InventoryGui(main.getMain(), player, convert(main.getLanguageManager().getString("gui.activeQuests.title", player)), activeQuestsGuiSetup);
+        gui.setFiller(fillerItem);
+
+        int count = 0;
+        GuiElementGroup group = new GuiElementGroup('g');
+
+        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
+
+            final ItemStack materialToUse;
+            if (!activeQuest.isCompleted()) {
+                materialToUse = activeQuest.getQuest().getTakeItem();
+            } else {
+                materialToUse = completedQuestItem;
+            }
+
+            if (main.getConfiguration().showQuestItemAmount) {
+                count++;
+            }
+
+            group.addElement(new StaticGuiElement('e',
+                    materialToUse,
+                    count,
+                    click -> {
+                        player.chat("/notquests progress " + activeQuest.getQuest().getQuestName());
+                        return true;
+                    },
+                    convert(main.getLanguageManager().getString("gui.activeQuests.button.activeQuestButton.text", player, activeQuest))
+            ));
+        }
+
+        gui.addElement(group);
+
+        // Previous page
+        gui.addElement(new GuiPageElement('p', previousPageItem, GuiPageElement.PageAction.PREVIOUS, "Go to previous page (%prevpage%)"));
+        // Next page
+        gui.addElement(new GuiPageElement('n', nextPageItem, GuiPageElement.PageAction.NEXT, "Go to next page (%nextpage%)"));
+
+        return gui;
+    }
+
+    /**
+     * Removes the cached journal of a player, for example when they leave the server
+     *
+     * @param uuid the UUID of the player
+     */
+    public void removeCachedJournal(final UUID uuid) {
+        cachedJournals.remove(uuid);
+    }
+
+    /**
+     * Removes all cached journals, so they are re-built with the current language strings and configuration
+     */
+    public void clearCachedJournals() {
+        cachedJournals.clear();
+    }
 }
@@ -36,9 +36,12 @@ public class IntegrationsManager {
     private LuckpermsManager luckpermsManager;
     private ProjectKorraManager projectKorraManager;
     private UltimateClansManager ultimateClansManager;
+    private QuestPlaceholders questPlaceholders;
+    private final IntegrationQueryCache integrationQueryCache;
 
     public IntegrationsManager(final NotQuests main) {
         this.main = main;
+        integrationQueryCache = new IntegrationQueryCache(main);
     }
 
     public void enableIntegrations() {
@@ -176,7 +179,8 @@ public class IntegrationsManager {
             if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
                 placeholderAPIEnabled = true;
                 main.getLogManager().info("PlaceholderAPI found! Enabling PlaceholderAPI support...");
-                new QuestPlaceholders(main).register();
+                questPlaceholders = new QuestPlaceholders(main);
+                questPlaceholders.register();
             }
         }
     }
@@ -337,4 +341,18 @@ public class IntegrationsManager {
     public final VaultManager getVaultManager() {
         return vaultManager;
     }
+
+    /**
+     * @return the registered PlaceholderAPI expansion, or null if PlaceholderAPI support is not enabled
+     */
+    public final QuestPlaceholders getQuestPlaceholders() {
+        return questPlaceholders;
+    }
+
+    /**
+     * @return the snapshots of values which conditions query from other plugins
+     */
+    public final IntegrationQueryCache getIntegrationQueryCache() {
+        return integrationQueryCache;
+    }
 }
@@ -29,15 +29,16 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
+import rocks.gravili.notquests.paper.managers.LanguageTemplate.InternalPlaceholder;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
 import rocks.gravili.notquests.paper.structs.ActiveQuest;
 import rocks.gravili.notquests.paper.structs.Quest;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 import rocks.gravili.notquests.paper.structs.objectives.Objective;
-import rocks.gravili.notquests.paper.structs.triggers.Trigger;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,12 +62,16 @@ public class LanguageManager {
 
     private FileConfiguration defaultLanguageConfig = null;
 
-    final Map<String, String> internalPlaceholderReplacements;
+    /**
+     * Language string path => compiled template. These are compiled when the language config is loaded and replaced
+     * as a whole when it's reloaded, so they can be read from any thread.
+     */
+    private volatile Map<String, LanguageTemplate> templates = new ConcurrentHashMap<>();
+    private volatile Map<String, List<LanguageTemplate>> listTemplates = new ConcurrentHashMap<>();
 
 
     public LanguageManager(final NotQuests main) {
         this.main = main;
-        internalPlaceholderReplacements = new HashMap<>();
     }
 
 
@@ -263,6 +268,93 @@ public class LanguageManager {
 
         currentLanguage = languageCode;
 
+        compileTemplates();
+    }
+
+    /**
+     * Compiles all strings and string lists of the language config into templates
+     */
+    private void compileTemplates() {
+        final Map<String, LanguageTemplate> newTemplates = new ConcurrentHashMap<>();
+        final Map<String, List<LanguageTemplate>> newListTemplates = new ConcurrentHashMap<>();
+        for (final String key : languageConfig.getKeys(true)) {
+            if (languageConfig.isString(key)) {
+                final String translatedString = languageConfig.getString(key);
+                if (translatedString != null) {
+                    newTemplates.put(key, LanguageTemplate.compile(translatedString, main.getUtilManager()));
+                }
+            } else if (languageConfig.isList(key)) {
+                final List<String> translatedStrings = languageConfig.getStringList(key);
+                if (!translatedStrings.isEmpty()) {
+                    newListTemplates.put(key, compileList(translatedStrings));
+                }
+            }
+        }
+        templates = newTemplates;
+        listTemplates = newListTemplates;
+        //Cached GUIs contain strings of the previous language config
+        if (main.getGuiManager() != null) {
+            main.getGuiManager().clearCachedJournals();
+        }
+        main.getLogManager().debug("Compiled <highlight>" + newTemplates.size() + "</highlight> language strings and <highlight>" + newListTemplates.size() + "</highlight> language string lists.");
+    }
+
+    private List<LanguageTemplate> compileList(final List<String> translatedStrings) {
+        final ArrayList<LanguageTemplate> compiled = new ArrayList<>(translatedStrings.size());
+        for (final String translatedString : translatedStrings) {
+            compiled.add(LanguageTemplate.compile(translatedString, main.getUtilManager()));
+        }
+        return List.copyOf(compiled);
+    }
+
+    /**
+     * @param languageString the path of the language string
+     * @return the compiled template, or null if the language config has no string at that path
+     */
+    private LanguageTemplate getTemplate(final String languageString) {
+        final LanguageTemplate template = templates.get(languageString);
+        if (template != null) {
+            return template;
+        }
+        //Strings which were added to the config after it has been loaded
+        if (!getLanguageConfig().isString(languageString)) {
+            return null;
+        }
+        final String translatedString = getLanguageConfig().getString(languageString);
+        if (translatedString == null) {
+            return null;
+        }
+        final LanguageTemplate compiled = LanguageTemplate.compile(translatedString, main.getUtilManager());
+        templates.put(languageString, compiled);
+        return compiled;
+    }
+
+    private List<LanguageTemplate> getListTemplate(final String languageString) {
+        final List<LanguageTemplate> listTemplate = listTemplates.get(languageString);
+        if (listTemplate != null) {
+            return listTemplate;
+        }
+        if (!getLanguageConfig().isList(languageString)) {
+            return null;
+        }
+        final List<String> translatedStrings = getLanguageConfig().getStringList(languageString);
+        if (translatedStrings.isEmpty()) {
+            return null;
+        }
+        final List<LanguageTemplate> compiled = compileList(translatedStrings);
+        listTemplates.put(languageString, compiled);
+        return compiled;
+    }
+
+    /**
+     * @param targetPlayer the player the message is for
+     * @return the player whose PlaceholderAPI placeholders should be applied, or null if they shouldn't be applied
+     */
+    private Player getPlaceholderAPIPlayer(final Player targetPlayer) {
+        if (targetPlayer == null || !main.getConfiguration().supportPlaceholderAPIInTranslationStrings || !main.getIntegrationsManager().isPlaceholderAPIEnabled()) {
+            return null;
+        }
+        return targetPlayer;
     }
 
     public boolean setupDefaultStrings() {
@@ -309,62 +401,91 @@ public class LanguageManager {
     }
 
     public final Component getComponent(final String languageString, final Player targetPlayer, Object... internalPlaceholderObjects){
-        return main.parse(getString(languageString, targetPlayer, internalPlaceholderObjects));
+        final LanguageTemplate template = getTemplate(languageString);
+        if (template == null) {
+            return main.parse("Language string not found: " + languageString);
+        }
+        final Player placeholderAPIPlayer = getPlaceholderAPIPlayer(targetPlayer);
+        if (template.isStatic() && placeholderAPIPlayer == null) {
+            return template.getStaticComponent(main);
+        }
+        return main.parse(template.render(resolveInternalPlaceholders(internalPlaceholderObjects), placeholderAPIPlayer, main.getUtilManager()));
     }
 
     public final List<Component> getComponentList(final String languageString, final Player targetPlayer, Object... internalPlaceholderObjects){
-        List<Component> components = new ArrayList<>();
-        if (!getLanguageConfig().isList(languageString)) {
+        final List<LanguageTemplate> listTemplate = getListTemplate(languageString);
+        if (listTemplate == null) {
             return Collections.singletonList(Component.text("Language string not found: " + languageString));
-        } else {
-            final List<String> translatedString = getLanguageConfig().getStringList(languageString);
-            if (translatedString.isEmpty()) {
-                return Collections.singletonList(Component.text("Language string not found: " + languageString));
-            }
-
-            if (!main.getConfiguration().supportPlaceholderAPIInTranslationStrings || !main.getIntegrationsManager().isPlaceholderAPIEnabled() || targetPlayer == null) {
-                for(String componentPart : applySpecial(applyInternalPlaceholders(translatedString, internalPlaceholderObjects))){
-                    components.add(main.parse(componentPart));
-                }
+        }
+        final Player placeholderAPIPlayer = getPlaceholderAPIPlayer(targetPlayer);
+        final String[] values = resolveInternalPlaceholders(internalPlaceholderObjects);
+        final List<Component> components = new ArrayList<>(listTemplate.size());
+        for (final LanguageTemplate template : listTemplate) {
+            if (template.isStatic() && placeholderAPIPlayer == null) {
+                components.add(template.getStaticComponent(main));
             } else {
-                for(String componentPart : applySpecial(PlaceholderAPI.setPlaceholders(targetPlayer, applyInternalPlaceholders(translatedString, internalPlaceholderObjects)))) {
-                    components.add(main.parse(componentPart));
-                }
+                components.add(main.parse(template.render(values, placeholderAPIPlayer, main.getUtilManager())));
             }
         }
         return components;
     }
 
     public final String getString(final String languageString, final Player targetPlayer, Object... internalPlaceholderObjects) {
-        if (!getLanguageConfig().isString(languageString)) {
+        final LanguageTemplate template = getTemplate(languageString);
+        if (template == null) {
             return "Language string not found: " + languageString;
-        } else {
-            final String translatedString = getLanguageConfig().getString(languageString);
-            if (translatedString == null) {
-                return "Language string not found: " + languageString;
-            }
-            if (!main.getConfiguration().supportPlaceholderAPIInTranslationStrings || !main.getIntegrationsManager().isPlaceholderAPIEnabled() || targetPlayer == null) {
-                return applySpecial(applyInternalPlaceholders(translatedString, internalPlaceholderObjects)); //Removed applyColor( for minimessage support
-            } else {
-                return applySpecial(PlaceholderAPI.setPlaceholders(targetPlayer, applyInternalPlaceholders(translatedString, internalPlaceholderObjects)));
-            }
         }
+        return template.render(resolveInternalPlaceholders(internalPlaceholderObjects), getPlaceholderAPIPlayer(targetPlayer), main.getUtilManager());
     }
 
     public final List<String> getStringList(final String languageString, final Player targetPlayer, Object... internalPlaceholderObjects) {
-        if (!getLanguageConfig().isList(languageString)) {
+        final List<LanguageTemplate> listTemplate = getListTemplate(languageString);
+        if (listTemplate == null) {
             return Collections.singletonList("Language string not found: " + languageString);
-        } else {
-            final List<String> translatedString = getLanguageConfig().getStringList(languageString);
-            if (translatedString.isEmpty()) {
-                return Collections.singletonList("Language string not found: " + languageString);
-            }
-            if (!main.getConfiguration().supportPlaceholderAPIInTranslationStrings || !main.getIntegrationsManager().isPlaceholderAPIEnabled() || targetPlayer == null) {
-                return applySpecial(applyInternalPlaceholders(translatedString, internalPlaceholderObjects)); //Removed applyColor( for minimessage support
-            } else {
-                return applySpecial(PlaceholderAPI.setPlaceholders(targetPlayer, applyInternalPlaceholders(translatedString, internalPlaceholderObjects)));
+        }
+        final Player placeholderAPIPlayer = getPlaceholderAPIPlayer(targetPlayer);
+        final String[] values = resolveInternalPlaceholders(internalPlaceholderObjects);
+        final List<String> strings = new ArrayList<>(listTemplate.size());
+        for (final LanguageTemplate template : listTemplate) {
+            strings.add(template.render(values, placeholderAPIPlayer, main.getUtilManager()));
+        }
+        return strings;
+    }
+
+    /**
+     * Reads the values of the internal placeholders from the given objects.
+     *
+     * @param internalPlaceholderObjects objects like ActiveQuest, Quest, ActiveObjective, Objective or QuestPlayer
+     * @return the values indexed by InternalPlaceholder ordinal, or null if no objects were given
+     */
+    private String[] resolveInternalPlaceholders(final Object... internalPlaceholderObjects) {
+        if (internalPlaceholderObjects.length == 0) {
+            return null;
+        }
+        final String[] values = new String[InternalPlaceholder.count()];
+        for (Object internalPlaceholderObject : internalPlaceholderObjects) {
+            if (internalPlaceholderObject instanceof ActiveQuest activeQuest) {
+                values[InternalPlaceholder.QUESTNAME.ordinal()] = activeQuest.getQuest().getQuestFinalName();
+                values[InternalPlaceholder.QUESTDESCRIPTION.ordinal()] = activeQuest.getQuest().getQuestDescription();
+                values[InternalPlaceholder.COMPLETEDOBJECTIVESCOUNT.ordinal()] = "" + activeQuest.getCompletedObjectives().size();
+                values[InternalPlaceholder.ALLOBJECTIVESCOUNT.ordinal()] = "" + activeQuest.getQuest().getObjectives().size();
+            } else if (internalPlaceholderObject instanceof Quest quest) {
+                values[InternalPlaceholder.QUESTNAME.ordinal()] = quest.getQuestFinalName();
+                values[InternalPlaceholder.QUESTDESCRIPTION.ordinal()] = quest.getQuestDescription();
+            } else if (internalPlaceholderObject instanceof ActiveObjective activeObjective) {
+                values[InternalPlaceholder.OBJECTIVEID.ordinal()] = "" + activeObjective.getObjective().getObjectiveID();
+                values[InternalPlaceholder.ACTIVEOBJECTIVEID.ordinal()] = "" + activeObjective.getObjective().getObjectiveID();
+                values[InternalPlaceholder.OBJECTIVENAME.ordinal()] = "" + activeObjective.getObjective().getObjectiveFinalName();
+                values[InternalPlaceholder.ACTIVEOBJECTIVEPROGRESS.ordinal()] = "" + activeObjective.getCurrentProgress();
+                values[InternalPlaceholder.OBJECTIVEPROGRESSNEEDED.ordinal()] = "" + activeObjective.getProgressNeeded();
+            } else if (internalPlaceholderObject instanceof Objective objective) {
+                values[InternalPlaceholder.OBJECTIVEID.ordinal()] = "" + objective.getObjectiveID();
+                values[InternalPlaceholder.OBJECTIVENAME.ordinal()] = "" + objective.getObjectiveFinalName();
+            } else if (internalPlaceholderObject instanceof QuestPlayer questPlayer) {
+                values[InternalPlaceholder.QUESTPOINTS.ordinal()] = "" + questPlayer.getQuestPoints();
             }
         }
+        return values;
     }
 
     public List<String> applyInternalPlaceholders(List<String> initialMessage, Object... internalPlaceholderObjects) {
@@ -376,41 +497,17 @@ public class LanguageManager {
     }
 
     public String applyInternalPlaceholders(String initialMessage, Object... internalPlaceholderObjects) {
-        if (internalPlaceholderObjects.length == 0) {
+        final String[] values = resolveInternalPlaceholders(internalPlaceholderObjects);
+        if (values == null) {
             return initialMessage;
         }
-        internalPlaceholderReplacements.clear();
-        for (Object internalPlaceholderObject : internalPlaceholderObjects) {
-            if (internalPlaceholderObject instanceof ActiveQuest activeQuest) {
-                //main.getLogManager().log(Level.INFO, "Applying ActiveQuest placeholders...");
-                internalPlaceholderReplacements.put("%QUESTNAME%", activeQuest.getQuest().getQuestFinalName());
-                internalPlaceholderReplacements.put("%QUESTDESCRIPTION%", activeQuest.getQuest().getQuestDescription());
-                internalPlaceholderReplacements.put("%COMPLETEDOBJECTIVESCOUNT%", "" + activeQuest.getCompletedObjectives().size());
-                internalPlaceholderReplacements.put("%ALLOBJECTIVESCOUNT%", "" + activeQuest.getQuest().getObjectives().size());
-            } else if (internalPlaceholderObject instanceof Quest quest) {
-                //main.getLogManager().log(Level.INFO, "Applying Quest placeholders...");
-                internalPlaceholderReplacements.put("%QUESTNAME%", quest.getQuestFinalName());
-                internalPlaceholderReplacements.put("%QUESTDESCRIPTION%", quest.getQuestDescription());
-            } else if (internalPlaceholderObject instanceof ActiveObjective activeObjective) {
-                //main.getLogManager().log(Level.INFO, "Applying ActiveObjective placeholders...");
-                internalPlaceholderReplacements.put("%OBJECTIVEID%", "" + activeObjective.getObjective().getObjectiveID());
-                internalPlaceholderReplacements.put("%ACTIVEOBJECTIVEID%", "" + activeObjective.getObjective().getObjectiveID());
-                internalPlaceholderReplacements.put("%OBJECTIVENAME%", "" + activeObjective.getObjective().getObjectiveFinalName());
-                internalPlaceholderReplacements.put("%ACTIVEOBJECTIVEPROGRESS%", "" + activeObjective.getCurrentProgress());
-                internalPlaceholderReplacements.put("%OBJECTIVEPROGRESSNEEDED%", "" + activeObjective.getProgressNeeded());
-            } else if (internalPlaceholderObject instanceof Objective objective) {
-                //main.getLogManager().log(Level.INFO, "Applying Objective placeholders...");
-                internalPlaceholderReplacements.put("%OBJECTIVEID%", "" + objective.getObjectiveID());
-                internalPlaceholderReplacements.put("%OBJECTIVENAME%", "" + objective.getObjectiveFinalName());
-            } else if (internalPlaceholderObject instanceof Trigger trigger) {
-                //main.getLogManager().log(Level.INFO, "Applying Trigger placeholders...");
-            } else if (internalPlaceholderObject instanceof QuestPlayer questPlayer) {
-                //main.getLogManager().log(Level.INFO, "Applying QuestPlayer placeholders...");
-                internalPlaceholderReplacements.put("%QUESTPOINTS%", "" + questPlayer.getQuestPoints());
+        for (final InternalPlaceholder placeholder : InternalPlaceholder.values()) {
+            final String value = values[placeholder.ordinal()];
+            if (value != null) {
+                initialMessage = initialMessage.replace(placeholder.getToken(), value);
             }
-
         }
-        return main.getUtilManager().replaceFromMap(initialMessage, internalPlaceholderReplacements);
+        return initialMessage;
     }
 
     public List<String> applySpecial(List<String> initialMessage) {
@@ -423,7 +520,11 @@ public class LanguageManager {
 
 
 
-        public String applySpecial(String initialMessage) { //TODO: Fix center if that message is later processed for placeholders => process the placeholders here instead
+    /**
+     * Language strings are handled by LanguageTemplate instead, which centers lines after the placeholders have been applied.
+     * This is only kept for messages which don't come from the language config.
+     */
+    public String applySpecial(String initialMessage) {
         initialMessage = initialMessage.replace("<EMPTY>", " ");
 
 
@@ -0,0 +1,226 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.managers;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import rocks.gravili.notquests.paper.NotQuests;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A language string which has been compiled once, when the language config is loaded. It records where the internal
+ * placeholders (like %QUESTNAME%) are and which lines are centered, so sending the message only has to fill in the
+ * placeholder values instead of searching and replacing them in the whole string every time.
+ * <p>
+ * Templates without internal placeholders are static: their final string and parsed Component are cached.
+ * Templates are immutable (apart from that cache), so they can be rendered from any thread.
+ */
+public final class LanguageTemplate {
+
+    /**
+     * The internal placeholders which are filled in from the objects passed to LanguageManager.getString()
+     */
+    public enum InternalPlaceholder {
+        QUESTNAME,
+        QUESTDESCRIPTION,
+        COMPLETEDOBJECTIVESCOUNT,
+        ALLOBJECTIVESCOUNT,
+        OBJECTIVEID,
+        ACTIVEOBJECTIVEID,
+        OBJECTIVENAME,
+        ACTIVEOBJECTIVEPROGRESS,
+        OBJECTIVEPROGRESSNEEDED,
+        QUESTPOINTS;
+
+        private static final InternalPlaceholder[] VALUES = values();
+        private static final HashMap<String, InternalPlaceholder> BY_NAME = new HashMap<>();
+
+        static {
+            for (final InternalPlaceholder placeholder : VALUES) {
+                BY_NAME.put(placeholder.name(), placeholder);
+            }
+        }
+
+        private final String token = "%" + name() + "%";
+
+        public final String getToken() {
+            return token;
+        }
+
+        public static int count() {
+            return VALUES.length;
+        }
+    }
+
+    /**
+     * @param segments each segment is either a literal String or an InternalPlaceholder slot
+     * @param centered if the line contained the <CENTER> tag
+     */
+    private record Line(Object[] segments, boolean centered) {
+    }
+
+    private final Line[] lines;
+    private final boolean hasPlaceholderSlots;
+    private final boolean hasCenteredLines;
+
+    /**
+     * The final string for static templates, centering already applied. Null if the template has placeholder slots.
+     */
+    private final String staticString;
+    private volatile Component staticComponent;
+
+    private LanguageTemplate(final Line[] lines, final UtilManager utilManager) {
+        this.lines = lines;
+        boolean hasPlaceholderSlots = false;
+        boolean hasCenteredLines = false;
+        for (final Line line : lines) {
+            hasCenteredLines |= line.centered();
+            for (final Object segment : line.segments()) {
+                if (segment instanceof InternalPlaceholder) {
+                    hasPlaceholderSlots = true;
+                    break;
+                }
+            }
+        }
+        this.hasPlaceholderSlots = hasPlaceholderSlots;
+        this.hasCenteredLines = hasCenteredLines;
+        this.staticString = hasPlaceholderSlots ? null : render(null, null, utilManager);
+    }
+
+    /**
+     * Compiles a language string. The special <EMPTY> and <CENTER> tags are handled here, so they don't have to be
+     * searched for every time the message is sent.
+     *
+     * @param message     the language string from the language config
+     * @param utilManager used to center the lines of static templates
+     * @return the compiled template
+     */
+    public static LanguageTemplate compile(final String message, final UtilManager utilManager) {
+        final String[] splitMessages = message.replace("<EMPTY>", " ").split("\n");
+        final Line[] lines = new Line[splitMessages.length];
+        for (int i = 0; i < splitMessages.length; i++) {
+            String line = splitMessages[i];
+            final boolean centered = line.contains("<CENTER>");
+            if (centered) {
+                line = line.replace("<CENTER>", "");
+            }
+            lines[i] = new Line(compileSegments(line), centered);
+        }
+        return new LanguageTemplate(lines, utilManager);
+    }
+
+    private static Object[] compileSegments(final String line) {
+        final ArrayList<Object> segments = new ArrayList<>();
+        int literalStart = 0;
+        int index = line.indexOf('%');
+        while (index >= 0) {
+            final int end = line.indexOf('%', index + 1);
+            if (end < 0) {
+                break;
+            }
+            final InternalPlaceholder placeholder = InternalPlaceholder.BY_NAME.get(line.substring(index + 1, end));
+            if (placeholder != null) {
+                if (index > literalStart) {
+                    segments.add(line.substring(literalStart, index));
+                }
+                segments.add(placeholder);
+                literalStart = end + 1;
+                index = line.indexOf('%', literalStart);
+            } else {
+                //Not an internal placeholder (for example a PlaceholderAPI one). The closing % might open the next one.
+                index = end;
+            }
+        }
+        if (literalStart < line.length()) {
+            segments.add(line.substring(literalStart));
+        }
+        return segments.toArray();
+    }
+
+    public final boolean isStatic() {
+        return !hasPlaceholderSlots;
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param values                placeholder values indexed by InternalPlaceholder ordinal, or null if there are none.
+     *                              Placeholders without a value are kept as they are.
+     * @param placeholderAPIPlayer  the player whose PlaceholderAPI placeholders should be applied, or null if they shouldn't
+     * @param utilManager           used for centering lines
+     * @return the rendered MiniMessage string
+     */
+    public final String render(final String[] values, final Player placeholderAPIPlayer, final UtilManager utilManager) {
+        if (staticString != null && (placeholderAPIPlayer == null || staticString.indexOf('%') < 0)) {
+            return staticString;
+        }
+        if (lines.length == 1 && !hasCenteredLines && placeholderAPIPlayer == null) {
+            return renderLine(lines[0], values);
+        }
+
+        final StringBuilder finalMessage = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            String line = renderLine(lines[i], values);
+            if (placeholderAPIPlayer != null && line.indexOf('%') >= 0) {
+                line = PlaceholderAPI.setPlaceholders(placeholderAPIPlayer, line);
+            }
+            if (lines[i].centered()) {
+                line = utilManager.getCenteredMessage(line);
+            }
+            finalMessage.append(line);
+            if (i < lines.length - 1) {
+                finalMessage.append("\n");
+            }
+        }
+        return finalMessage.toString();
+    }
+
+    private String renderLine(final Line line, final String[] values) {
+        final Object[] segments = line.segments();
+        if (segments.length == 1 && segments[0] instanceof String literal) {
+            return literal;
+        }
+        final StringBuilder renderedLine = new StringBuilder();
+        for (final Object segment : segments) {
+            if (segment instanceof InternalPlaceholder placeholder) {
+                final String value = values != null ? values[placeholder.ordinal()] : null;
+                renderedLine.append(value != null ? value.replace("<EMPTY>", " ") : placeholder.getToken());
+            } else {
+                renderedLine.append((String) segment);
+            }
+        }
+        return renderedLine.toString();
+    }
+
+    /**
+     * @param main used to parse the MiniMessage string the first time
+     * @return the cached Component of a static template
+     */
+    public final Component getStaticComponent(final NotQuests main) {
+        Component component = staticComponent;
+        if (component == null) {
+            component = main.parse(staticString);
+            staticComponent = component;
+        }
+        return component;
+    }
+}
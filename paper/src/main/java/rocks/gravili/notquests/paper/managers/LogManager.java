@@ -23,33 +23,169 @@ import org.bukkit.Bukkit;
 import org.bukkit.command.ConsoleCommandSender;
 import rocks.gravili.notquests.paper.NotQuests;
 
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
+/**
+ * Writes NotQuests messages to the console. Every LogCategory has its own minimum level, so for example only warnings
+ * of the DATA category can be shown. Messages below that level are dropped before they are parsed.
+ * <p>
+ * If asynchronous logging is enabled, messages are put into a bounded queue and parsed and written by a separate
+ * thread, so logging never blocks the thread which logs. If the queue is full, messages are skipped and a summary of
+ * how many were skipped is logged instead.
+ */
 public class LogManager {
+    private static final int QUEUE_CAPACITY = 8192;
+
     private final NotQuests main;
     private ConsoleCommandSender consoleSender;
     private final Component prefix;
     private final String prefixText;
 
+    /**
+     * Minimum level of every LogCategory, indexed by its ordinal
+     */
+    private volatile Level[] levels;
+
+    private record LogEntry(String color, String message) {
+    }
+
+    private final ArrayBlockingQueue<LogEntry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicInteger skippedMessages = new AtomicInteger();
+    private volatile Thread drainThread;
+
     public LogManager(final NotQuests main) {
         this.main = main;
         consoleSender = Bukkit.getConsoleSender();
 
         prefixText = "<#393e46>[<gradient:#E0EAFC:#CFDEF3>NotQuests<#393e46>]<#636c73>: ";
         prefix = main.parse(prefixText);
+
+        levels = new Level[LogCategory.values().length];
+        Arrays.fill(levels, Level.INFO);
     }
 
     public void lateInit() {
 
     }
 
+    /**
+     * Sets the minimum level of messages of a category which are logged. Debug messages (Level.FINE) are also logged
+     * if debug is enabled in the general.yml.
+     *
+     * @param logCategory the category
+     * @param level       the minimum level. Level.OFF disables all messages of that category
+     */
+    public void setLevel(final LogCategory logCategory, final Level level) {
+        final Level[] newLevels = levels.clone();
+        newLevels[logCategory.ordinal()] = level;
+        levels = newLevels;
+    }
+
+    public final Level getLevel(final LogCategory logCategory) {
+        return levels[logCategory.ordinal()];
+    }
+
+    public final boolean isLoggable(final Level level, final LogCategory logCategory) {
+        final Level minimumLevel = levels[logCategory.ordinal()];
+        if (minimumLevel == Level.OFF) {
+            return false;
+        }
+        if (level == Level.FINE && main.getConfiguration() != null && main.getConfiguration().debug) {
+            return true;
+        }
+        return level.intValue() >= minimumLevel.intValue();
+    }
+
+    /**
+     * Starts or stops the thread which writes the queued messages to the console.
+     *
+     * @param async if messages should be written asynchronously
+     */
+    public void setAsync(final boolean async) {
+        if (async) {
+            if (drainThread == null) {
+                final Thread thread = new Thread(this::drain, "NotQuests Log Writer");
+                thread.setDaemon(true);
+                drainThread = thread;
+                thread.start();
+            }
+        } else {
+            shutdown();
+        }
+    }
+
+    /**
+     * Stops the asynchronous log writer and writes all messages which are still queued. Messages logged afterwards
+     * are written synchronously.
+     */
+    public void shutdown() {
+        final Thread thread = drainThread;
+        if (thread == null) {
+            return;
+        }
+        drainThread = null;
+        thread.interrupt();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeQueuedMessages();
+        writeSkippedMessagesSummary();
+    }
+
+    private void writeQueuedMessages() {
+        LogEntry logEntry;
+        while ((logEntry = queue.poll()) != null) {
+            write(logEntry.color(), logEntry.message());
+        }
+    }
+
+    private void drain() {
+        try {
+            while (drainThread == Thread.currentThread()) {
+                final LogEntry logEntry = queue.take();
+                write(logEntry.color(), logEntry.message());
+                if (queue.isEmpty()) {
+                    writeSkippedMessagesSummary();
+                }
+            }
+        } catch (InterruptedException ignored) {
+            //Stopped by shutdown(), which writes the remaining messages
+        }
+    }
+
+    private void writeSkippedMessagesSummary() {
+        final int skipped = skippedMessages.getAndSet(0);
+        if (skipped > 0) {
+            write("<warn>", "<highlight>" + skipped + "</highlight> log messages were skipped, because they were logged faster than they could be written to the console.");
+        }
+    }
+
+    private void write(final String color, final String message) {
+        consoleSender.sendMessage(Component.empty().append(prefix).append(main.parse(color + message)));
+    }
+
 
     private void log(final Level level, final String color, final String message) {
         log(level, LogCategory.DEFAULT, color, message);
     }
 
     private void log(final Level level, final LogCategory logCategory, final String color, final String message) {
-        consoleSender.sendMessage(main.parse(prefixText + color + message));
+        if (!isLoggable(level, logCategory)) {
+            return;
+        }
+        if (drainThread == null) {
+            write(color, message);
+        } else if (!queue.offer(new LogEntry(color, message))) {
+            skippedMessages.incrementAndGet();
+        } else if (drainThread == null) {
+            //shutdown() was called between the check and the offer and may already have written the remaining messages
+            writeQueuedMessages();
+        }
     }
 
 
@@ -84,13 +220,10 @@ public class LogManager {
     }
 
     public void debug(final LogCategory logCategory, final String message) {
-        if (main.getConfiguration().debug) {
-            log(Level.FINE, logCategory, "<unimportant>", message);
-        }
+        log(Level.FINE, logCategory, "<unimportant>", message);
     }
 
     public void debug(final String message) {
         debug(LogCategory.DEFAULT, message);
     }
 }
-
@@ -0,0 +1,185 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.managers;
+
+import rocks.gravili.notquests.paper.NotQuests;
+import rocks.gravili.notquests.paper.structs.ActiveObjective;
+import rocks.gravili.notquests.paper.structs.ActiveQuest;
+import rocks.gravili.notquests.paper.structs.CompletedQuest;
+import rocks.gravili.notquests.paper.structs.QuestPlayer;
+import rocks.gravili.notquests.paper.structs.triggers.ActiveTrigger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A snapshot of the unsaved changes of a QuestPlayer. It is created on the main thread and only contains copied values,
+ * so it can safely be written to the database from another thread while the QuestPlayer keeps changing.
+ */
+public class PlayerDataChanges {
+    private final QuestPlayer questPlayer;
+    private final byte[] questPlayerUUID;
+
+    /**
+     * Only set if the QuestPoints have changed
+     */
+    private final Long questPoints;
+
+    /**
+     * If true, all active quests, objectives and triggers of the player are re-written. Otherwise, only the rows of
+     * activeObjectives and activeTriggers are replaced.
+     */
+    private final boolean rewriteActiveQuests;
+    private final List<String> activeQuestNames = new ArrayList<>();
+    private final List<ObjectiveRow> activeObjectives = new ArrayList<>();
+    private final List<TriggerRow> activeTriggers = new ArrayList<>();
+
+    /**
+     * If true, all completed quests of the player are re-written. Otherwise, completedQuests only contains the newly completed quests.
+     */
+    private final boolean rewriteCompletedQuests;
+    private final List<CompletedQuestRow> completedQuests = new ArrayList<>();
+
+    public record ObjectiveRow(String objectiveType, String questName, long currentProgress, int objectiveID, boolean hasBeenCompleted) {
+    }
+
+    public record TriggerRow(String triggerType, String questName, long currentProgress, int triggerID) {
+    }
+
+    public record CompletedQuestRow(String questName, long timeCompleted) {
+    }
+
+    private PlayerDataChanges(final NotQuests main, final QuestPlayer questPlayer) {
+        this.questPlayer = questPlayer;
+        this.questPlayerUUID = DatabaseSchema.uuidToBytes(questPlayer.getUUID());
+
+        questPoints = questPlayer.isQuestPointsChanged() ? questPlayer.getQuestPoints() : null;
+
+        rewriteActiveQuests = questPlayer.isActiveQuestsChanged();
+        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
+            if (!rewriteActiveQuests && !activeQuest.isDirty()) {
+                continue;
+            }
+            final String questName = activeQuest.getQuest().getQuestName();
+            if (rewriteActiveQuests) {
+                //The same quest can only be saved once per player
+                if (activeQuestNames.contains(questName)) {
+                    continue;
+                }
+                activeQuestNames.add(questName);
+            }
+
+            //Triggers don't have their own dirty flag, so all triggers of a changed active quest are saved
+            for (final ActiveTrigger activeTrigger : activeQuest.getActiveTriggers()) {
+                activeTriggers.add(new TriggerRow(activeTrigger.getTrigger().getTriggerType(), questName, activeTrigger.getCurrentProgress(), activeTrigger.getTriggerID()));
+            }
+
+            for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
+                addObjective(main, activeObjective, questName);
+            }
+            for (final ActiveObjective completedObjective : activeQuest.getCompletedObjectives()) {
+                addObjective(main, completedObjective, questName);
+            }
+        }
+
+        rewriteCompletedQuests = questPlayer.isCompletedQuestsChanged();
+        for (final CompletedQuest completedQuest : rewriteCompletedQuests ? questPlayer.getCompletedQuests() : questPlayer.getUnsavedCompletedQuests()) {
+            completedQuests.add(new CompletedQuestRow(completedQuest.getQuest().getQuestName(), completedQuest.getTimeCompleted()));
+        }
+    }
+
+    private void addObjective(final NotQuests main, final ActiveObjective activeObjective, final String questName) {
+        if (!rewriteActiveQuests && !activeObjective.isDirty()) {
+            return;
+        }
+        activeObjectives.add(new ObjectiveRow(main.getObjectiveManager().getObjectiveType(activeObjective.getObjective().getClass()), questName,
+                activeObjective.getCurrentProgress(), activeObjective.getObjectiveID(), activeObjective.hasBeenCompleted()));
+    }
+
+    /**
+     * Collects the unsaved changes of a QuestPlayer and resets its dirty flags. This has to be called on the main thread.
+     *
+     * @param main        an instance of NotQuests
+     * @param questPlayer the QuestPlayer whose changes should be collected
+     * @return the changes, or null if nothing has changed since the last save
+     */
+    public static PlayerDataChanges collect(final NotQuests main, final QuestPlayer questPlayer) {
+        if (!questPlayer.isDirty()) {
+            return null;
+        }
+        final PlayerDataChanges playerDataChanges = new PlayerDataChanges(main, questPlayer);
+        questPlayer.markSaved();
+        return playerDataChanges;
+    }
+
+    /**
+     * Collects the unsaved changes of all the given QuestPlayers. Players without changes are skipped.
+     *
+     * @param main         an instance of NotQuests
+     * @param questPlayers the QuestPlayers whose changes should be collected
+     * @return the changes of all QuestPlayers which had changes
+     */
+    public static List<PlayerDataChanges> collect(final NotQuests main, final Collection<QuestPlayer> questPlayers) {
+        final ArrayList<PlayerDataChanges> changes = new ArrayList<>();
+        for (final QuestPlayer questPlayer : questPlayers) {
+            final PlayerDataChanges playerDataChanges = collect(main, questPlayer);
+            if (playerDataChanges != null) {
+                changes.add(playerDataChanges);
+            }
+        }
+        return changes;
+    }
+
+    public final QuestPlayer getQuestPlayer() {
+        return questPlayer;
+    }
+
+    public final byte[] getQuestPlayerUUID() {
+        return questPlayerUUID;
+    }
+
+    public final Long getQuestPoints() {
+        return questPoints;
+    }
+
+    public final boolean isRewriteActiveQuests() {
+        return rewriteActiveQuests;
+    }
+
+    public final List<String> getActiveQuestNames() {
+        return activeQuestNames;
+    }
+
+    public final List<ObjectiveRow> getActiveObjectives() {
+        return activeObjectives;
+    }
+
+    public final List<TriggerRow> getActiveTriggers() {
+        return activeTriggers;
+    }
+
+    public final boolean isRewriteCompletedQuests() {
+        return rewriteCompletedQuests;
+    }
+
+    public final List<CompletedQuestRow> getCompletedQuests() {
+        return completedQuests;
+    }
+}
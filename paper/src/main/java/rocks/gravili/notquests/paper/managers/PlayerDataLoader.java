@@ -0,0 +1,269 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.managers;
+
+import rocks.gravili.notquests.paper.NotQuests;
+import rocks.gravili.notquests.paper.structs.ActiveObjective;
+import rocks.gravili.notquests.paper.structs.ActiveQuest;
+import rocks.gravili.notquests.paper.structs.CompletedQuest;
+import rocks.gravili.notquests.paper.structs.Quest;
+import rocks.gravili.notquests.paper.structs.QuestPlayer;
+import rocks.gravili.notquests.paper.structs.triggers.ActiveTrigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.UUID;
+
+/**
+ * Loads QuestPlayers from the database. Every table is read exactly once with a forward-only cursor ordered by
+ * PlayerUUID, so loading all players only needs five queries, no matter how many players or active quests there are.
+ * It can also load a single player, in which case every query is limited to that player.
+ */
+public class PlayerDataLoader {
+    /**
+     * How many rows the database driver fetches at once, so the memory usage stays bounded for big tables
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    private final NotQuests main;
+    private final Connection connection;
+    /**
+     * The UUID of the only player which should be loaded, or null if all players should be loaded
+     */
+    private final byte[] playerUUIDFilter;
+
+    private final HashMap<UUID, QuestPlayer> questPlayers = new HashMap<>();
+
+    /*
+     * The rows of every table are ordered by PlayerUUID, so the QuestPlayer of the previous row can be re-used
+     */
+    private byte[] lastPlayerUUID = null;
+    private QuestPlayer lastQuestPlayer = null;
+
+    public PlayerDataLoader(final NotQuests main, final Connection connection, final UUID playerUUIDFilter) {
+        this.main = main;
+        this.connection = connection;
+        this.playerUUIDFilter = playerUUIDFilter != null ? DatabaseSchema.uuidToBytes(playerUUIDFilter) : null;
+    }
+
+    /**
+     * Loads the QuestPlayers with all their completed quests, active quests, active triggers and active objectives.
+     *
+     * @return the loaded QuestPlayers. Players without a QuestPlayerData row are not loaded.
+     */
+    public HashMap<UUID, QuestPlayer> load() throws SQLException {
+        loadQuestPlayers();
+        if (questPlayers.isEmpty()) {
+            return questPlayers;
+        }
+        loadCompletedQuests();
+        loadActiveQuests();
+        loadActiveTriggers();
+        loadActiveObjectives();
+
+        for (final QuestPlayer questPlayer : questPlayers.values()) {
+            for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
+                //Update all active objectives to see if they are unlocked
+                for (final ActiveObjective activeObjectiveToCheckForIfUnlocked : activeQuest.getActiveObjectives()) {
+                    activeObjectiveToCheckForIfUnlocked.updateUnlocked(false, true);
+                }
+            }
+            questPlayer.removeCompletedQuests();
+
+            questPlayer.setCurrentlyLoading(false);
+            //Everything has just been loaded from the database, so nothing needs to be saved yet
+            questPlayer.markSaved();
+        }
+        return questPlayers;
+    }
+
+    private ResultSet query(final PreparedStatement preparedStatement) throws SQLException {
+        preparedStatement.setFetchSize(FETCH_SIZE);
+        if (playerUUIDFilter != null) {
+            preparedStatement.setBytes(1, playerUUIDFilter);
+        }
+        return preparedStatement.executeQuery();
+    }
+
+    private PreparedStatement prepare(final String columns, final String table, final String orderBy) throws SQLException {
+        return connection.prepareStatement("SELECT " + columns + " FROM " + table
+                        + (playerUUIDFilter != null ? " WHERE PlayerUUID = ?" : "")
+                        + " ORDER BY " + orderBy,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * @return the QuestPlayer of the current row, or null if that player has not been loaded
+     */
+    private QuestPlayer getQuestPlayer(final ResultSet result) throws SQLException {
+        final byte[] playerUUID = result.getBytes("PlayerUUID");
+        if (!Arrays.equals(playerUUID, lastPlayerUUID)) {
+            lastPlayerUUID = playerUUID;
+            lastQuestPlayer = questPlayers.get(DatabaseSchema.bytesToUUID(playerUUID));
+        }
+        return lastQuestPlayer;
+    }
+
+    private ActiveQuest getActiveQuest(final QuestPlayer questPlayer, final String questName) {
+        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
+            if (activeQuest.getQuest().getQuestName().equals(questName)) {
+                return activeQuest;
+            }
+        }
+        return null;
+    }
+
+    private void loadQuestPlayers() throws SQLException {
+        try (final PreparedStatement preparedStatement = prepare("PlayerUUID, QuestPoints", "QuestPlayerData", "PlayerUUID");
+             final ResultSet result = query(preparedStatement)) {
+            while (result.next()) {
+                final UUID uuid = DatabaseSchema.bytesToUUID(result.getBytes("PlayerUUID"));
+                final long questPoints = result.getLong("QuestPoints");
+
+                final QuestPlayer questPlayer = new QuestPlayer(main, uuid);
+                questPlayer.setCurrentlyLoading(true);
+                questPlayer.setQuestPoints(questPoints, false);
+                questPlayers.put(uuid, questPlayer);
+            }
+        }
+    }
+
+    private void loadCompletedQuests() throws SQLException {
+        try (final PreparedStatement preparedStatement = prepare("PlayerUUID, QuestName, TimeCompleted", "CompletedQuests", "PlayerUUID");
+             final ResultSet result = query(preparedStatement)) {
+            while (result.next()) {
+                final QuestPlayer questPlayer = getQuestPlayer(result);
+                if (questPlayer == null) {
+                    continue;
+                }
+                final String questName = result.getString("QuestName");
+                final Quest quest = main.getQuestManager().getQuest(questName);
+                if (quest != null) {
+                    final long timeCompleted = result.getLong("TimeCompleted");
+                    if (timeCompleted > 0) {
+                        questPlayer.addCompletedQuest(new CompletedQuest(quest, questPlayer, timeCompleted));
+                    } else {
+                        main.getLogManager().warn("ERROR: TimeCompleted from Quest with name <highlight>" + questName + "</highlight> could not be loaded from database (requested for loading completed Quests)");
+                    }
+                } else {
+                    main.getLogManager().warn("ERROR: Quest with name <highlight>" + questName + "</highlight> could not be loaded from database (requested for loading completed Quests)");
+                }
+            }
+        }
+    }
+
+    private void loadActiveQuests() throws SQLException {
+        try (final PreparedStatement preparedStatement = prepare("PlayerUUID, QuestName", "ActiveQuests", "PlayerUUID");
+             final ResultSet result = query(preparedStatement)) {
+            while (result.next()) {
+                final QuestPlayer questPlayer = getQuestPlayer(result);
+                if (questPlayer == null) {
+                    continue;
+                }
+                final String questName = result.getString("QuestName");
+                final Quest quest = main.getQuestManager().getQuest(questName);
+                if (quest != null) {
+                    questPlayer.forceAddActiveQuest(new ActiveQuest(main, quest, questPlayer), false); //Run begin/accept trigger when plugin reloads if true
+                } else {
+                    main.getLogManager().warn("ERROR: Quest with name <highlight>" + questName + "</highlight> could not be loaded from database");
+                }
+            }
+        }
+    }
+
+    private void loadActiveTriggers() throws SQLException {
+        try (final PreparedStatement preparedStatement = prepare("PlayerUUID, QuestName, TriggerID, TriggerType, CurrentProgress", "ActiveTriggers", "PlayerUUID, QuestName");
+             final ResultSet result = query(preparedStatement)) {
+            while (result.next()) {
+                final QuestPlayer questPlayer = getQuestPlayer(result);
+                if (questPlayer == null) {
+                    continue;
+                }
+                final ActiveQuest activeQuest = getActiveQuest(questPlayer, result.getString("QuestName"));
+                if (activeQuest == null) {
+                    continue;
+                }
+
+                final String triggerTypeString = result.getString("TriggerType");
+                if (triggerTypeString == null) {
+                    main.getLogManager().warn("ERROR: TriggerType for the Quest <highlight>" + activeQuest.getQuest().getQuestName() + "</highlight> could not be loaded from database");
+                    continue;
+                }
+                final int triggerID = result.getInt("TriggerID");
+                final long currentProgress = result.getLong("CurrentProgress");
+
+                for (final ActiveTrigger activeTrigger : activeQuest.getActiveTriggers()) {
+                    if (activeTrigger.getTrigger().getTriggerType().equals(triggerTypeString) && activeTrigger.getTriggerID() == triggerID) {
+                        activeTrigger.addProgressSilent(currentProgress);
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadActiveObjectives() throws SQLException {
+        try (final PreparedStatement preparedStatement = prepare("PlayerUUID, QuestName, ObjectiveID, ObjectiveType, CurrentProgress, HasBeenCompleted", "ActiveObjectives", "PlayerUUID, QuestName");
+             final ResultSet result = query(preparedStatement)) {
+            while (result.next()) {
+                final QuestPlayer questPlayer = getQuestPlayer(result);
+                if (questPlayer == null) {
+                    continue;
+                }
+                final ActiveQuest activeQuest = getActiveQuest(questPlayer, result.getString("QuestName"));
+                if (activeQuest == null) {
+                    continue;
+                }
+
+                final String objectiveTypeString = result.getString("ObjectiveType");
+                if (objectiveTypeString == null) {
+                    main.getLogManager().warn("ERROR: ObjectiveType for the Quest <highlight>" + activeQuest.getQuest().getQuestName() + "</highlight> could not be loaded from database");
+                    continue;
+                }
+                final int objectiveID = result.getInt("ObjectiveID");
+                final long currentProgress = result.getLong("CurrentProgress");
+                final boolean hasBeenCompleted = result.getBoolean("HasBeenCompleted");
+
+                //So the active objectives are already there - we just need to fill them with progress data.
+                for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
+                    if (activeObjective.getObjective().getClass() == main.getObjectiveManager().getObjectiveClass(objectiveTypeString) && activeObjective.getObjectiveID() == objectiveID) {
+                        activeObjective.setHasBeenCompleted(hasBeenCompleted);
+                        if (activeObjective.getObjective().getCompletionNPCID() == -1) { //Complete automatically
+                            if (activeObjective.getObjective().getCompletionArmorStandUUID() != null && activeObjective.hasBeenCompleted()) { //Only complete if player has talked to the completion Armor Stand
+                                activeObjective.addProgress(currentProgress, activeObjective.getObjective().getCompletionArmorStandUUID(), true);
+                            } else {
+                                activeObjective.addProgress(currentProgress, true);
+                            }
+                        } else { //Only complete if player has talked to the completion NPC
+                            if (activeObjective.hasBeenCompleted()) {
+                                activeObjective.addProgress(currentProgress, activeObjective.getObjective().getCompletionNPCID(), true);
+                            } else {
+                                activeObjective.addProgress(currentProgress, true);
+                            }
+                        }
+                    }
+                }
+                activeQuest.removeCompletedObjectives(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.managers;
+
+import rocks.gravili.notquests.paper.NotQuests;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Writes the changes of QuestPlayers (see {@link PlayerDataChanges}) to the database. All changes are written inside a
+ * single transaction, using one PreparedStatement batch per table instead of separate statements for every row. This
+ * works for both SQLite and MySQL.
+ */
+public class PlayerDataSaver implements AutoCloseable {
+    /**
+     * After this many players, the batches are sent to the database so they don't grow indefinitely
+     */
+    private static final int PLAYERS_PER_BATCH = 500;
+
+    private final Connection connection;
+    private final boolean previousAutoCommit;
+
+    private final PreparedStatement deleteQuestPlayerData, deleteActiveQuests, deleteActiveObjectives, deleteActiveTriggers, deleteCompletedQuests;
+    private final PreparedStatement deleteActiveObjective, deleteActiveTrigger;
+    private final PreparedStatement insertQuestPlayerData, insertActiveQuest, insertActiveObjective, insertActiveTrigger, insertCompletedQuest;
+
+    private int playersInBatch = 0;
+
+    public PlayerDataSaver(final Connection connection) throws SQLException {
+        this.connection = connection;
+
+        deleteQuestPlayerData = connection.prepareStatement("DELETE FROM QuestPlayerData WHERE PlayerUUID = ?");
+        deleteActiveQuests = connection.prepareStatement("DELETE FROM ActiveQuests WHERE PlayerUUID = ?");
+        deleteActiveObjectives = connection.prepareStatement("DELETE FROM ActiveObjectives WHERE PlayerUUID = ?");
+        deleteActiveTriggers = connection.prepareStatement("DELETE FROM ActiveTriggers WHERE PlayerUUID = ?");
+        deleteCompletedQuests = connection.prepareStatement("DELETE FROM CompletedQuests WHERE PlayerUUID = ?");
+
+        deleteActiveObjective = connection.prepareStatement("DELETE FROM ActiveObjectives WHERE PlayerUUID = ? AND QuestName = ? AND ObjectiveID = ?");
+        deleteActiveTrigger = connection.prepareStatement("DELETE FROM ActiveTriggers WHERE PlayerUUID = ? AND QuestName = ? AND TriggerID = ?");
+
+        insertQuestPlayerData = connection.prepareStatement("INSERT INTO QuestPlayerData (PlayerUUID, QuestPoints) VALUES (?, ?)");
+        insertActiveQuest = connection.prepareStatement("INSERT INTO ActiveQuests (QuestName, PlayerUUID) VALUES (?, ?)");
+        insertActiveObjective = connection.prepareStatement("INSERT INTO ActiveObjectives (ObjectiveType, QuestName, PlayerUUID, CurrentProgress, ObjectiveID, HasBeenCompleted) VALUES (?, ?, ?, ?, ?, ?)");
+        insertActiveTrigger = connection.prepareStatement("INSERT INTO ActiveTriggers (TriggerType, QuestName, PlayerUUID, CurrentProgress, TriggerID) VALUES (?, ?, ?, ?, ?)");
+        insertCompletedQuest = connection.prepareStatement("INSERT INTO CompletedQuests (QuestName, PlayerUUID, TimeCompleted) VALUES (?, ?, ?)");
+
+        previousAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+    }
+
+    /**
+     * Writes all the given changes in one transaction. If anything fails, the whole transaction is rolled back, so
+     * the previously saved data stays intact.
+     *
+     * @param main    an instance of NotQuests
+     * @param changes the changes which should be written
+     */
+    public static void save(final NotQuests main, final Collection<PlayerDataChanges> changes) throws SQLException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        try (final Connection connection = main.getDataManager().getConnection();
+             final PlayerDataSaver playerDataSaver = new PlayerDataSaver(connection)) {
+            try {
+                for (final PlayerDataChanges playerDataChanges : changes) {
+                    playerDataSaver.add(playerDataChanges);
+                }
+                playerDataSaver.commit();
+            } catch (SQLException sqlException) {
+                connection.rollback();
+                throw sqlException;
+            }
+        }
+    }
+
+    /**
+     * Adds the changes of a QuestPlayer to the batches. The batches are executed once enough players have been added.
+     *
+     * @param playerDataChanges the changes which should be written
+     */
+    public void add(final PlayerDataChanges playerDataChanges) throws SQLException {
+        final byte[] questPlayerUUID = playerDataChanges.getQuestPlayerUUID();
+
+        //QuestPoints
+        if (playerDataChanges.getQuestPoints() != null) {
+            deleteQuestPlayerData.setBytes(1, questPlayerUUID);
+            deleteQuestPlayerData.addBatch();
+
+            insertQuestPlayerData.setBytes(1, questPlayerUUID);
+            insertQuestPlayerData.setLong(2, playerDataChanges.getQuestPoints());
+            insertQuestPlayerData.addBatch();
+        }
+
+        //Active Quests
+        if (playerDataChanges.isRewriteActiveQuests()) {
+            deleteActiveQuests.setBytes(1, questPlayerUUID);
+            deleteActiveQuests.addBatch();
+            deleteActiveObjectives.setBytes(1, questPlayerUUID);
+            deleteActiveObjectives.addBatch();
+            deleteActiveTriggers.setBytes(1, questPlayerUUID);
+            deleteActiveTriggers.addBatch();
+
+            for (final String questName : playerDataChanges.getActiveQuestNames()) {
+                insertActiveQuest.setString(1, questName);
+                insertActiveQuest.setBytes(2, questPlayerUUID);
+                insertActiveQuest.addBatch();
+            }
+        }
+
+        //Active Triggers
+        for (final PlayerDataChanges.TriggerRow triggerRow : playerDataChanges.getActiveTriggers()) {
+            if (!playerDataChanges.isRewriteActiveQuests()) {
+                deleteActiveTrigger.setBytes(1, questPlayerUUID);
+                deleteActiveTrigger.setString(2, triggerRow.questName());
+                deleteActiveTrigger.setInt(3, triggerRow.triggerID());
+                deleteActiveTrigger.addBatch();
+            }
+            insertActiveTrigger.setString(1, triggerRow.triggerType());
+            insertActiveTrigger.setString(2, triggerRow.questName());
+            insertActiveTrigger.setBytes(3, questPlayerUUID);
+            insertActiveTrigger.setLong(4, triggerRow.currentProgress());
+            insertActiveTrigger.setInt(5, triggerRow.triggerID());
+            insertActiveTrigger.addBatch();
+        }
+
+        //Active Objectives
+        for (final PlayerDataChanges.ObjectiveRow objectiveRow : playerDataChanges.getActiveObjectives()) {
+            if (!playerDataChanges.isRewriteActiveQuests()) {
+                deleteActiveObjective.setBytes(1, questPlayerUUID);
+                deleteActiveObjective.setString(2, objectiveRow.questName());
+                deleteActiveObjective.setInt(3, objectiveRow.objectiveID());
+                deleteActiveObjective.addBatch();
+            }
+            insertActiveObjective.setString(1, objectiveRow.objectiveType());
+            insertActiveObjective.setString(2, objectiveRow.questName());
+            insertActiveObjective.setBytes(3, questPlayerUUID);
+            insertActiveObjective.setLong(4, objectiveRow.currentProgress());
+            insertActiveObjective.setInt(5, objectiveRow.objectiveID());
+            insertActiveObjective.setBoolean(6, objectiveRow.hasBeenCompleted());
+            insertActiveObjective.addBatch();
+        }
+
+        //Completed Quests
+        if (playerDataChanges.isRewriteCompletedQuests()) {
+            deleteCompletedQuests.setBytes(1, questPlayerUUID);
+            deleteCompletedQuests.addBatch();
+        }
+        for (final PlayerDataChanges.CompletedQuestRow completedQuestRow : playerDataChanges.getCompletedQuests()) {
+            insertCompletedQuest.setString(1, completedQuestRow.questName());
+            insertCompletedQuest.setBytes(2, questPlayerUUID);
+            insertCompletedQuest.setLong(3, completedQuestRow.timeCompleted());
+            insertCompletedQuest.addBatch();
+        }
+
+        playersInBatch++;
+        if (playersInBatch >= PLAYERS_PER_BATCH) {
+            executeBatches();
+        }
+    }
+
+    /**
+     * Sends all batches to the database. The deletes have to run before the inserts, since they belong to the same players.
+     */
+    private void executeBatches() throws SQLException {
+        if (playersInBatch == 0) {
+            return;
+        }
+        deleteQuestPlayerData.executeBatch();
+        deleteActiveQuests.executeBatch();
+        deleteActiveObjectives.executeBatch();
+        deleteActiveTriggers.executeBatch();
+        deleteCompletedQuests.executeBatch();
+        deleteActiveObjective.executeBatch();
+        deleteActiveTrigger.executeBatch();
+
+        insertQuestPlayerData.executeBatch();
+        insertActiveQuest.executeBatch();
+        insertActiveObjective.executeBatch();
+        insertActiveTrigger.executeBatch();
+        insertCompletedQuest.executeBatch();
+
+        playersInBatch = 0;
+    }
+
+    /**
+     * Executes the remaining batches and commits the transaction
+     */
+    public void commit() throws SQLException {
+        executeBatches();
+        connection.commit();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            deleteQuestPlayerData.close();
+            deleteActiveQuests.close();
+            deleteActiveObjectives.close();
+            deleteActiveTriggers.close();
+            deleteCompletedQuests.close();
+            deleteActiveObjective.close();
+            deleteActiveTrigger.close();
+
+            insertQuestPlayerData.close();
+            insertActiveQuest.close();
+            insertActiveObjective.close();
+            insertActiveTrigger.close();
+            insertCompletedQuest.close();
+        } finally {
+            connection.setAutoCommit(previousAutoCommit);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import rocks.gravili.notquests.paper.NotQuests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spawns the quest giver indicator particles above the heads of Citizens NPCs and Armor Stands which have quests or
+ * conversations attached to them. This runs every tick on the main thread, but only handles a part of all quest
+ * givers each tick, so every quest giver is visited once per spawn interval and the work per tick stays bounded.
+ * <p>
+ * Quest givers in unloaded chunks or without any player within the view distance are skipped, and the particles are
+ * only sent to the players close to them.
+ */
+public class QuestGiverIndicatorManager {
+    private final NotQuests main;
+
+    /**
+     * Entities of the spawned Citizens NPCs with the quest giver trait. They are added and removed by the trait.
+     */
+    private final ArrayList<Entity> questGiverNPCEntities = new ArrayList<>();
+    /**
+     * Entity => its index in questGiverNPCEntities, so adding and removing them doesn't have to search the whole list
+     */
+    private final HashMap<Entity, Integer> questGiverNPCEntityIndexes = new HashMap<>();
+
+    //Index of the next quest giver which should be handled
+    private int armorStandCursor = 0;
+    private int npcCursor = 0;
+
+    /**
+     * Re-used for every quest giver, so reading their location doesn't allocate anything
+     */
+    private final Location location = new Location(null, 0, 0, 0);
+
+    private BukkitTask task;
+
+    public QuestGiverIndicatorManager(final NotQuests main) {
+        this.main = main;
+    }
+
+    public void start() {
+        if (task != null) {
+            return;
+        }
+        task = Bukkit.getScheduler().runTaskTimer(main.getMain(), this::tick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    public void addQuestGiverNPCEntity(final Entity entity) {
+        if (entity != null && questGiverNPCEntityIndexes.putIfAbsent(entity, questGiverNPCEntities.size()) == null) {
+            questGiverNPCEntities.add(entity);
+        }
+    }
+
+    public void removeQuestGiverNPCEntity(final Entity entity) {
+        if (entity == null) {
+            return;
+        }
+        final Integer index = questGiverNPCEntityIndexes.remove(entity);
+        if (index == null) {
+            return;
+        }
+        //Move the last entity into the gap, so nothing has to be shifted
+        final Entity last = questGiverNPCEntities.remove(questGiverNPCEntities.size() - 1);
+        if (index < questGiverNPCEntities.size()) {
+            questGiverNPCEntities.set(index, last);
+            questGiverNPCEntityIndexes.put(last, index);
+        }
+    }
+
+    private void tick() {
+        final Configuration configuration = main.getConfiguration();
+        final boolean armorStandParticles = configuration.isArmorStandQuestGiverIndicatorParticleEnabled() && main.getArmorStandManager() != null;
+        final boolean npcParticles = configuration.isCitizensNPCQuestGiverIndicatorParticleEnabled() && !questGiverNPCEntities.isEmpty();
+        if (!armorStandParticles && !npcParticles) {
+            return;
+        }
+
+        //Disable if Server TPS is too low. The TPS are only read once per tick.
+        final double tps = main.getPerformanceManager().getTPS();
+
+        if (armorStandParticles) {
+            final double minimumTPS = configuration.getArmorStandQuestGiverIndicatorParticleDisableIfTPSBelow();
+            if (minimumTPS < 0 || tps >= minimumTPS) {
+                armorStandCursor = spawnParticles(main.getArmorStandManager().getArmorStandsWithQuestsOrConversationAttachedToThem(), armorStandCursor,
+                        configuration.getArmorStandQuestGiverIndicatorParticleSpawnInterval(),
+                        configuration.getArmorStandQuestGiverIndicatorParticleType(),
+                        configuration.getArmorStandQuestGiverIndicatorParticleCount(),
+                        configuration.getArmorStandQuestGiverIndicatorParticleViewDistance());
+            }
+        }
+
+        if (npcParticles) {
+            final double minimumTPS = configuration.getCitizensNPCQuestGiverIndicatorParticleDisableIfTPSBelow();
+            if (minimumTPS < 0 || tps >= minimumTPS) {
+                npcCursor = spawnParticles(questGiverNPCEntities, npcCursor,
+                        configuration.getCitizensNPCQuestGiverIndicatorParticleSpawnInterval(),
+                        configuration.getCitizensNPCQuestGiverIndicatorParticleType(),
+                        configuration.getCitizensNPCQuestGiverIndicatorParticleCount(),
+                        configuration.getCitizensNPCQuestGiverIndicatorParticleViewDistance());
+            }
+        }
+    }
+
+    /**
+     * Spawns the particles for the next part of the quest givers, so all of them are handled once per spawn interval.
+     *
+     * @return the index of the quest giver which should be handled next tick
+     */
+    private int spawnParticles(final List<? extends Entity> questGivers, int cursor, final int spawnInterval, final Particle particle, final int count, final double viewDistance) {
+        final int size = questGivers.size();
+        if (size == 0) {
+            return 0;
+        }
+        final int questGiversPerTick = (size + Math.max(1, spawnInterval) - 1) / Math.max(1, spawnInterval);
+        for (int i = 0; i < questGiversPerTick; i++) {
+            if (cursor >= size) {
+                cursor = 0;
+            }
+            spawnParticle(questGivers.get(cursor), particle, count, viewDistance);
+            cursor++;
+        }
+        return cursor;
+    }
+
+    private void spawnParticle(final Entity questGiver, final Particle particle, final int count, final double viewDistance) {
+        //Entities in unloaded chunks are not valid
+        if (!questGiver.isValid()) {
+            return;
+        }
+        questGiver.getLocation(location);
+        final World world = location.getWorld();
+        if (world == null || !world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+            return;
+        }
+
+        final Collection<Player> nearbyPlayers = world.getNearbyPlayers(location, viewDistance);
+        if (nearbyPlayers.isEmpty()) {
+            return;
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final double x = location.getX() - 0.25 + (random.nextDouble() / 2);
+        final double y = location.getY() + 1.75 + (random.nextDouble() / 2);
+        final double z = location.getZ() - 0.25 + (random.nextDouble() / 2);
+        for (final Player player : nearbyPlayers) {
+            player.spawnParticle(particle, x, y, z, count);
+        }
+    }
+}
@@ -32,14 +32,11 @@ import net.kyori.adventure.text.event.HoverEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
 import rocks.gravili.notquests.paper.structs.ActiveQuest;
@@ -51,7 +48,12 @@ import rocks.gravili.notquests.paper.structs.objectives.Objective;
 import rocks.gravili.notquests.paper.structs.triggers.Trigger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public class QuestManager {
@@ -59,15 +61,31 @@ public class QuestManager {
     private final NotQuests main;
 
     private final ArrayList<Quest> quests;
+    /**
+     * Lower case quest name => Quest. It's updated whenever a quest is created, deleted or loaded.
+     */
+    private final HashMap<String, Quest> questsByName;
+    /*
+     * NPC ID => quests attached to that NPC. These are kept in sync by Quest.bindToNPC(), Quest.removeNPC(),
+     * Quest.clearNPCs() and by deleting quests, so the quests of an NPC don't have to be searched in all quests.
+     */
+    private final HashMap<Integer, ArrayList<Quest>> questsAttachedToNPCWithShowing;
+    private final HashMap<Integer, ArrayList<Quest>> questsAttachedToNPCWithoutShowing;
 
-    private final ArrayList<Player> debugEnabledPlayers;
+    /**
+     * UUIDs of the players who enabled their debug mode. This is checked every time a debug message could be sent, so it's a set
+     */
+    private final Set<UUID> debugEnabledPlayers;
 
 
     public QuestManager(NotQuests main) {
         this.main = main;
         quests = new ArrayList<>();
+        questsByName = new HashMap<>();
+        questsAttachedToNPCWithShowing = new HashMap<>();
+        questsAttachedToNPCWithoutShowing = new HashMap<>();
 
-        debugEnabledPlayers = new ArrayList<>();
+        debugEnabledPlayers = ConcurrentHashMap.newKeySet();
     }
 
 
@@ -78,6 +96,7 @@ public class QuestManager {
             }
             Quest newQuest = new Quest(main, questName);
             quests.add(newQuest);
+            questsByName.put(questName.toLowerCase(Locale.ROOT), newQuest);
             main.getDataManager().getQuestsConfig().set("quests." + questName, "");
             return ("<success>Quest <highlight>" + questName + "</highlight> successfully created!");
         } else {
@@ -89,6 +108,13 @@ public class QuestManager {
         if (getQuest(questName) != null) {
             Quest questToDelete = getQuest(questName);
             quests.remove(questToDelete);
+            questsByName.remove(questToDelete.getQuestName().toLowerCase(Locale.ROOT));
+            for (final NPC npc : questToDelete.getAttachedNPCsWithQuestShowing()) {
+                removeQuestAttachedToNPC(npc.getId(), questToDelete);
+            }
+            for (final NPC npc : questToDelete.getAttachedNPCsWithoutQuestShowing()) {
+                removeQuestAttachedToNPC(npc.getId(), questToDelete);
+            }
             main.getDataManager().getQuestsConfig().set("quests." + questName, null);
             return ("<success>Quest <highlight>" + questName + "</highlight> successfully deleted!");
         } else {
@@ -97,12 +123,10 @@ public class QuestManager {
     }
 
     public final Quest getQuest(String questName) {
-        for (Quest quest : quests) {
-            if (quest.getQuestName().equalsIgnoreCase(questName)) {
-                return quest;
-            }
+        if (questName == null) {
+            return null;
         }
-        return null;
+        return questsByName.get(questName.toLowerCase(Locale.ROOT));
     }
 
     public final ArrayList<Quest> getAllQuests() {
@@ -121,6 +145,9 @@ public class QuestManager {
             main.getLogManager().info("Loading Quests data...");
 
             quests.clear();
+            questsByName.clear();
+            questsAttachedToNPCWithShowing.clear();
+            questsAttachedToNPCWithoutShowing.clear();
 
 
             main.getUpdateManager().convertQuestsYMLActions();
@@ -524,10 +551,19 @@ public class QuestManager {
                     quest.setTakeItem(main.getUpdateManager().convertTakeItemMaterialToItemStack(questName));
 
                     quests.add(quest);
+                    questsByName.putIfAbsent(quest.getQuestName().toLowerCase(Locale.ROOT), quest);
                 }
             }
 
             main.getDataManager().setAlreadyLoadedQuests(true);
+
+            //Cached placeholder answers and quest journals might still reference the previous quests
+            if (main.getIntegrationsManager().getQuestPlaceholders() != null) {
+                main.getIntegrationsManager().getQuestPlaceholders().clearCachedAnswers();
+            }
+            if (main.getGuiManager() != null) {
+                main.getGuiManager().clearCachedJournals();
+            }
         } catch (Exception ex) {
             main.getDataManager().disablePluginAndSaving("Plugin disabled, because there was an exception while loading quests data.", ex);
             return;
@@ -538,112 +574,93 @@ public class QuestManager {
 
 
     public final ArrayList<Quest> getAllQuestsAttachedToArmorstand(final ArmorStand armorstand) {
-        return new ArrayList<>() {{
-            PersistentDataContainer armorstandPDB = armorstand.getPersistentDataContainer();
-            NamespacedKey attachedShowingQuestsKey = new NamespacedKey(main.getMain(), "notquests-attachedQuests-showing");
-            NamespacedKey attachedNonShowingQuestsKey = new NamespacedKey(main.getMain(), "notquests-attachedQuests-nonshowing");
-
-            //Showing
-            if (armorstandPDB.has(attachedShowingQuestsKey, PersistentDataType.STRING)) {
-                String existingAttachedQuests = armorstandPDB.get(attachedShowingQuestsKey, PersistentDataType.STRING);
-                if (existingAttachedQuests != null && existingAttachedQuests.length() >= 1) {
-                    for (String split : existingAttachedQuests.split("°")) {
-                        final Quest foundQuest = getQuest(split);
-                        if (foundQuest != null) {
-                            add(foundQuest);
-                        }
-                    }
-                }
-            }
-
-            //Nonshowing
-            if (armorstandPDB.has(attachedNonShowingQuestsKey, PersistentDataType.STRING)) {
-                String existingAttachedQuests = armorstandPDB.get(attachedNonShowingQuestsKey, PersistentDataType.STRING);
-                if (existingAttachedQuests != null && existingAttachedQuests.length() >= 1) {
-                    for (String split : existingAttachedQuests.split("°")) {
-                        final Quest foundQuest = getQuest(split);
-                        if (foundQuest != null) {
-                            add(foundQuest);
-                        }
-                    }
-                }
-            }
+        final ArrayList<Quest> questsAttached = getQuestsAttachedToArmorstandWithShowing(armorstand);
+        addQuests(questsAttached, main.getArmorStandManager().getAttachedQuestNamesWithoutShowing(armorstand));
+        return questsAttached;
+    }
 
-        }};
+    public final ArrayList<Quest> getQuestsAttachedToArmorstandWithShowing(final ArmorStand armorstand) {
+        final ArrayList<Quest> questsAttached = new ArrayList<>();
+        addQuests(questsAttached, main.getArmorStandManager().getAttachedQuestNamesWithShowing(armorstand));
+        return questsAttached;
+    }
 
+    public final ArrayList<Quest> getQuestsAttachedToArmorstandWithoutShowing(final ArmorStand armorstand) {
+        final ArrayList<Quest> questsAttached = new ArrayList<>();
+        addQuests(questsAttached, main.getArmorStandManager().getAttachedQuestNamesWithoutShowing(armorstand));
+        return questsAttached;
     }
 
-    public final ArrayList<Quest> getQuestsAttachedToArmorstandWithShowing(final ArmorStand armorstand) {
-        return new ArrayList<>() {{
-            PersistentDataContainer armorstandPDB = armorstand.getPersistentDataContainer();
-            NamespacedKey attachedQuestsKey = new NamespacedKey(main.getMain(), "notquests-attachedQuests-showing");
-
-            if (armorstandPDB.has(attachedQuestsKey, PersistentDataType.STRING)) {
-                String existingAttachedQuests = armorstandPDB.get(attachedQuestsKey, PersistentDataType.STRING);
-                if (existingAttachedQuests != null && existingAttachedQuests.length() >= 1) {
-                    for (String split : existingAttachedQuests.split("°")) {
-                        final Quest foundQuest = getQuest(split);
-                        if (foundQuest != null) {
-                            add(foundQuest);
-                        }
-                    }
-                }
+    private void addQuests(final ArrayList<Quest> addTo, final List<String> questNames) {
+        for (final String questName : questNames) {
+            final Quest foundQuest = getQuest(questName);
+            if (foundQuest != null) {
+                addTo.add(foundQuest);
             }
-        }};
+        }
+    }
 
+    /**
+     * Adds a quest to the NPC index. This is called by Quest.bindToNPC().
+     *
+     * @param npcID   the ID of the NPC the quest has been attached to
+     * @param quest   the quest
+     * @param showing if the quest is shown when the NPC is clicked
+     */
+    public void addQuestAttachedToNPC(final int npcID, final Quest quest, final boolean showing) {
+        final ArrayList<Quest> questsAttached = (showing ? questsAttachedToNPCWithShowing : questsAttachedToNPCWithoutShowing).computeIfAbsent(npcID, k -> new ArrayList<>());
+        if (!questsAttached.contains(quest)) {
+            questsAttached.add(quest);
+        }
     }
 
-    public final ArrayList<Quest> getQuestsAttachedToArmorstandWithoutShowing(final ArmorStand armorstand) {
-        return new ArrayList<>() {{
-            PersistentDataContainer armorstandPDB = armorstand.getPersistentDataContainer();
-            NamespacedKey attachedQuestsKey = new NamespacedKey(main.getMain(), "notquests-attachedQuests-nonshowing");
-
-            if (armorstandPDB.has(attachedQuestsKey, PersistentDataType.STRING)) {
-                String existingAttachedQuests = armorstandPDB.get(attachedQuestsKey, PersistentDataType.STRING);
-                if (existingAttachedQuests != null && existingAttachedQuests.length() >= 1) {
-                    for (String split : existingAttachedQuests.split("°")) {
-                        final Quest foundQuest = getQuest(split);
-                        if (foundQuest != null) {
-                            add(foundQuest);
-                        }
-                    }
-                }
+    /**
+     * Removes a quest from the NPC index. This is called by Quest.removeNPC() and Quest.clearNPCs().
+     *
+     * @param npcID the ID of the NPC the quest has been removed from
+     * @param quest the quest
+     */
+    public void removeQuestAttachedToNPC(final int npcID, final Quest quest) {
+        removeQuestAttachedToNPC(questsAttachedToNPCWithShowing, npcID, quest);
+        removeQuestAttachedToNPC(questsAttachedToNPCWithoutShowing, npcID, quest);
+    }
+
+    private void removeQuestAttachedToNPC(final HashMap<Integer, ArrayList<Quest>> index, final int npcID, final Quest quest) {
+        final ArrayList<Quest> questsAttached = index.get(npcID);
+        if (questsAttached != null) {
+            questsAttached.remove(quest);
+            if (questsAttached.isEmpty()) {
+                index.remove(npcID);
             }
-        }};
+        }
     }
 
     public final ArrayList<Quest> getAllQuestsAttachedToNPC(final NPC npc) {
-        final ArrayList<Quest> questsAttached = new ArrayList<>();
-        for (Quest quest : quests) {
-            if (quest.getAttachedNPCsWithQuestShowing().contains(npc) || quest.getAttachedNPCsWithoutQuestShowing().contains(npc)) {
-                questsAttached.add(quest);
-            }
+        final ArrayList<Quest> questsAttached = getQuestsAttachedToNPCWithShowing(npc);
+        final ArrayList<Quest> questsAttachedWithoutShowing = questsAttachedToNPCWithoutShowing.get(npc.getId());
+        if (questsAttachedWithoutShowing != null) {
+            questsAttached.addAll(questsAttachedWithoutShowing);
         }
-        // System.out.println("§esize: " + questsattached.size());
         return questsAttached;
     }
 
     public final ArrayList<Quest> getQuestsAttachedToNPCWithShowing(final NPC npc) {
-        final ArrayList<Quest> questsAttached = new ArrayList<>();
-        for (Quest quest : quests) {
-            if (quest.getAttachedNPCsWithQuestShowing().contains(npc)) {
-                questsAttached.add(quest);
-            }
-        }
-        // System.out.println("§esize: " + questsattached.size());
-        return questsAttached;
+        final ArrayList<Quest> questsAttached = questsAttachedToNPCWithShowing.get(npc.getId());
+        return questsAttached != null ? new ArrayList<>(questsAttached) : new ArrayList<>();
     }
 
 
     public final ArrayList<Quest> getQuestsAttachedToNPCWithoutShowing(final NPC npc) {
-        final ArrayList<Quest> questsattached = new ArrayList<>();
-        for (Quest quest : quests) {
-            if (quest.getAttachedNPCsWithoutQuestShowing().contains(npc)) {
-                questsattached.add(quest);
-            }
-        }
-        // System.out.println("§esize: " + questsattached.size());
-        return questsattached;
+        final ArrayList<Quest> questsAttached = questsAttachedToNPCWithoutShowing.get(npc.getId());
+        return questsAttached != null ? new ArrayList<>(questsAttached) : new ArrayList<>();
+    }
+
+    /**
+     * @param npc the NPC
+     * @return if any quest is attached to the NPC, without creating a new list
+     */
+    public final boolean hasQuestsAttachedToNPC(final NPC npc) {
+        return questsAttachedToNPCWithShowing.containsKey(npc.getId()) || questsAttachedToNPCWithoutShowing.containsKey(npc.getId());
     }
 
     public final ArrayList<NPC> getAllNPCsAttachedToQuest(final Quest quest) {
@@ -1117,7 +1134,7 @@ public class QuestManager {
             allNPCsFound += 1;
 
             //No quests attached to NPC => check if it has the trait
-            if (getAllQuestsAttachedToNPC(npc).size() == 0 && (main.getConversationManager().getConversationForNPCID(npc.getId()) == null)) {
+            if (!hasQuestsAttachedToNPC(npc) && (main.getConversationManager().getConversationForNPCID(npc.getId()) == null)) {
                 for (final Trait trait : npc.getTraits()) {
                     if (trait.getName().contains("questgiver")) {
                         traitsToRemove.add(trait);
@@ -1357,20 +1374,24 @@ public class QuestManager {
 
     }
 
-    public final ArrayList<Player> getDebugEnabledPlayers() {
+    public final Set<UUID> getDebugEnabledPlayers() {
         return debugEnabledPlayers;
     }
 
     public void addDebugEnabledPlayer(final Player player) {
-        this.debugEnabledPlayers.add(player);
+        this.debugEnabledPlayers.add(player.getUniqueId());
     }
 
     public void removeDebugEnabledPlayer(final Player player) {
-        this.debugEnabledPlayers.remove(player);
+        this.debugEnabledPlayers.remove(player.getUniqueId());
     }
 
     public final boolean isDebugEnabledPlayer(final Player player) {
-        return this.debugEnabledPlayers.contains(player);
+        return isDebugEnabledPlayer(player.getUniqueId());
+    }
+
+    public final boolean isDebugEnabledPlayer(final UUID uuid) {
+        return !debugEnabledPlayers.isEmpty() && debugEnabledPlayers.contains(uuid);
     }
 
 }
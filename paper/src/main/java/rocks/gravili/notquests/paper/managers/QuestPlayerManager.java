@@ -18,29 +18,65 @@
 
 package rocks.gravili.notquests.paper.managers;
 
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.*;
-import rocks.gravili.notquests.paper.structs.triggers.ActiveTrigger;
+import rocks.gravili.notquests.paper.structs.conditions.Condition;
 
-import java.sql.ResultSet;
+import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static rocks.gravili.notquests.paper.commands.NotQuestColors.*;
 
 public class QuestPlayerManager {
+    /**
+     * Shown if the data of a player is needed while it is still being loaded from the database
+     */
+    public static final String STILL_LOADING_MESSAGE = "<error>Your quest data is still being loaded. Please try again in a moment.";
+
     private final NotQuests main;
 
 
-    private final HashMap<UUID, QuestPlayer> questPlayersAndUUIDs;
+    private final ConcurrentHashMap<UUID, QuestPlayer> questPlayersAndUUIDs;
+
+    /**
+     * Only used if player data is loaded once players join. These QuestPlayers have already been removed from questPlayersAndUUIDs,
+     * but are still being saved to the database. If the player joins again in the meantime, the QuestPlayer is simply re-used.
+     */
+    private final ConcurrentHashMap<UUID, QuestPlayer> questPlayersBeingUnloaded;
+    /**
+     * UUIDs of the players whose data is currently being loaded from the database. Their QuestPlayer will only be
+     * available via getQuestPlayer() once loading has finished.
+     */
+    private final Set<UUID> currentlyLoadingPlayers;
+    private final ConcurrentHashMap<UUID, BukkitTask> scheduledUnloads;
+
+    /**
+     * All player data is written to the database by this single thread, so the writes happen in the same order in which
+     * the changes were collected.
+     */
+    private final ExecutorService playerDataSaveExecutor;
+    private BukkitTask autoSaveTask;
 
     public QuestPlayerManager(NotQuests notQuests) {
         this.main = notQuests;
-        questPlayersAndUUIDs = new HashMap<>();
+        questPlayersAndUUIDs = new ConcurrentHashMap<>();
+        questPlayersBeingUnloaded = new ConcurrentHashMap<>();
+        currentlyLoadingPlayers = ConcurrentHashMap.newKeySet();
+        scheduledUnloads = new ConcurrentHashMap<>();
+        playerDataSaveExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "NotQuests Player Data Saver"));
     }
 
     public void loadPlayerData() {
@@ -51,176 +87,296 @@ public class QuestPlayerManager {
 
         questPlayersAndUUIDs.clear();
 
+        if (main.getConfiguration().loadPlayerDataOnJoin) {
+            main.getLogManager().info("Player data will be loaded once players join. Loading the data of online players...");
+            for (final Player player : Bukkit.getOnlinePlayers()) {
+                loadQuestPlayer(player.getUniqueId(), true);
+            }
+            return;
+        }
 
-        //Quest Players
-        try {
-            ResultSet result = main.getDataManager().getDatabaseStatement().executeQuery("SELECT * FROM QuestPlayerData");
-            while (result.next()) {
-                final UUID uuid = UUID.fromString(result.getString("PlayerUUID"));
-                createQuestPlayer(uuid);
-                final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(uuid);
+        final long startTime = System.currentTimeMillis();
+        try (final Connection connection = main.getDataManager().getConnection()) {
+            questPlayersAndUUIDs.putAll(new PlayerDataLoader(main, connection, null).load());
+        } catch (SQLException sqlException) {
+            main.getLogManager().warn("There was an error loading the playerdata! Stacktrace:");
+            sqlException.printStackTrace();
+            return;
+        }
+        main.getLogManager().info("Loaded the data of <highlight>" + questPlayersAndUUIDs.size() + "</highlight> players in <highlight>" + (System.currentTimeMillis() - startTime) + "</highlight>ms");
+    }
 
-                final long questPoints = result.getLong("QuestPoints");
-                main.getLogManager().info("Loaded player with uuid <highlight>" + uuid + "</highlight> and questPoints: " + questPoints);
+    /**
+     * Loads the data of a single player from the database. This is used instead of loading all players in loadPlayerData()
+     * if player data should only be loaded once a player joins. The QuestPlayer is built completely before it is made
+     * available through getQuestPlayer(), so nothing can see a half-loaded QuestPlayer.
+     * <p>
+     * This does blocking database queries, so it should preferably be called from an asynchronous thread.
+     *
+     * @param uuid the UUID of the player whose data should be loaded
+     * @return the loaded QuestPlayer, or null if there is no data for this player or it is already being loaded by another thread
+     */
+    public QuestPlayer loadQuestPlayer(final UUID uuid) {
+        return loadQuestPlayer(uuid, false);
+    }
 
-                if (questPlayer != null) {
-                    //QuestPoints
-                    questPlayer.setQuestPoints(questPoints, false);
+    /**
+     * Like {@link #loadQuestPlayer(UUID)}, but if there is no data for this player, a new QuestPlayer can be created right
+     * away. This is used for players who join, so their first getOrCreateQuestPlayer() call on the main thread doesn't have
+     * to query the database again.
+     *
+     * @param uuid            the UUID of the player whose data should be loaded
+     * @param createIfMissing if a new QuestPlayer should be created if there is no data for this player
+     * @return the loaded or created QuestPlayer, or null if it is already being loaded by another thread or loading failed
+     */
+    public QuestPlayer loadQuestPlayer(final UUID uuid, final boolean createIfMissing) {
+        final QuestPlayer existingQuestPlayer = questPlayersAndUUIDs.get(uuid);
+        if (existingQuestPlayer != null) {
+            return existingQuestPlayer;
+        }
 
+        //If the player re-joins while their data is still being saved, we can just re-use the QuestPlayer which is being saved
+        final QuestPlayer unloadingQuestPlayer = questPlayersBeingUnloaded.get(uuid);
+        if (unloadingQuestPlayer != null) {
+            final QuestPlayer otherQuestPlayer = questPlayersAndUUIDs.putIfAbsent(uuid, unloadingQuestPlayer);
+            return otherQuestPlayer != null ? otherQuestPlayer : unloadingQuestPlayer;
+        }
 
-                } else {
-                    main.getLogManager().severe("ERROR: QuestPlayer with the UUID <highlight>" + uuid + "</highlight> could not be loaded from database");
+        if (!currentlyLoadingPlayers.add(uuid)) {
+            return null;
+        }
 
+        final long startTime = System.nanoTime();
+        try (final Connection connection = main.getDataManager().getConnection()) {
+            QuestPlayer questPlayer = new PlayerDataLoader(main, connection, uuid).load().get(uuid);
+            if (questPlayer == null) {
+                if (!createIfMissing) {
+                    return null;
                 }
-
+                //Still created while this player is in currentlyLoadingPlayers, so createQuestPlayer() cannot create one at the same time
+                questPlayer = new QuestPlayer(main, uuid);
             }
-            result.close();
+            //A QuestPlayer which was being unloaded might have been re-used in the meantime. Never replace it.
+            final QuestPlayer otherQuestPlayer = questPlayersAndUUIDs.putIfAbsent(uuid, questPlayer);
+            if (otherQuestPlayer != null) {
+                main.getLogManager().warn("The data of the player with the UUID <highlight>" + uuid + "</highlight> has been loaded, but another QuestPlayer has already been added for them in the meantime. The loaded data has been discarded.");
+                return otherQuestPlayer;
+            }
+
+            main.getLogManager().debug("Loaded player with uuid <highlight>" + uuid + "</highlight> and questPoints: " + questPlayer.getQuestPoints() + " in <highlight>" + ((System.nanoTime() - startTime) / 1000000d) + "</highlight>ms");
+            return questPlayer;
         } catch (SQLException sqlException) {
+            main.getLogManager().warn("There was an error loading the playerdata of player with UUID <highlight>" + uuid + "</highlight>! Stacktrace:");
             sqlException.printStackTrace();
+            return null;
+        } finally {
+            currentlyLoadingPlayers.remove(uuid);
         }
+    }
 
-        //Active Quests
-        final ArrayList<ActiveQuest> activeQuests = new ArrayList<>();
-        try {
-
-            for (final QuestPlayer questPlayer : questPlayersAndUUIDs.values()) {
-                activeQuests.clear();
-
-
-                //Completed Quests
-                ResultSet completedQuestsResults = main.getDataManager().getDatabaseStatement().executeQuery("SELECT QuestName, TimeCompleted FROM CompletedQuests WHERE PlayerUUID = '" + questPlayer.getUUID().toString() + "';");
-                while (completedQuestsResults.next()) {
-                    final String questName = completedQuestsResults.getString("QuestName");
-                    final Quest quest = main.getQuestManager().getQuest(questName);
-                    if (quest != null) {
-                        final long timeCompleted = completedQuestsResults.getLong("TimeCompleted");
-                        if (timeCompleted > 0) {
-                            final CompletedQuest completedQuest = new CompletedQuest(quest, questPlayer, timeCompleted);
-                            questPlayer.addCompletedQuest(completedQuest);
-
-                        } else {
-                            main.getLogManager().warn("ERROR: TimeCompleted from Quest with name <highlight>" + questName + "</highlight> could not be loaded from database (requested for loading completed Quests)");
-                        }
-
-                    } else {
-                        main.getLogManager().warn("ERROR: Quest with name <highlight>" + questName + "</highlight> could not be loaded from database (requested for loading completed Quests)");
-                    }
-                }
-                completedQuestsResults.close();
+    /**
+     * Returns the QuestPlayer of a player who might not be online, for example for admin commands. If player data is only
+     * loaded once players join and this player's data is not loaded, it will be loaded from the database and unloaded
+     * again after the configured unload delay, unless the player joins in the meantime.
+     *
+     * <p>
+     * Loading the data does blocking database queries on the current thread. Commands should use
+     * {@link #getOfflineQuestPlayerAsync(UUID)} instead.
+     *
+     * @param uuid the UUID of the (offline) player
+     * @return the QuestPlayer, or null if this player does not have any data
+     */
+    public final QuestPlayer getOfflineQuestPlayer(final UUID uuid) {
+        final QuestPlayer questPlayer = questPlayersAndUUIDs.get(uuid);
+        if (questPlayer != null || !main.getConfiguration().loadPlayerDataOnJoin) {
+            return questPlayer;
+        }
 
+        final QuestPlayer loadedQuestPlayer = loadQuestPlayer(uuid);
+        if (loadedQuestPlayer != null && Bukkit.getPlayer(uuid) == null) {
+            scheduleUnload(uuid);
+        }
+        return loadedQuestPlayer;
+    }
 
-                //Active Quests
-                ResultSet activeQuestsResults = main.getDataManager().getDatabaseStatement().executeQuery("SELECT QuestName FROM ActiveQuests WHERE PlayerUUID = '" + questPlayer.getUUID() + "';");
-                while (activeQuestsResults.next()) {
-                    final String questName = activeQuestsResults.getString("QuestName");
-                    final Quest quest = main.getQuestManager().getQuest(questName);
-                    if (quest != null) {
-                        final ActiveQuest activeQuest = new ActiveQuest(main, quest, questPlayer);
-                        activeQuests.add(activeQuest);
-                        questPlayer.forceAddActiveQuest(activeQuest, false); //Run begin/accept trigger when plugin reloads if true
+    /**
+     * Like {@link #getOfflineQuestPlayer(UUID)}, but if the data of the player has to be loaded from the database, this
+     * happens off the main thread.
+     *
+     * @param uuid the UUID of the (offline) player
+     * @return a future which completes on the main thread with the QuestPlayer, or null if this player does not have any data
+     */
+    public CompletableFuture<QuestPlayer> getOfflineQuestPlayerAsync(final UUID uuid) {
+        final QuestPlayer questPlayer = questPlayersAndUUIDs.get(uuid);
+        if (questPlayer != null || !main.getConfiguration().loadPlayerDataOnJoin) {
+            return CompletableFuture.completedFuture(questPlayer);
+        }
 
-                    } else {
-                        main.getLogManager().warn("ERROR: Quest with name <highlight>" + questName + "</highlight> could not be loaded from database");
-                    }
+        final CompletableFuture<QuestPlayer> result = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
+            final QuestPlayer loadedQuestPlayer = loadQuestPlayer(uuid);
+            Bukkit.getScheduler().runTask(main.getMain(), () -> {
+                if (loadedQuestPlayer != null && Bukkit.getPlayer(uuid) == null) {
+                    scheduleUnload(uuid);
                 }
-                activeQuestsResults.close();
-
-                for (ActiveQuest activeQuest : activeQuests) {
-
-                    //Active Triggers
-                    ResultSet activeQuestTriggerResults = main.getDataManager().getDatabaseStatement().executeQuery("SELECT * FROM ActiveTriggers WHERE PlayerUUID = '" + questPlayer.getUUID() + "' AND QuestName = '" + activeQuest.getQuest().getQuestName() + "';");
-                    while (activeQuestTriggerResults.next()) {
-                        final String triggerTypeString = activeQuestTriggerResults.getString("TriggerType");
-                        final long currentProgress = activeQuestTriggerResults.getLong("currentProgress");
-
+                result.complete(loadedQuestPlayer);
+            });
+        });
+        return result;
+    }
 
-                        if (triggerTypeString != null) {
-                            final int triggerID = activeQuestTriggerResults.getInt("TriggerID");
+    public final boolean isCurrentlyLoading(final UUID uuid) {
+        return currentlyLoadingPlayers.contains(uuid);
+    }
 
+    /**
+     * Cancels a scheduled unload of a player's data. This is called when the player joins again before their data was unloaded.
+     *
+     * @param uuid the UUID of the player
+     */
+    public void cancelScheduledUnload(final UUID uuid) {
+        final BukkitTask scheduledUnload = scheduledUnloads.remove(uuid);
+        if (scheduledUnload != null) {
+            scheduledUnload.cancel();
+        }
+    }
 
-                            for (ActiveTrigger activeTrigger : activeQuest.getActiveTriggers()) {
-                                if (activeTrigger.getTrigger().getTriggerType().equals(triggerTypeString) && activeTrigger.getTriggerID() == triggerID) {
-                                    activeTrigger.addProgressSilent(currentProgress);
-                                }
+    /**
+     * Schedules the data of a player to be saved and removed from memory once the configured unload delay has passed. This
+     * only has an effect if player data is only loaded once players join.
+     *
+     * @param uuid the UUID of the player who quit
+     */
+    public void scheduleUnload(final UUID uuid) {
+        if (!main.getConfiguration().loadPlayerDataOnJoin) {
+            return;
+        }
+        cancelScheduledUnload(uuid);
+        scheduledUnloads.put(uuid, Bukkit.getScheduler().runTaskLater(main.getMain(), () -> {
+            scheduledUnloads.remove(uuid);
+            unloadQuestPlayer(uuid);
+        }, main.getConfiguration().playerDataUnloadDelaySeconds * 20L));
+    }
 
-                            }
+    /**
+     * Removes the QuestPlayer of an offline player from memory and saves its data to the database asynchronously.
+     *
+     * @param uuid the UUID of the player whose data should be unloaded
+     */
+    private void unloadQuestPlayer(final UUID uuid) {
+        if (Bukkit.getPlayer(uuid) != null) {
+            return;
+        }
+        final QuestPlayer questPlayer = questPlayersAndUUIDs.get(uuid);
+        if (questPlayer == null) {
+            return;
+        }
 
+        //It's important to add it to questPlayersBeingUnloaded before removing it from questPlayersAndUUIDs, so it cannot get lost in between
+        questPlayersBeingUnloaded.put(uuid, questPlayer);
+        questPlayersAndUUIDs.remove(uuid);
 
-                        } else {
-                            main.getLogManager().warn("ERROR: TriggerType for the Quest <highlight>" + activeQuest.getQuest().getQuestName() + "</highlight> could not be loaded from database");
+        if (!main.getConfiguration().savePlayerData || !main.getDataManager().isSavingEnabled()) {
+            questPlayersBeingUnloaded.remove(uuid, questPlayer);
+            return;
+        }
 
-                        }
+        final PlayerDataChanges playerDataChanges = PlayerDataChanges.collect(main, questPlayer);
+        final List<PlayerDataChanges> changes = playerDataChanges != null ? List.of(playerDataChanges) : List.of();
+        writeChanges(changes).whenComplete((saved, throwable) -> {
+            if (Boolean.TRUE.equals(saved)) {
+                main.getLogManager().debug("Unloaded player with uuid <highlight>" + uuid + "</highlight>");
+                questPlayersBeingUnloaded.remove(uuid, questPlayer);
+            } else if (main.getMain().isEnabled()) {
+                //Keep the player in memory, so the data can be saved again with the next save
+                Bukkit.getScheduler().runTask(main.getMain(), () -> {
+                    if (questPlayersBeingUnloaded.remove(uuid, questPlayer) && questPlayersAndUUIDs.putIfAbsent(uuid, questPlayer) == null) {
+                        scheduleUnload(uuid);
                     }
-                    activeQuestTriggerResults.close();
-
-
-                    //Active Objectives
-                    ResultSet activeQuestObjectiveResults = main.getDataManager().getDatabaseStatement().executeQuery("SELECT * FROM ActiveObjectives WHERE PlayerUUID = '" + questPlayer.getUUID() + "' AND QuestName = '" + activeQuest.getQuest().getQuestName() + "';");
-                    while (activeQuestObjectiveResults.next()) {
-                        final String objectiveTypeString = activeQuestObjectiveResults.getString("ObjectiveType");
-                        final long currentProgress = activeQuestObjectiveResults.getLong("currentProgress");
-                        final boolean hasBeenCompleted = activeQuestObjectiveResults.getBoolean("HasBeenCompleted");
-
-                        if (objectiveTypeString != null) {
-                            final int objectiveID = activeQuestObjectiveResults.getInt("ObjectiveID");
-
-
-                            //So the active objectives are already there - we just need to fill them with progress data.
-                            for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                                if (activeObjective.getObjective().getClass() == main.getObjectiveManager().getObjectiveClass(objectiveTypeString) && activeObjective.getObjectiveID() == objectiveID) {
-                                    //System.out.println("§4§lHAS BEEN COMPLETED: §b" + hasBeenCompleted + " §c- ID: §b" + objectiveID);
-                                    activeObjective.setHasBeenCompleted(hasBeenCompleted);
-                                    if (activeObjective.getObjective().getCompletionNPCID() == -1) { //Complete automatically
-                                        if (activeObjective.getObjective().getCompletionArmorStandUUID() != null) { //Only complete if player has talked to the completion Armor Stand
-                                            if (activeObjective.hasBeenCompleted()) {
-                                                activeObjective.addProgress(currentProgress, activeObjective.getObjective().getCompletionArmorStandUUID(), true);
-
-                                            } else {
-                                                activeObjective.addProgress(currentProgress, true);
-
-                                            }
-                                        } else {
-                                            activeObjective.addProgress(currentProgress, true);
-                                        }
-
-                                    } else { //Only complete if player has talked to the completion NPC
-                                        if (activeObjective.hasBeenCompleted()) {
-                                            activeObjective.addProgress(currentProgress, activeObjective.getObjective().getCompletionNPCID(), true);
-
-                                        } else {
-                                            activeObjective.addProgress(currentProgress, true);
-
-                                        }
-                                    }
-                                }
-
-                            }
-                            activeQuest.removeCompletedObjectives(false);
-
-
-                        } else {
-                            main.getLogManager().warn("ERROR: ObjectiveType for the Quest <highlight>" + activeQuest.getQuest().getQuestName() + "</highlight> could not be loaded from database");
+                });
+            }
+        });
+    }
 
+    /**
+     * Writes the given changes to the database in the player data save thread. If writing fails, the affected players are
+     * marked as completely changed, so all their data is written again with the next save.
+     *
+     * @param changes the changes which should be written
+     * @return a future which completes with true if the changes have been saved, or false if there was an error
+     */
+    private CompletableFuture<Boolean> writeChanges(final List<PlayerDataChanges> changes) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                PlayerDataSaver.save(main, changes);
+                return true;
+            } catch (SQLException sqlException) {
+                main.getLogManager().warn("There was an error saving the playerdata. No changes have been saved. Stacktrace:");
+                sqlException.printStackTrace();
+                if (main.getMain().isEnabled()) {
+                    Bukkit.getScheduler().runTask(main.getMain(), () -> {
+                        for (final PlayerDataChanges playerDataChanges : changes) {
+                            playerDataChanges.getQuestPlayer().markAllDirty();
                         }
-                    }
-
-                    //Update all active objectives to see if they are unlocked
-                    for (final ActiveObjective activeObjectiveToCheckForIfUnlocked : activeQuest.getActiveObjectives()) {
-                        activeObjectiveToCheckForIfUnlocked.updateUnlocked(false, true);
-                    }
-
-                    activeQuestObjectiveResults.close();
+                    });
                 }
-
-
-                questPlayer.removeCompletedQuests();
+                return false;
             }
+        }, playerDataSaveExecutor);
+    }
 
-        } catch (SQLException sqlException) {
-            sqlException.printStackTrace();
+    /**
+     * Starts the task which periodically saves the data of all players whose data has changed since the last save. The
+     * changes are collected on the main thread and then written to the database asynchronously.
+     */
+    public void startAutoSave() {
+        if (autoSaveTask != null) {
+            autoSaveTask.cancel();
+            autoSaveTask = null;
         }
+        final long intervalTicks = main.getConfiguration().savePlayerDataIntervalSeconds * 20L;
+        if (!main.getConfiguration().savePlayerData || intervalTicks <= 0) {
+            return;
+        }
+        autoSaveTask = Bukkit.getScheduler().runTaskTimer(main.getMain(), this::saveChangedPlayerData, intervalTicks, intervalTicks);
+    }
 
+    /**
+     * Collects the changes of all players whose data has changed and writes them to the database asynchronously.
+     * This has to be called on the main thread.
+     */
+    public void saveChangedPlayerData() {
+        if (!main.getConfiguration().savePlayerData || !main.getDataManager().isSavingEnabled() || main.getDataManager().isCurrentlyLoading()) {
+            return;
+        }
+        final List<PlayerDataChanges> changes = PlayerDataChanges.collect(main, questPlayersAndUUIDs.values());
+        if (changes.isEmpty()) {
+            return;
+        }
+        final long startTime = System.currentTimeMillis();
+        writeChanges(changes).thenAccept(saved -> {
+            if (saved) {
+                main.getLogManager().debug("Auto-saved the data of <highlight>" + changes.size() + "</highlight> players in <highlight>" + (System.currentTimeMillis() - startTime) + "</highlight>ms");
+            }
+        });
+    }
 
+    /**
+     * Stops the auto save task and waits until all pending player data has been written to the database.
+     */
+    public void onDisable() {
+        if (autoSaveTask != null) {
+            autoSaveTask.cancel();
+            autoSaveTask = null;
+        }
+        playerDataSaveExecutor.shutdown();
+        try {
+            if (!playerDataSaveExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                main.getLogManager().warn("Saving the player data took too long. Some changes might not have been saved.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     public void savePlayerData() {
@@ -231,54 +387,21 @@ public class QuestPlayerManager {
 
         main.getLogManager().info("Saving player data...");
 
+        final long startTime = System.currentTimeMillis();
 
-        main.getLogManager().info("Re-opening database connection...");
-        main.getDataManager().refreshDatabaseConnection(false);
-
-
-        for (QuestPlayer questPlayer : questPlayersAndUUIDs.values()) {
-            final long questPoints = questPlayer.getQuestPoints();
-            final UUID questPlayerUUID = questPlayer.getUUID();
-            try {
-                //QuestPoints
-                main.getDataManager().getDatabaseStatement().executeUpdate("DELETE FROM QuestPlayerData WHERE PlayerUUID = '" + questPlayerUUID.toString() + "';");
-                main.getDataManager().getDatabaseStatement().executeUpdate("INSERT INTO QuestPlayerData (PlayerUUID, QuestPoints) VALUES ('" + questPlayerUUID + "', " + questPoints + ");");
-
-                //Active Quests
-                main.getDataManager().getDatabaseStatement().executeUpdate("DELETE FROM ActiveQuests WHERE PlayerUUID = '" + questPlayerUUID + "';");
-                main.getDataManager().getDatabaseStatement().executeUpdate("DELETE FROM ActiveObjectives WHERE PlayerUUID = '" + questPlayerUUID + "';");
-                for (ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                    main.getDataManager().getDatabaseStatement().executeUpdate("INSERT INTO ActiveQuests (QuestName, PlayerUUID) VALUES ('" + activeQuest.getQuest().getQuestName() + "', '" + questPlayerUUID + "');");
-                    //Active Triggers
-                    for (ActiveTrigger activeTrigger : activeQuest.getActiveTriggers()) {
-                        main.getDataManager().getDatabaseStatement().executeUpdate("INSERT INTO ActiveTriggers (TriggerType, QuestName, PlayerUUID, CurrentProgress, TriggerID) VALUES ('" + activeTrigger.getTrigger().getTriggerType() + "', '" + activeTrigger.getActiveQuest().getQuest().getQuestName() + "', '" + questPlayerUUID + "', " + activeTrigger.getCurrentProgress() + ", " + activeTrigger.getTriggerID() + ");");
-                    }
-
-                    //Active Objectives
-                    for (ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
-                        main.getDataManager().getDatabaseStatement().executeUpdate("INSERT INTO ActiveObjectives (ObjectiveType, QuestName, PlayerUUID, CurrentProgress, ObjectiveID, HasBeenCompleted) VALUES ('" + main.getObjectiveManager().getObjectiveType(activeObjective.getObjective().getClass()) + "', '" + activeObjective.getActiveQuest().getQuest().getQuestName() + "', '" + questPlayerUUID + "', " + activeObjective.getCurrentProgress() + ", " + activeObjective.getObjectiveID() + ", " + activeObjective.hasBeenCompleted() + ");");
-                    }
-                    //Active Objectives from completed Objective list
-                    for (ActiveObjective completedObjective : activeQuest.getCompletedObjectives()) {
-                        main.getDataManager().getDatabaseStatement().executeUpdate("INSERT INTO ActiveObjectives (ObjectiveType, QuestName, PlayerUUID, CurrentProgress, ObjectiveID, HasBeenCompleted) VALUES ('" + main.getObjectiveManager().getObjectiveType(completedObjective.getObjective().getClass()) + "', '" + completedObjective.getActiveQuest().getQuest().getQuestName() + "', '" + questPlayerUUID + "', " + completedObjective.getCurrentProgress() + ", " + completedObjective.getObjectiveID() + ", " + completedObjective.hasBeenCompleted() + ");");
-                    }
-                }
-
-
-                //Completed Quests
-                main.getDataManager().getDatabaseStatement().executeUpdate("DELETE FROM CompletedQuests WHERE PlayerUUID = '" + questPlayerUUID + "';");
-                for (CompletedQuest completedQuest : questPlayer.getCompletedQuests()) {
-                    main.getDataManager().getDatabaseStatement().executeUpdate("INSERT INTO CompletedQuests (QuestName, PlayerUUID, TimeCompleted) VALUES ('" + completedQuest.getQuest().getQuestName() + "', '" + questPlayerUUID + "', " + completedQuest.getTimeCompleted() + ");");
-                }
-
-
-            } catch (SQLException sqlException) {
-                main.getLogManager().warn("There was an error saving the playerdata of player with UUID <highlight>" + questPlayer.getUUID() + "</highlight>! Stacktrace:");
-                sqlException.printStackTrace();
+        //Only players whose data has changed since the last save need to be saved
+        final List<PlayerDataChanges> changes = PlayerDataChanges.collect(main, questPlayersAndUUIDs.values());
+        try {
+            //This also waits for any auto save or unload which is still being written
+            if (!writeChanges(changes).get()) {
+                return;
             }
-
+        } catch (InterruptedException | ExecutionException e) {
+            main.getLogManager().warn("There was an error saving the playerdata. Stacktrace:");
+            e.printStackTrace();
+            return;
         }
-        main.getLogManager().info("PlayerData saved");
+        main.getLogManager().info("Saved the data of <highlight>" + changes.size() + "</highlight> changed players in <highlight>" + (System.currentTimeMillis() - startTime) + "</highlight>ms");
 
     }
 
@@ -286,8 +409,28 @@ public class QuestPlayerManager {
         return questPlayersAndUUIDs.get(uuid);
     }
 
+    /**
+     * Returns the QuestPlayer of a player, creating it if the player doesn't have any data yet.
+     * <p>
+     * If the data of an offline player is not loaded yet, it is loaded with blocking database queries on the current thread
+     * (see {@link #getOfflineQuestPlayer(UUID)}). The QuestPlayer of an online player is already loaded or created when they
+     * join. If that hasn't finished yet, it is never loaded on the main thread. Loading is started asynchronously instead
+     * and null is returned.
+     *
+     * @param uuid the UUID of the player
+     * @return the QuestPlayer, or null if the data of this player is currently being loaded from the database
+     */
     public final QuestPlayer getOrCreateQuestPlayer(final UUID uuid) {
         QuestPlayer foundQuestPlayer = questPlayersAndUUIDs.get(uuid);
+        if (foundQuestPlayer == null && main.getConfiguration().loadPlayerDataOnJoin) {
+            if (Bukkit.isPrimaryThread() && Bukkit.getPlayer(uuid) != null) {
+                if (!isCurrentlyLoading(uuid) && !main.getDataManager().isCurrentlyLoading()) {
+                    Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> loadQuestPlayer(uuid, true));
+                }
+                return null;
+            }
+            foundQuestPlayer = getOfflineQuestPlayer(uuid);
+        }
         if (foundQuestPlayer == null) {
             createQuestPlayer(uuid);
             foundQuestPlayer = questPlayersAndUUIDs.get(uuid);
@@ -301,25 +444,79 @@ public class QuestPlayerManager {
 
     public String acceptQuest(final Player player, final Quest quest, final boolean triggerAcceptQuestTrigger, final boolean sendQuestInfo) {
         QuestPlayer questPlayer = getOrCreateQuestPlayer(player.getUniqueId());
+        if (questPlayer == null) {
+            return STILL_LOADING_MESSAGE;
+        }
         final ActiveQuest newActiveQuest = new ActiveQuest(main, quest, questPlayer);
 
         return questPlayer.addActiveQuest(newActiveQuest, triggerAcceptQuestTrigger, sendQuestInfo);
     }
 
-    public String createQuestPlayer(UUID uuid) {
-        QuestPlayer questPlayer = getQuestPlayer(uuid);
+    /**
+     * Like {@link #acceptQuest(Player, Quest, boolean, boolean)}, but the values the requirements of the quest need from
+     * other plugins (like the balance from Vault) are queried off the main thread first. The quest is then accepted on the
+     * main thread, so the tick doesn't have to wait for these plugins.
+     *
+     * @return a future which completes on the main thread with the same result as acceptQuest
+     */
+    public CompletableFuture<String> acceptQuestAsync(final Player player, final Quest quest, final boolean triggerAcceptQuestTrigger, final boolean sendQuestInfo) {
+        final QuestPlayer questPlayer = getOrCreateQuestPlayer(player.getUniqueId());
         if (questPlayer == null) {
-            questPlayer = new QuestPlayer(main, uuid);
-            questPlayersAndUUIDs.put(uuid, questPlayer);
-            return "<success>Quest player with uuid <highlight>" + uuid + "</highlight> has been created successfully!";
+            return CompletableFuture.completedFuture(STILL_LOADING_MESSAGE);
+        }
+        final CompletableFuture<Void> prefetched = Condition.prefetchAll(questPlayer, quest.getRequirements());
+        if (prefetched.isDone()) {
+            return CompletableFuture.completedFuture(acceptQuest(player, quest, triggerAcceptQuestTrigger, sendQuestInfo));
+        }
+
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        prefetched.thenRun(() -> Bukkit.getScheduler().runTask(main.getMain(), () -> {
+            if (!player.isOnline()) {
+                result.complete("<error>You are no longer online.");
+                return;
+            }
+            result.complete(acceptQuest(player, quest, triggerAcceptQuestTrigger, sendQuestInfo));
+        }));
+        return result;
+    }
+
+    /**
+     * Queries the values the requirements of a quest need from other plugins off the main thread, for example when the
+     * player previews the quest and will probably accept it soon.
+     */
+    public void prefetchQuestRequirements(final Player player, final Quest quest) {
+        final QuestPlayer questPlayer = getQuestPlayer(player.getUniqueId());
+        if (questPlayer != null) {
+            Condition.prefetchAll(questPlayer, quest.getRequirements());
+        }
+    }
 
-        } else {
-            return "<error>Quest player already exists.";
+    public String createQuestPlayer(UUID uuid) {
+        //Claimed like a load, so the data of this player cannot be loaded by another thread while the new QuestPlayer is added
+        if (!currentlyLoadingPlayers.add(uuid)) {
+            return "<error>The data of this quest player is still being loaded.";
+        }
+        try {
+            final QuestPlayer questPlayer = new QuestPlayer(main, uuid);
+            if (questPlayersAndUUIDs.putIfAbsent(uuid, questPlayer) == null) {
+                if (main.getConfiguration().loadPlayerDataOnJoin && Bukkit.getPlayer(uuid) == null) {
+                    scheduleUnload(uuid);
+                }
+                return "<success>Quest player with uuid <highlight>" + uuid + "</highlight> has been created successfully!";
+
+            } else {
+                return "<error>Quest player already exists.";
+            }
+        } finally {
+            currentlyLoadingPlayers.remove(uuid);
         }
     }
 
     public String forceAcceptQuest(UUID uuid, Quest quest) { //Ignores max amount limit, cooldown and requirements
         QuestPlayer questPlayer = getOrCreateQuestPlayer(uuid);
+        if (questPlayer == null) {
+            return "<error>The data of this quest player is still being loaded.";
+        }
 
         return questPlayer.forceAddActiveQuest(new ActiveQuest(main, quest, questPlayer), true);
     }
@@ -33,6 +33,9 @@ import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
 import org.bukkit.inventory.ItemStack;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.commands.NotQuestColors;
@@ -40,6 +43,7 @@ import rocks.gravili.notquests.paper.structs.Quest;
 
 import java.io.File;
 import java.util.*;
+import java.util.function.Supplier;
 
 public class UtilManager {
     private final NotQuests main;
@@ -482,4 +486,21 @@ public class UtilManager {
 
         return toReturn;
     }
+
+    /**
+     * Calls one of the cancellable NotQuests API events synchronously on the current thread, so whether it was cancelled
+     * is known as soon as this returns. If nothing listens to the event, it is not even created.
+     *
+     * @param handlerList   the HandlerList of the event class
+     * @param eventSupplier creates the event
+     * @return true if a listener cancelled the event
+     */
+    public final <E extends Event & Cancellable> boolean callCancellableEvent(final HandlerList handlerList, final Supplier<E> eventSupplier) {
+        if (handlerList.getRegisteredListeners().length == 0) {
+            return false;
+        }
+        final E event = eventSupplier.get();
+        Bukkit.getPluginManager().callEvent(event);
+        return event.isCancelled();
+    }
 }
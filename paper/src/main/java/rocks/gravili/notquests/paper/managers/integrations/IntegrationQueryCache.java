@@ -0,0 +1,140 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.managers.integrations;
+
+import org.bukkit.Bukkit;
+import rocks.gravili.notquests.paper.NotQuests;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived snapshots of values which conditions query from other plugins (like the balance of a player from Vault, or
+ * their town from Towny). Many of these plugins hit a database behind their API, so the values can be queried off the
+ * main thread with {@link #refresh(UUID, String, Supplier)} before the conditions are checked. Checking the conditions
+ * afterwards then only has to read the snapshots.
+ * <p>
+ * Snapshots are only used for checking conditions. Conditions which change the value when they are enforced (like deducting
+ * money) always query the plugin directly.
+ */
+public class IntegrationQueryCache {
+    private final NotQuests main;
+
+    private final ConcurrentHashMap<QueryKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+    /**
+     * Queries which are currently running off the main thread, so the same value isn't queried several times at once
+     */
+    private final ConcurrentHashMap<QueryKey, CompletableFuture<Void>> runningQueries = new ConcurrentHashMap<>();
+
+    private record QueryKey(UUID uuid, String key) {
+    }
+
+    private record Snapshot(Object value, long timestamp) {
+    }
+
+    public IntegrationQueryCache(final NotQuests main) {
+        this.main = main;
+    }
+
+    private long getTimeToLive() {
+        return main.getConfiguration().integrationQueryCacheMillis;
+    }
+
+    /**
+     * @param uuid  the UUID of the player the value belongs to
+     * @param key   what is queried. Every query with the same key has to return the same kind of value.
+     * @param query queries the value from the plugin. It's only called if there is no recent snapshot.
+     * @return the value of a recent snapshot, or the value which has just been queried on the current thread
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final UUID uuid, final String key, final Supplier<T> query) {
+        final long timeToLive = getTimeToLive();
+        if (timeToLive <= 0) {
+            return query.get();
+        }
+        final QueryKey queryKey = new QueryKey(uuid, key);
+        final Snapshot snapshot = snapshots.get(queryKey);
+        final long now = System.currentTimeMillis();
+        if (snapshot != null && now - snapshot.timestamp() < timeToLive) {
+            return (T) snapshot.value();
+        }
+        final T value = query.get();
+        snapshots.put(queryKey, new Snapshot(value, now));
+        return value;
+    }
+
+    /**
+     * Queries the value off the main thread and stores it as a snapshot, unless there already is a recent one.
+     *
+     * @param uuid  the UUID of the player the value belongs to
+     * @param key   what is queried. Every query with the same key has to return the same kind of value.
+     * @param query queries the value from the plugin. It has to be safe to call it off the main thread.
+     * @return a future which completes once the snapshot is available. It also completes normally if the query failed.
+     */
+    public CompletableFuture<Void> refresh(final UUID uuid, final String key, final Supplier<?> query) {
+        final long timeToLive = getTimeToLive();
+        if (timeToLive <= 0 || !main.getMain().isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final QueryKey queryKey = new QueryKey(uuid, key);
+        final Snapshot snapshot = snapshots.get(queryKey);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.timestamp() < timeToLive) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final CompletableFuture<Void> runningQuery = runningQueries.putIfAbsent(queryKey, future);
+        if (runningQuery != null) {
+            return runningQuery;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
+            try {
+                final long startTime = System.currentTimeMillis();
+                final Object value = query.get();
+                snapshots.put(queryKey, new Snapshot(value, startTime));
+            } catch (final Exception e) {
+                main.getLogManager().warn("There was an error querying <highlight>" + key + "</highlight> for the player with the UUID <highlight>" + uuid + "</highlight>: " + e.getMessage());
+            } finally {
+                runningQueries.remove(queryKey, future);
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Removes a snapshot, for example after the value has been changed by NotQuests itself
+     */
+    public void invalidate(final UUID uuid, final String key) {
+        snapshots.remove(new QueryKey(uuid, key));
+    }
+
+    /**
+     * Removes all snapshots of a player, for example when they leave the server
+     */
+    public void removeSnapshots(final UUID uuid) {
+        snapshots.keySet().removeIf(queryKey -> queryKey.uuid().equals(uuid));
+    }
+
+    public void clear() {
+        snapshots.clear();
+    }
+}
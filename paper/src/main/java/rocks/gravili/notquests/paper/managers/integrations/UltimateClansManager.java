@@ -5,6 +5,9 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 
+import java.util.Optional;
+import java.util.UUID;
+
 public class UltimateClansManager {
     private final NotQuests main;
     private final UClans api;
@@ -19,9 +22,14 @@ public class UltimateClansManager {
     }
 
     public final boolean isInClanWithMinLevel(final Player player, final long minLevel) {
-        if (api.getPlayerAPI().getPlayerClan(player.getUniqueId()) != null && api.getPlayerAPI().getPlayerClan(player.getUniqueId()).getLevel() >= minLevel) {
-            return true;
-        }
-        return false;
+        final Long clanLevel = getClanLevel(player.getUniqueId());
+        return clanLevel != null && clanLevel >= minLevel;
+    }
+
+    /**
+     * @return the level of the clan of the player, or null if they are not in a clan
+     */
+    public final Long getClanLevel(final UUID uuid) {
+        return Optional.ofNullable(api.getPlayerAPI().getPlayerClan(uuid)).map(clan -> (long) clan.getLevel()).orElse(null);
     }
 }
@@ -91,6 +91,7 @@ public class BQAbortQuestEvent extends QuestEvent {
 
                     if (activeQuestToRemove != null) {
                         questPlayer.getActiveQuests().remove(activeQuestToRemove);
+                        questPlayer.markActiveQuestsChanged();
 
                     }
 
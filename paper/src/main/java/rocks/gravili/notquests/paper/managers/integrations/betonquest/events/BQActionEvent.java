@@ -107,7 +107,11 @@ public class BQActionEvent extends QuestEvent {
                     }
                 }
             } else {
-                main.getActionManager().executeActionWithConditions(action, main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId()), null, true);
+                final QuestPlayer questPlayer = main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId());
+                if (questPlayer == null) {
+                    throw new QuestRuntimeException("Error executing NotQuests action (triggered by BetonQuests) - the data of the player is still being loaded.");
+                }
+                main.getActionManager().executeActionWithConditions(action, questPlayer, null, true);
             }
 
         } else {
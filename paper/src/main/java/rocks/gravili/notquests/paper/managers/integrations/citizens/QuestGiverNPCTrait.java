@@ -20,8 +20,6 @@ package rocks.gravili.notquests.paper.managers.integrations.citizens;
 
 import net.citizensnpcs.api.trait.Trait;
 import net.citizensnpcs.api.util.DataKey;
-import org.bukkit.Location;
-import org.bukkit.entity.Entity;
 import org.bukkit.event.EventHandler;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.Quest;
@@ -33,7 +31,8 @@ import rocks.gravili.notquests.paper.structs.Quest;
  * Only NPCs which have quests attached to them should have this trait. There are several methods in the plugin which remove the trait
  * from NPCs which do not have Quests stored on them - for example that cleanup runs when the plugin restarts.
  * <p>
- * Note: TODO: The available Quests are not stored in the NPC directly. Instead, each quest object stores the NPC. Because of this, it has to loop through. This should be improved in the future for better performance.
+ * Note: The available Quests are not stored in the NPC directly. Instead, each quest object stores the NPC, and the QuestManager
+ * keeps an index of NPC ID => Quests, so they can be found without looping through all quests.
  *
  * @author Alessio Gravili
  */
@@ -41,8 +40,6 @@ public class QuestGiverNPCTrait extends Trait {
 
     NotQuests notQuests;
 
-    private int particleTimer = 0;
-
     public QuestGiverNPCTrait() {
         super("nquestgiver");
         this.notQuests = NotQuests.getInstance();
@@ -65,8 +62,7 @@ public class QuestGiverNPCTrait extends Trait {
      * Called when a player clicks on the NPC. This will send the quest preview GUI / Text to the player, which lists
      * all available Quests for this NPC.
      * <p>
-     * The available Quests are not stored in the NPC directly. Instead, each quest object stores the NPC. Because of this, it has
-     * to loop through. This should be improved in the future for better performance.
+     * The available Quests are looked up in the NPC index of the QuestManager.
      */
     @EventHandler
     public void click(net.citizensnpcs.api.event.NPCRightClickEvent event) {
@@ -86,40 +82,6 @@ public class QuestGiverNPCTrait extends Trait {
 
     }
 
-    /**
-     * Called every tick. This spawns a particle above an NPCs head which has this Trait, showcasing to the player
-     * that they have Quests and can be clicked.
-     */
-    @Override
-    public void run() {
-
-        //Disable if Server TPS is too low
-        final double minimumTPS = notQuests.getDataManager().getConfiguration().getCitizensNPCQuestGiverIndicatorParticleDisableIfTPSBelow();
-        if (minimumTPS >= 0) {
-            if (notQuests.getPerformanceManager().getTPS() < minimumTPS) {
-                return;
-            }
-        }
-
-        if (notQuests.getDataManager().getConfiguration().isCitizensNPCQuestGiverIndicatorParticleEnabled() && npc.isSpawned()) {
-            if (particleTimer >= notQuests.getDataManager().getConfiguration().getCitizensNPCQuestGiverIndicatorParticleSpawnInterval()) {
-                particleTimer = 0;
-
-                final Entity npcEntity = getNPC().getEntity();
-                final Location location = npcEntity.getLocation();
-
-                npcEntity.getWorld().spawnParticle(notQuests.getDataManager().getConfiguration().getCitizensNPCQuestGiverIndicatorParticleType(), location.getX() - 0.25 + (Math.random() / 2), location.getY() + 1.75 + (Math.random() / 2), location.getZ() - 0.25 + (Math.random() / 2), notQuests.getDataManager().getConfiguration().getCitizensNPCQuestGiverIndicatorParticleCount());
-
-                //System.out.println("§eSpawned particle!");
-            }
-
-            particleTimer += 1;
-
-        }
-
-    }
-
-
     /**
      * Run code when your trait is attached to a NPC. This is called BEFORE onSpawn, so npc.getEntity() will return null
      * This will just splurt out a debug message, so we know when the trait has been attached to the NPC.
@@ -130,15 +92,18 @@ public class QuestGiverNPCTrait extends Trait {
     }
 
     // Run code when the NPC is despawned. This is called before the entity actually despawns so npc.getEntity() is still valid.
+    // The quest giver indicator particles are no longer spawned for this NPC then.
     @Override
     public void onDespawn() {
+        notQuests.getQuestGiverIndicatorManager().removeQuestGiverNPCEntity(npc.getEntity());
     }
 
     //Run code when the NPC is spawned. Note that npc.getEntity() will be null until this method is called.
     //This is called AFTER onAttach and AFTER Load when the server is started.
+    //From now on, the QuestGiverIndicatorManager spawns the quest giver indicator particles above this NPC.
     @Override
     public void onSpawn() {
-
+        notQuests.getQuestGiverIndicatorManager().addQuestGiverNPCEntity(npc.getEntity());
     }
 
     /**
@@ -149,6 +114,9 @@ public class QuestGiverNPCTrait extends Trait {
      */
     @Override
     public void onRemove() {
+        if (npc.isSpawned()) {
+            notQuests.getQuestGiverIndicatorManager().removeQuestGiverNPCEntity(npc.getEntity());
+        }
         //REMOVEEEE FROM QUEST
         notQuests.getLogManager().info("NPC with the ID <highlight>" + npc.getId() + " </highlight>and name <highlight>" + npc.getName() + " </highlight>has been removed!");
         for (Quest quest : notQuests.getQuestManager().getAllQuestsAttachedToNPC(getNPC())) {
@@ -91,6 +91,8 @@ public class PacketManager implements Listener {
 
             injector.removePlayer(player);
         }
+        //The chat history is only needed while the player is online
+        main.getConversationManager().removeChatHistory(e.getPlayer().getUniqueId());
 
     }
 
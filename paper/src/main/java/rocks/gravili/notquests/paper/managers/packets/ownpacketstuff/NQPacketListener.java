@@ -6,54 +6,52 @@ import io.netty.channel.ChannelPromise;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.bungeecord.BungeeComponentSerializer;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.md_5.bungee.api.chat.BaseComponent;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.managers.packets.ownpacketstuff.wrappers.WrappedChatPacket;
 import rocks.gravili.notquests.paper.managers.packets.ownpacketstuff.wrappers.WrappedChatType;
 
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Locale;
+import java.lang.invoke.MethodHandle;
 
 public class NQPacketListener extends ChannelDuplexHandler {
     private final NotQuests main;
+    private final PacketInjector packetInjector;
     private final Player player;
 
-    public NQPacketListener(NotQuests main, final Player player) {
+    public NQPacketListener(NotQuests main, final PacketInjector packetInjector, final Player player) {
         this.main = main;
+        this.packetInjector = packetInjector;
         this.player = player;
     }
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         super.write(ctx, msg, promise);
-        if (!main.getPacketManager().getPacketInjector().isPacketStuffEnabled()) {
+        //This runs for every packet sent to the player, so everything which isn't a chat packet is skipped with one class check
+        if (msg.getClass() != packetInjector.getChatPacketClass() || !packetInjector.isPacketStuffEnabled()) {
             return;
         }
-        if (msg.getClass().getSimpleName().toLowerCase(Locale.ROOT).contains("playoutchat")) {
-            //main.getLogManager().debug("Sending " + msg.getClass().getSimpleName());
+        //main.getLogManager().debug("Sending " + msg.getClass().getSimpleName());
 
-            try {
-                final WrappedChatPacket wrappedChatPacket = new WrappedChatPacket(msg, ctx);
+        try {
+            final WrappedChatPacket wrappedChatPacket = new WrappedChatPacket(msg, packetInjector);
 
 
-                if (wrappedChatPacket.getType() == WrappedChatType.GAME_INFO) { //Skip actionbar messages
-                    return;
-                }
+            if (wrappedChatPacket.getType() == WrappedChatType.GAME_INFO) { //Skip actionbar messages
+                return;
+            }
+            if (main.getConfiguration().debug) {
                 main.getLogManager().debug("Valid chat packet! Type: " + wrappedChatPacket.getType().toString());
-
-                handleMainChatHistorySavingLogic(wrappedChatPacket, player);
-            } catch (Exception e) {
-                if (main.getConfiguration().debug) {
-                    e.printStackTrace();
-                }
-                //main.getLogManager().warn("Disabling packet stuff because there was an error reading chat messages...");
-                //main.getPacketManager().getPacketInjector().setPacketStuffEnabled(false);
             }
 
+            handleMainChatHistorySavingLogic(wrappedChatPacket, player);
+        } catch (Exception e) {
+            if (main.getConfiguration().debug) {
+                e.printStackTrace();
+            }
+            //main.getLogManager().warn("Disabling packet stuff because there was an error reading chat messages...");
+            //main.getPacketManager().getPacketInjector().setPacketStuffEnabled(false);
         }
     }
 
@@ -69,8 +67,9 @@ public class NQPacketListener extends ChannelDuplexHandler {
                 return;
             }
 
-            if (adventureComponent != null) {
-                component = GsonComponentSerializer.gson().deserialize(wrappedChatPacket.getPaperJson());
+            if (adventureComponent instanceof final Component paperComponent) {
+                //Paper's adventure message can be used directly, without serializing it to json and back
+                component = paperComponent;
             }
 
 
@@ -80,60 +79,31 @@ public class NQPacketListener extends ChannelDuplexHandler {
                     component = BungeeComponentSerializer.get().deserialize(spigotComponent);
 
                 } else {//vanilla shit
-                    try {//paper only
-                        if (NotQuests.getInstance().getPacketManager().getPacketInjector().getPaperAdventureClass() != null) {
-                            Class<?> adventureClass = NotQuests.getInstance().getPacketManager().getPacketInjector().getPaperAdventureClass();
-
-
-
-                            Method asAdventure = adventureClass.getMethod("asAdventure", Class.forName("net.minecraft.network.chat.IChatBaseComponent"));
-                            asAdventure.setAccessible(true);
-
-                            component = (Component)asAdventure.invoke(null, vanillaMessage);
-
-                            main.getLogManager().debug("vanilla serializer: " + component.getClass().toString());
-
-
-                            //adventureComponent = Reflection.getFieldValueOfObject(null, "adventure$message");
-
-
-                        } else {
-                            NotQuests.getInstance().getLogManager().debug("Null mc component serializer :(");
-                        }
-                    } catch (Exception e) {
-                        if (main.getConfiguration().debug) {
-                            e.printStackTrace();
+                    final MethodHandle asAdventure = packetInjector.getPaperAsAdventure();
+                    if (asAdventure != null) { //paper only
+                        try {
+                            component = (Component) asAdventure.invoke(vanillaMessage);
+                        } catch (Throwable t) {
+                            if (main.getConfiguration().debug) {
+                                t.printStackTrace();
+                            }
                         }
+                    } else {
+                        main.getLogManager().debug("Null mc component serializer :(");
                     }
-
                 }
             }
-
-
-            final ArrayList<Component> convHist = main.getConversationManager().getConversationChatHistory().get(player.getUniqueId());
-            if (convHist != null && convHist.contains(component)) {
+            if (component == null) {
                 return;
             }
 
-            ArrayList<Component> hist = main.getConversationManager().getChatHistory().get(player.getUniqueId());
-            if (hist != null) {
-                hist.add(component);
-            } else {
-                hist = new ArrayList<>();
-                hist.add(component);
-            }
-
-            main.getLogManager().debug("Registering chat message with Message: " + MiniMessage.builder().build().serialize(component));
-            int toRemove = hist.size() - main.getConversationManager().getMaxChatHistory();
-            if (toRemove > 0) {
-                //main.getLogManager().log(Level.WARNING, "ToRemove: " + i);
-                hist.subList(0, toRemove).clear();
-            }
-            //main.getLogManager().log(Level.WARNING, "After: " + hist.size());
-
 
-            main.getConversationManager().getChatHistory().put(player.getUniqueId(), hist);
+            //Conversation messages have already been added when they were sent, so they are skipped here
+            main.getConversationManager().getOrCreateChatHistory(player.getUniqueId()).addCapturedMessage(component);
 
+            if (main.getConfiguration().debug) {
+                main.getLogManager().debug("Registering chat message with Message: " + MiniMessage.builder().build().serialize(component));
+            }
 
         } catch (Exception e) {
             if (main.getConfiguration().debug) {
@@ -142,11 +112,6 @@ public class NQPacketListener extends ChannelDuplexHandler {
             }
 
         }
-        //if (component != null) {
-        //main.getLogManager().log(Level.INFO, "E " + LegacyComponentSerializer.legacyAmpersand().serialize(component));
-        //}
-
-
     }
 
 
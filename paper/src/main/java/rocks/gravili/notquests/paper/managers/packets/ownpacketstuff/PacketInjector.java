@@ -4,6 +4,9 @@ import io.netty.channel.Channel;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
@@ -15,6 +18,7 @@ public class PacketInjector {
     private final String PlayerConnectionFieldInEntityPlayer = "b";
     private final String playerConnectionClass = "network.PlayerConnection";
     private final String NetworkManagerClass = "net.minecraft.network.NetworkManager";
+    private final String ChatPacketClass = "net.minecraft.network.protocol.game.PacketPlayOutChat";
     private Field EntityPlayer_playerConnection;
     private Class<?> PlayerConnection;
     private Field PlayerConnection_networkManager;
@@ -23,14 +27,69 @@ public class PacketInjector {
     private Field packetListenerField;
     private boolean packetStuffEnabled = true; //disabled if there is an error
 
+    //Chat packet. Resolved once, as they are used for every chat packet on the netty threads
+    private Class<?> chatPacketClass;
+    private MethodHandle chatPacket_message;
+    private MethodHandle chatPacket_type;
+    private MethodHandle chatPacket_sender;
+    private MethodHandle chatPacket_spigotComponents; //null if not running spigot or a fork of it
+    private MethodHandle chatPacket_adventureMessage; //null if not running paper or a fork of it
+
     //Paper
     private Object paperMinecraftSerializer;
     private Class<?> paperAdventureClass;
+    private MethodHandle paperAsAdventure;
 
     public final Class<?> getPaperAdventureClass() {
         return paperAdventureClass;
     }
 
+    public final Class<?> getChatPacketClass() {
+        return chatPacketClass;
+    }
+
+    public final MethodHandle getChatPacketMessageGetter() {
+        return chatPacket_message;
+    }
+
+    public final MethodHandle getChatPacketTypeGetter() {
+        return chatPacket_type;
+    }
+
+    public final MethodHandle getChatPacketSenderGetter() {
+        return chatPacket_sender;
+    }
+
+    public final MethodHandle getChatPacketSpigotComponentsGetter() {
+        return chatPacket_spigotComponents;
+    }
+
+    public final MethodHandle getChatPacketAdventureMessageGetter() {
+        return chatPacket_adventureMessage;
+    }
+
+    /**
+     * @return PaperAdventure.asAdventure(IChatBaseComponent) with the type (Object)Object, or null if not running paper
+     */
+    public final MethodHandle getPaperAsAdventure() {
+        return paperAsAdventure;
+    }
+
+    /**
+     * @return a getter for the field with the type (Object)Object
+     */
+    private MethodHandle getFieldGetter(final Class<?> clazz, final String fieldName) throws Exception {
+        return MethodHandles.lookup().unreflectGetter(Reflection.getField(clazz, fieldName)).asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    private MethodHandle getOptionalFieldGetter(final Class<?> clazz, final String fieldName) {
+        try {
+            return getFieldGetter(clazz, fieldName);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
 
     public PacketInjector(final NotQuests main) {
         this.main = main;
@@ -58,6 +117,13 @@ public class PacketInjector {
             channelField = Reflection.getField(NetworkManager, "k");
             packetListenerField = Reflection.getField(NetworkManager, "m");
 
+            chatPacketClass = Reflection.getClass(ChatPacketClass);
+            chatPacket_message = getFieldGetter(chatPacketClass, "a"); //a => Component message
+            chatPacket_type = getFieldGetter(chatPacketClass, "b"); //b => ChatType type
+            chatPacket_sender = getFieldGetter(chatPacketClass, "c"); //c => UUID sender
+            chatPacket_spigotComponents = getOptionalFieldGetter(chatPacketClass, "components");
+            chatPacket_adventureMessage = getOptionalFieldGetter(chatPacketClass, "adventure$message");
+
         } catch (Throwable t) {
             if (main.getConfiguration().debug) {
                 t.printStackTrace();
@@ -70,11 +136,14 @@ public class PacketInjector {
         try {
             //Method gsonMethod = Class.forName(nkat + ".serializer.gson.GsonComponentSerializer").getDeclaredMethod("gson");
             paperAdventureClass = Class.forName("io.papermc.paper.adventure.PaperAdventure");
+            paperAsAdventure = MethodHandles.lookup().unreflect(paperAdventureClass.getMethod("asAdventure", Class.forName("net.minecraft.network.chat.IChatBaseComponent")))
+                    .asType(MethodType.methodType(Object.class, Object.class));
             //paperGsonComponentSerializer = gson.getClass().getDeclaredMethod(); Reflection.getMethodValueOfObject(gson, "serialize");
 
             //paperGsonComponentSerializer = Class.forName("net.kyori.adventure.text.serializer.gson" Reflection.getField("net.kyori.adventure.text.serializer.gson")
         } catch (Exception e) {
             paperAdventureClass = null;
+            paperAsAdventure = null;
             if (main.getConfiguration().debug) {
                 e.printStackTrace();
             }
@@ -86,7 +155,7 @@ public class PacketInjector {
         try {
             Channel ch = getChannel(getNetworkManager(Reflection.getNmsPlayer(player)));
             if (ch != null && ch.pipeline().get("PacketInjector") == null) {
-                NQPacketListener h = new NQPacketListener(main, player);
+                NQPacketListener h = new NQPacketListener(main, this, player);
                 ch.pipeline().addBefore("packet_handler", "PacketInjector", h);
             }
         } catch (Throwable t) {
@@ -1,82 +1,51 @@
 package rocks.gravili.notquests.paper.managers.packets.ownpacketstuff.wrappers;
 
-import io.netty.channel.ChannelHandlerContext;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.md_5.bungee.api.chat.BaseComponent;
-import rocks.gravili.notquests.paper.NotQuests;
+import rocks.gravili.notquests.paper.managers.packets.ownpacketstuff.PacketInjector;
 import rocks.gravili.notquests.paper.managers.packets.ownpacketstuff.Reflection;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.util.UUID;
 
-;
-
+/**
+ * Reads a chat packet using the field getters which have been resolved once by the PacketInjector. The vanilla json and
+ * paper json are only created if they are requested.
+ */
 public class WrappedChatPacket {
     private final Object packetObject; // https://nms.screamingsandals.org/1.18/net/minecraft/network/protocol/game/ClientboundChatPacket.html
     private final WrappedChatType chatType; //Type: ChatType
     private final UUID sender; //Type: UUID
-    private final String json; //Type: UUID
-    private Object message; //Type: Component
-    private Object adventureComponent;
-    private BaseComponent[] spigotComponent;
+    private String json; //Type: UUID
+    private final Object message; //Type: Component
+    private final Object adventureComponent;
+    private final BaseComponent[] spigotComponent;
     private String paperJson;
 
     //private final ByteBuf byteBuf;
 
-    public WrappedChatPacket(Object packetObject, ChannelHandlerContext ctx) {
+    public WrappedChatPacket(final Object packetObject, final PacketInjector packetInjector) {
         this.packetObject = packetObject;
-        //byteBuf = ctx.alloc().buffer();
-        try {
-            //message = Reflection.getFieldValueOfObject(packetObject, "a");
-            message = Reflection.getFieldValueOfObject(packetObject, "a");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-        try {
-            chatType = WrappedChatType.valueOf(((Enum<?>) ((Enum<?>) Reflection.getFieldValueOfObject(packetObject, "b"))).toString());
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
         try {
-            sender = (UUID) Reflection.getFieldValueOfObject(packetObject, "c");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-
-
-        try {//spigot only
-            spigotComponent = (BaseComponent[]) Reflection.getFieldValueOfObject(packetObject, "components");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-
-
-        if (message != null) {
-            try {
-                json = (String) Reflection.getMethodValueOfObject(message, "getString");
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        } else {
-            json = null;
-            //NotQuests.getInstance().getLogManager().debug("Message is null. Fields: " + Arrays.toString(packetObject.getClass().getDeclaredFields()));
-        }
-
-        //System.out.println("READ: " + readString());
-
-        try {//paper only
-            adventureComponent = Reflection.getFieldValueOfObject(packetObject, "adventure$message");
-            paperJson = GsonComponentSerializer.gson().serialize((Component) adventureComponent);
+            message = packetInjector.getChatPacketMessageGetter().invoke(packetObject);
+            chatType = WrappedChatType.valueOf(((Enum<?>) packetInjector.getChatPacketTypeGetter().invoke(packetObject)).name());
+            sender = (UUID) packetInjector.getChatPacketSenderGetter().invoke(packetObject);
 
+            final MethodHandle spigotComponentsGetter = packetInjector.getChatPacketSpigotComponentsGetter(); //spigot only
+            spigotComponent = spigotComponentsGetter != null ? (BaseComponent[]) spigotComponentsGetter.invoke(packetObject) : null;
 
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            final MethodHandle adventureMessageGetter = packetInjector.getChatPacketAdventureMessageGetter(); //paper only
+            adventureComponent = adventureMessageGetter != null ? adventureMessageGetter.invoke(packetObject) : null;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
         }
-
     }
 
     public String getPaperJson() {
+        if (paperJson == null && adventureComponent != null) {
+            paperJson = GsonComponentSerializer.gson().serialize((Component) adventureComponent);
+        }
         return paperJson;
     }
 
@@ -133,6 +102,13 @@ public class WrappedChatPacket {
     }
 
     public String getChatComponentJson() {
+        if (json == null && message != null) {
+            try {
+                json = (String) Reflection.getMethodValueOfObject(message, "getString");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
         return json;
     }
 }
@@ -29,8 +29,6 @@ import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 
-import java.util.ArrayList;
-
 public class PacketEventsPacketListener implements PacketListener {
     private final NotQuests main;
 
@@ -57,30 +55,12 @@ public class PacketEventsPacketListener implements PacketListener {
             component = GsonComponentSerializer.builder().build().deserialize(wrapperPlayServerChatMessage.getChatComponentJson());
 
 
-            final ArrayList<Component> convHist = main.getConversationManager().getConversationChatHistory().get(player.getUniqueId());
-            if (convHist != null && convHist.contains(component)) {
-                return;
-            }
-
-            ArrayList<Component> hist = main.getConversationManager().getChatHistory().get(player.getUniqueId());
-            if (hist != null) {
-                hist.add(component);
-            } else {
-                hist = new ArrayList<>();
-                hist.add(component);
-            }
+            //Conversation messages have already been added when they were sent, so they are skipped here
+            main.getConversationManager().getOrCreateChatHistory(player.getUniqueId()).addCapturedMessage(component);
 
-            main.getLogManager().debug("Registering chat message with position: " + wrapperPlayServerChatMessage.getPosition() + " and packet ID: " + wrapperPlayServerChatMessage.getPacketId() + ". Message: " + MiniMessage.builder().build().serialize(component));
-            int toRemove = hist.size() - main.getConversationManager().getMaxChatHistory();
-            if (toRemove > 0) {
-                //main.getLogManager().log(Level.WARNING, "ToRemove: " + i);
-                hist.subList(0, toRemove).clear();
+            if (main.getConfiguration().debug) {
+                main.getLogManager().debug("Registering chat message with position: " + wrapperPlayServerChatMessage.getPosition() + " and packet ID: " + wrapperPlayServerChatMessage.getPacketId() + ". Message: " + MiniMessage.builder().build().serialize(component));
             }
-            //main.getLogManager().log(Level.WARNING, "After: " + hist.size());
-
-
-            main.getConversationManager().getChatHistory().put(player.getUniqueId(), hist);
-
 
         } catch (Exception ignored) {
 
@@ -27,6 +27,7 @@ import rocks.gravili.notquests.paper.structs.Quest;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 import rocks.gravili.notquests.paper.structs.actions.*;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
+import rocks.gravili.notquests.paper.structs.conditions.ConditionResult;
 import rocks.gravili.notquests.paper.structs.objectives.Objective;
 
 import java.lang.reflect.InvocationTargetException;
@@ -38,17 +39,23 @@ public class ActionManager {
     private final NotQuests main;
 
     private final HashMap<String, Class<? extends Action>> actions;
+    /**
+     * Class => identifier, the reverse of actions. It is used to find the type of a class without looping through all registered types
+     */
+    private final HashMap<Class<? extends Action>, String> actionTypes;
 
 
     public ActionManager(final NotQuests main) {
         this.main = main;
         actions = new HashMap<>();
+        actionTypes = new HashMap<>();
 
         registerDefaultActions();
     }
 
     public void registerDefaultActions() {
         actions.clear();
+        actionTypes.clear();
         registerAction("Action", ActionAction.class);
         registerAction("GiveQuest", GiveQuestAction.class);
         registerAction("CompleteQuest", CompleteQuestAction.class);
@@ -72,6 +79,7 @@ public class ActionManager {
     public void registerAction(final String identifier, final Class<? extends Action> action) {
         main.getLogManager().info("Registering action <highlight>" + identifier);
         actions.put(identifier, action);
+        actionTypes.put(action, identifier);
 
         try {
             Method commandHandler = action.getMethod("handleCommands", main.getClass(), PaperCommandManager.class, Command.Builder.class, ActionFor.class);
@@ -89,12 +97,7 @@ public class ActionManager {
     }
 
     public final String getActionType(final Class<? extends Action> action) {
-        for (final String actionType : actions.keySet()) {
-            if (actions.get(actionType).equals(action)) {
-                return actionType;
-            }
-        }
-        return null;
+        return actionTypes.get(action);
     }
 
     public final HashMap<String, Class<? extends Action>> getActionsAndIdentifiers() {
@@ -162,6 +165,8 @@ public class ActionManager {
         if (action.getConditions().size() == 0) {
             main.getLogManager().debug("   Skipping Conditions");
             action.execute(questPlayer.getPlayer(), objects);
+            //The action might have changed the result of conditions
+            questPlayer.clearConditionResults();
             if (!silent) {
                 sender.sendMessage(main.parse("<success>Action with the name <highlight>" + action.getActionName() + "</highlight> has been executed!"));
             }
@@ -170,24 +175,26 @@ public class ActionManager {
 
         StringBuilder unfulfilledConditions = new StringBuilder();
         for (final Condition condition : action.getConditions()) {
-            final String check = condition.check(questPlayer, false);
-            main.getLogManager().debug("   Condition Check Result: " + check);
-            if (!check.isBlank()) {
-                unfulfilledConditions.append("\n").append(check);
+            final ConditionResult result = condition.getResult(questPlayer);
+            if (!result.isFulfilled()) {
+                main.getLogManager().debug("   Condition Check Result: " + result.getReason());
+                unfulfilledConditions.append("\n").append(result.getReason());
             }
         }
 
-        if (!unfulfilledConditions.toString().isBlank()) {
+        if (!unfulfilledConditions.isEmpty()) {
             if (!silent) {
                 sender.sendMessage(main.parse("<error>You do not fulfill all the conditions this action needs! Conditions still needed:" + unfulfilledConditions));
             }
         } else {
             main.getLogManager().debug("   All Conditions fulfilled!");
-            //Now loop through all the requirements again in order to enforce them
+            //Now enforce the conditions which do something when enforced (like deducting money)
             for (final Condition condition : action.getConditions()) {
-                condition.check(questPlayer, true);
+                condition.enforce(questPlayer);
             }
             action.execute(questPlayer.getPlayer(), objects);
+            //The action might have changed the result of conditions
+            questPlayer.clearConditionResults();
             if (!silent) {
                 sender.sendMessage(main.parse("<success>Action with the name <highlight>" + action.getActionName() + "</highlight> has been executed!"));
             }
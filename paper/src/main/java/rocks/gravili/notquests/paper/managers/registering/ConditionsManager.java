@@ -47,11 +47,16 @@ public class ConditionsManager {
     private final NotQuests main;
 
     private final HashMap<String, Class<? extends Condition>> conditions;
+    /**
+     * Class => identifier, the reverse of conditions. It is used to find the type of a class without looping through all registered types
+     */
+    private final HashMap<Class<? extends Condition>, String> conditionTypes;
 
 
     public ConditionsManager(final NotQuests main) {
         this.main = main;
         conditions = new HashMap<>();
+        conditionTypes = new HashMap<>();
 
         registerDefaultConditions();
 
@@ -59,6 +64,7 @@ public class ConditionsManager {
 
     public void registerDefaultConditions() {
         conditions.clear();
+        conditionTypes.clear();
         registerCondition("Condition", ConditionCondition.class);
 
         registerCondition("CompletedQuest", CompletedQuestCondition.class);
@@ -83,6 +89,7 @@ public class ConditionsManager {
     public void registerCondition(final String identifier, final Class<? extends Condition> condition) {
         main.getLogManager().info("Registering condition <highlight>" + identifier);
         conditions.put(identifier, condition);
+        conditionTypes.put(condition, identifier);
 
         try {
             Method commandHandler = condition.getMethod("handleCommands", main.getClass(), PaperCommandManager.class, Command.Builder.class, ConditionFor.class);
@@ -101,12 +108,7 @@ public class ConditionsManager {
     }
 
     public final String getConditionType(final Class<? extends Condition> condition) {
-        for (final String conditionType : conditions.keySet()) {
-            if (conditions.get(conditionType).equals(condition)) {
-                return conditionType;
-            }
-        }
-        return null;
+        return conditionTypes.get(condition);
     }
 
     public final HashMap<String, Class<? extends Condition>> getConditionsAndIdentifiers() {
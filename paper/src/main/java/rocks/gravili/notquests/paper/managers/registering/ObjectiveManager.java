@@ -44,12 +44,17 @@ public class ObjectiveManager {
     private final NotQuests main;
 
     private final HashMap<String, Class<? extends Objective>> objectives;
+    /**
+     * Class => identifier, the reverse of objectives. It is used to find the type of a class without looping through all registered types
+     */
+    private final HashMap<Class<? extends Objective>, String> objectiveTypes;
 
 
 
     public ObjectiveManager(final NotQuests main){
         this.main = main;
         objectives = new HashMap<>();
+        objectiveTypes = new HashMap<>();
 
         registerDefaultObjectives();
 
@@ -57,6 +62,7 @@ public class ObjectiveManager {
 
     public void registerDefaultObjectives(){
         objectives.clear();
+        objectiveTypes.clear();
         registerObjective("BreakBlocks", BreakBlocksObjective.class);
         registerObjective("PlaceBlocks", PlaceBlocksObjective.class);
         registerObjective("CollectItems", CollectItemsObjective.class);
@@ -102,6 +108,7 @@ public class ObjectiveManager {
     public void registerObjective(final String identifier, final Class<? extends Objective> objective) {
         main.getLogManager().info("Registering objective <highlight>" + identifier);
         objectives.put(identifier, objective);
+        objectiveTypes.put(objective, identifier);
 
         try {
             Method commandHandler = objective.getMethod("handleCommands", main.getClass(), PaperCommandManager.class, Command.Builder.class);
@@ -118,12 +125,7 @@ public class ObjectiveManager {
         return objectives.get(type);
     }
     public final String getObjectiveType(final Class<? extends Objective> objective){
-        for(final String objectiveType : objectives.keySet()){
-            if(objectives.get(objectiveType).equals(objective)) {
-                return objectiveType;
-            }
-        }
-        return null;
+        return objectiveTypes.get(objective);
     }
 
     public final HashMap<String, Class<? extends Objective>> getObjectivesAndIdentifiers() {
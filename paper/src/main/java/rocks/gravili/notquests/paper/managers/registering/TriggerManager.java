@@ -40,11 +40,16 @@ public class TriggerManager {
     private final NotQuests main;
 
     private final HashMap<String, Class<? extends Trigger>> triggers;
+    /**
+     * Class => identifier, the reverse of triggers. It is used to find the type of a class without looping through all registered types
+     */
+    private final HashMap<Class<? extends Trigger>, String> triggerTypes;
 
 
     public TriggerManager(final NotQuests main) {
         this.main = main;
         triggers = new HashMap<>();
+        triggerTypes = new HashMap<>();
 
         registerDefaultTriggers();
 
@@ -52,6 +57,7 @@ public class TriggerManager {
 
     public void registerDefaultTriggers() {
         triggers.clear();
+        triggerTypes.clear();
         registerTrigger("BEGIN", BeginTrigger.class);
         registerTrigger("COMPLETE", CompleteTrigger.class);
         registerTrigger("DEATH", DeathTrigger.class);
@@ -68,6 +74,7 @@ public class TriggerManager {
     public void registerTrigger(final String identifier, final Class<? extends Trigger> trigger) {
         main.getLogManager().info("Registering trigger <highlight>" + identifier);
         triggers.put(identifier, trigger);
+        triggerTypes.put(trigger, identifier);
 
         try {
             Method commandHandler = trigger.getMethod("handleCommands", main.getClass(), PaperCommandManager.class, Command.Builder.class);
@@ -83,12 +90,7 @@ public class TriggerManager {
     }
 
     public final String getTriggerType(final Class<? extends Trigger> trigger) {
-        for (final String triggerType : triggers.keySet()) {
-            if (triggers.get(triggerType).equals(trigger)) {
-                return triggerType;
-            }
-        }
-        return null;
+        return triggerTypes.get(trigger);
     }
 
     public final HashMap<String, Class<? extends Trigger>> getTriggersAndIdentifiers() {
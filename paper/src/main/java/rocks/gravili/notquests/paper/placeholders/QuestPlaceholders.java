@@ -23,6 +23,9 @@ import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.*;
 
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * This class will be registered through the register-method in the
  * plugins onEnable-method.
@@ -31,6 +34,65 @@ public class QuestPlaceholders extends PlaceholderExpansion {
 
     private final NotQuests main;
 
+    /**
+     * The kinds of placeholders this expansion provides. Each type knows the identifier prefix it is recognized by and
+     * what is returned if the player has no QuestPlayer (yet).
+     */
+    private enum RouteType {
+        PLAYER_QUESTPOINTS("player_questpoints", "0"),
+        PLAYER_COMPLETED_QUESTS_AMOUNT("player_completed_quests_amount", "0"),
+        PLAYER_ACTIVE_QUESTS_AMOUNT("player_active_quests_amount", "0"),
+        PLAYER_ACTIVE_QUESTS_LIST_HORIZONTAL("player_active_quests_list_horizontal", "-"),
+        PLAYER_ACTIVE_QUESTS_LIST_VERTICAL("player_active_quests_list_vertical", "-"),
+        PLAYER_HAS_COMPLETED_QUEST("player_has_completed_quest_", "No"),
+        PLAYER_HAS_CURRENT_ACTIVE_QUEST("player_has_current_active_quest_", "No"),
+        PLAYER_IS_OBJECTIVE_UNLOCKED_AND_ACTIVE("player_is_objective_unlocked_and_active_", "No"),
+        PLAYER_IS_OBJECTIVE_UNLOCKED("player_is_objective_unlocked_", "No"),
+        PLAYER_IS_OBJECTIVE_COMPLETED("player_is_objective_completed_", "No"),
+        INVALID("", null);
+
+        private final String prefix;
+        private final String defaultAnswer;
+
+        RouteType(final String prefix, final String defaultAnswer) {
+            this.prefix = prefix;
+            this.defaultAnswer = defaultAnswer;
+        }
+    }
+
+    /**
+     * A placeholder identifier which has already been parsed.
+     *
+     * @param type        what the placeholder returns
+     * @param questName   the quest name from the identifier, or null if the type doesn't need one
+     * @param objectiveID the objective ID from the identifier, or -1 if the type doesn't need one
+     */
+    private record Route(RouteType type, String questName, int objectiveID) {
+    }
+
+    private static final Route INVALID_ROUTE = new Route(RouteType.INVALID, null, -1);
+    private static final String OBJECTIVE_QUEST_SEPARATOR = "_from_active_quest_";
+
+    /**
+     * Raw identifier => parsed route. Identifiers come from scoreboard / tab list configurations, so there are only a few
+     * of them, but they are requested for every online player many times per second.
+     */
+    private final ConcurrentHashMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Player UUID => the answers of all placeholders requested for that player, which stay valid until the revision of
+     * their QuestPlayer changes
+     */
+    private final ConcurrentHashMap<UUID, CachedAnswers> cachedAnswers = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented whenever all cached answers become outdated, for example because quests or the configuration were reloaded
+     */
+    private volatile int generation = 0;
+
+    private record CachedAnswers(QuestPlayer questPlayer, int revision, int generation, ConcurrentHashMap<Route, String> answers) {
+    }
+
     /**
      * Since we register the expansion inside our own plugin, we
      * can simply use this method here to get an instance of our
@@ -108,6 +170,8 @@ public class QuestPlaceholders extends PlaceholderExpansion {
      * is found and needs a value.
      * <br>We specify the value identifier in this method.
      * <br>Since version 2.9.1 can you use OfflinePlayers in your requests.
+     * <br>The identifier is only parsed the first time it's requested. The answers are cached per player until their
+     * quest data changes.
      *
      * @param identifier A String containing the identifier/value.
      * @return possibly-null String of the requested identifier.
@@ -119,229 +183,188 @@ public class QuestPlaceholders extends PlaceholderExpansion {
             return "";
         }
 
-        if (identifier.startsWith("player_questpoints")) {
-            final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-            if (questPlayer != null) {
-                return "" + questPlayer.getQuestPoints();
-            }
-            return "0";
+        final Route route = routes.computeIfAbsent(identifier, QuestPlaceholders::parseRoute);
+        if (route.type() == RouteType.INVALID) {
+            // We return null if an invalid placeholder (f.e. %someplugin_placeholder3%)
+            // was provided
+            return null;
         }
 
-        if (identifier.startsWith("player_completed_quests_amount")) {
-            final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-            if (questPlayer != null) {
-                return "" + questPlayer.getCompletedQuests().size();
-            }
-            return "0";
+        final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
+        if (questPlayer == null) {
+            return route.type().defaultAnswer;
         }
 
-        if (identifier.startsWith("player_active_quests_amount")) {
-            final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-            if (questPlayer != null) {
-                return "" + questPlayer.getActiveQuests().size();
-            }
-            return "0";
+        final int revision = questPlayer.getRevision();
+        final int generation = this.generation;
+        CachedAnswers playerAnswers = cachedAnswers.get(player.getUniqueId());
+        if (playerAnswers == null || playerAnswers.questPlayer() != questPlayer || playerAnswers.revision() != revision || playerAnswers.generation() != generation) {
+            playerAnswers = new CachedAnswers(questPlayer, revision, generation, new ConcurrentHashMap<>());
+            cachedAnswers.put(player.getUniqueId(), playerAnswers);
         }
 
-        if (identifier.startsWith("player_active_quests_list_horizontal")) {
-            final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-            if (questPlayer != null) {
-                StringBuilder list = new StringBuilder();
-                int amount = 0;
-                for (ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                    amount++;
-                    //return if it's bigger than limit
-                    if (main.getConfiguration().placeholder_player_active_quests_list_horizontal_limit >= 0 && amount > main.getConfiguration().placeholder_player_active_quests_list_horizontal_limit) {
-                        return list.toString();
-                    }
-
-                    String nameToAdd = activeQuest.getQuest().getQuestName();
-                    if (main.getConfiguration().placeholder_player_active_quests_list_horizontal_use_displayname_if_available) {
-                        if (!activeQuest.getQuest().getQuestDisplayName().isBlank()) {
-                            nameToAdd = activeQuest.getQuest().getQuestDisplayName();
-                        }
-                    }
-
-                    if(amount == 1){
-                        list = new StringBuilder(nameToAdd);
-                    }else{
-                        list.append(main.getConfiguration().placeholder_player_active_quests_list_horizontal_separator).append(nameToAdd);
-                    }
-
-                }
-                return list.toString();
-            }
-            return "-";
-
+        String answer = playerAnswers.answers().get(route);
+        if (answer == null) {
+            answer = resolve(route, questPlayer);
+            playerAnswers.answers().put(route, answer);
         }
-        if (identifier.startsWith("player_active_quests_list_vertical")) {
-            final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-            if (questPlayer != null) {
-                StringBuilder list = new StringBuilder();
-                int amount = 0;
-                for(ActiveQuest activeQuest : questPlayer.getActiveQuests()){
-                    amount++;
-                    //return if it's bigger than limit
-                    if (main.getConfiguration().placeholder_player_active_quests_list_vertical_limit >= 0 && amount > main.getConfiguration().placeholder_player_active_quests_list_vertical_limit) {
-                        return list.toString();
-                    }
+        return answer;
+    }
 
-                    String nameToAdd = activeQuest.getQuest().getQuestName();
-                    if (main.getConfiguration().placeholder_player_active_quests_list_vertical_use_displayname_if_available) {
-                        if (!activeQuest.getQuest().getQuestDisplayName().isBlank()) {
-                            nameToAdd = activeQuest.getQuest().getQuestDisplayName();
-                        }
+    /**
+     * Parses a placeholder identifier. The prefixes are checked in the same order as they always have been, so
+     * for example player_is_objective_unlocked_and_active_ is matched before player_is_objective_unlocked_.
+     *
+     * @param identifier the identifier without the notquests_ prefix
+     * @return the route of the identifier, or INVALID_ROUTE if it's not one of our placeholders
+     */
+    private static Route parseRoute(final String identifier) {
+        for (final RouteType type : RouteType.values()) {
+            if (type == RouteType.INVALID || !identifier.startsWith(type.prefix)) {
+                continue;
+            }
+            switch (type) {
+                case PLAYER_HAS_COMPLETED_QUEST, PLAYER_HAS_CURRENT_ACTIVE_QUEST -> {
+                    return new Route(type, identifier.substring(type.prefix.length()), -1);
+                }
+                case PLAYER_IS_OBJECTIVE_UNLOCKED_AND_ACTIVE, PLAYER_IS_OBJECTIVE_UNLOCKED, PLAYER_IS_OBJECTIVE_COMPLETED -> {
+                    final int separatorIndex = identifier.indexOf(OBJECTIVE_QUEST_SEPARATOR, type.prefix.length());
+                    if (separatorIndex < 0) {
+                        continue;
                     }
-
-                    if(amount == 1){
-                        list = new StringBuilder(nameToAdd);
-                    }else{
-                        list.append("\n").append(nameToAdd);
+                    try {
+                        final int objectiveID = Integer.parseInt(identifier.substring(type.prefix.length(), separatorIndex));
+                        return new Route(type, identifier.substring(separatorIndex + OBJECTIVE_QUEST_SEPARATOR.length()), objectiveID);
+                    } catch (final NumberFormatException e) {
+                        return INVALID_ROUTE;
                     }
-
                 }
-                return list.toString();
+                default -> {
+                    return new Route(type, null, -1);
+                }
             }
-            return "-";
-
         }
+        return INVALID_ROUTE;
+    }
 
-        if (identifier.startsWith("player_has_completed_quest_")) {
-            final String questName = identifier.replace("player_has_completed_quest_", "");
-            final Quest quest = main.getQuestManager().getQuest(questName);
-            if (quest != null) {
-                final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-                if (questPlayer != null) {
+    private String resolve(final Route route, final QuestPlayer questPlayer) {
+        return switch (route.type()) {
+            case PLAYER_QUESTPOINTS -> "" + questPlayer.getQuestPoints();
+            case PLAYER_COMPLETED_QUESTS_AMOUNT -> "" + questPlayer.getCompletedQuests().size();
+            case PLAYER_ACTIVE_QUESTS_AMOUNT -> "" + questPlayer.getActiveQuests().size();
+            case PLAYER_ACTIVE_QUESTS_LIST_HORIZONTAL -> getActiveQuestsList(questPlayer,
+                    main.getConfiguration().placeholder_player_active_quests_list_horizontal_limit,
+                    main.getConfiguration().placeholder_player_active_quests_list_horizontal_use_displayname_if_available,
+                    main.getConfiguration().placeholder_player_active_quests_list_horizontal_separator);
+            case PLAYER_ACTIVE_QUESTS_LIST_VERTICAL -> getActiveQuestsList(questPlayer,
+                    main.getConfiguration().placeholder_player_active_quests_list_vertical_limit,
+                    main.getConfiguration().placeholder_player_active_quests_list_vertical_use_displayname_if_available,
+                    "\n");
+            case PLAYER_HAS_COMPLETED_QUEST -> {
+                final Quest quest = main.getQuestManager().getQuest(route.questName());
+                if (quest != null) {
                     for (final CompletedQuest completedQuest : questPlayer.getCompletedQuests()) {
                         if (completedQuest.getQuest().equals(quest)) {
-                            return "Yes";
+                            yield "Yes";
                         }
                     }
                 }
+                yield "No";
             }
-            return "No";
-
-        }
-        if (identifier.startsWith("player_has_current_active_quest_")) {
-            final String questName = identifier.replace("player_has_current_active_quest_", "");
-            final Quest quest = main.getQuestManager().getQuest(questName);
-            if (quest != null) {
-                final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-                if (questPlayer != null) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        if (activeQuest.getQuest().equals(quest)) {
-                            return "Yes";
+            case PLAYER_HAS_CURRENT_ACTIVE_QUEST -> getActiveQuest(questPlayer, route) != null ? "Yes" : "No";
+            case PLAYER_IS_OBJECTIVE_UNLOCKED_AND_ACTIVE -> {
+                final ActiveQuest activeQuest = getActiveQuest(questPlayer, route);
+                if (activeQuest != null) {
+                    for (final ActiveObjective objective : activeQuest.getActiveObjectives()) {
+                        if (objective.getObjectiveID() == route.objectiveID() && objective.isUnlocked()) {
+                            yield "Yes";
                         }
                     }
                 }
+                yield "No";
             }
-            return "No";
-
-        }
-
-        if (identifier.startsWith("player_is_objective_unlocked_and_active") && identifier.contains("_from_active_quest_")) {
-            String objectiveIDName = identifier.replace("player_is_objective_unlocked_and_active_", "");
-            objectiveIDName = objectiveIDName.substring(0, objectiveIDName.indexOf("_from_active_quest_"));
-            final int objectiveID = Integer.parseInt(objectiveIDName);
-
-            final String questName = identifier.replace("player_is_objective_unlocked_and_active_", "").replace(objectiveIDName, "").replace("_from_active_quest_", "");
-
-
-            final Quest quest = main.getQuestManager().getQuest(questName);
-            if (quest != null) {
-                final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-                if (questPlayer != null) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        if (activeQuest.getQuest().equals(quest)) {
-                            for (final ActiveObjective objective : activeQuest.getActiveObjectives()) {
-                                if (objective.getObjectiveID() == objectiveID) {
-                                    if (objective.isUnlocked()) {
-                                        return "Yes";
-                                    }
-                                }
-                            }
-
-                            return "No";
+            case PLAYER_IS_OBJECTIVE_UNLOCKED -> {
+                final ActiveQuest activeQuest = getActiveQuest(questPlayer, route);
+                if (activeQuest != null) {
+                    for (final ActiveObjective objective : activeQuest.getActiveObjectives()) {
+                        if (objective.getObjectiveID() == route.objectiveID() && objective.isUnlocked()) {
+                            yield "Yes";
+                        }
+                    }
+                    for (final ActiveObjective objective : activeQuest.getCompletedObjectives()) {
+                        if (objective.getObjectiveID() == route.objectiveID() && objective.isUnlocked()) {
+                            yield "Yes";
                         }
                     }
-                    return "No";
                 }
-                return "No";
+                yield "No";
             }
-            return "No";
-
-        } else if (identifier.startsWith("player_is_objective_unlocked_") && identifier.contains("_from_active_quest_")) {
-            String objectiveIDName = identifier.replace("player_is_objective_unlocked_", "");
-            objectiveIDName = objectiveIDName.substring(0, objectiveIDName.indexOf("_from_active_quest_"));
-            final int objectiveID = Integer.parseInt(objectiveIDName);
-
-            final String questName = identifier.replace("player_is_objective_unlocked_", "").replace(objectiveIDName, "").replace("_from_active_quest_", "");
-
-
-            final Quest quest = main.getQuestManager().getQuest(questName);
-            if (quest != null) {
-                final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-                if (questPlayer != null) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        if (activeQuest.getQuest().equals(quest)) {
-                            for (final ActiveObjective objective : activeQuest.getActiveObjectives()) {
-                                if (objective.getObjectiveID() == objectiveID) {
-                                    if (objective.isUnlocked()) {
-                                        return "Yes";
-                                    }
-                                }
-                            }
-                            for (final ActiveObjective objective : activeQuest.getCompletedObjectives()) {
-                                if (objective.getObjectiveID() == objectiveID) {
-                                    if (objective.isUnlocked()) {
-                                        return "Yes";
-                                    }
-                                }
-                            }
-                            return "No";
+            case PLAYER_IS_OBJECTIVE_COMPLETED -> {
+                final ActiveQuest activeQuest = getActiveQuest(questPlayer, route);
+                if (activeQuest != null) {
+                    for (final ActiveObjective objective : activeQuest.getCompletedObjectives()) {
+                        if (objective.getObjectiveID() == route.objectiveID()) {
+                            yield "Yes";
                         }
                     }
-                    return "No";
                 }
-                return "No";
+                yield "No";
             }
-            return "No";
-
-        } else if (identifier.startsWith("player_is_objective_completed_") && identifier.contains("_from_active_quest_")) {
-            String objectiveIDName = identifier.replace("player_is_objective_completed_", "");
-            objectiveIDName = objectiveIDName.substring(0, objectiveIDName.indexOf("_from_active_quest_"));
-            final int objectiveID = Integer.parseInt(objectiveIDName);
-
-            final String questName = identifier.replace("player_is_objective_completed_", "").replace(objectiveIDName, "").replace("_from_active_quest_", "");
-
-
-            final Quest quest = main.getQuestManager().getQuest(questName);
-            if (quest != null) {
-                final QuestPlayer questPlayer = main.getQuestPlayerManager().getQuestPlayer(player.getUniqueId());
-                if (questPlayer != null) {
-                    for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
-                        if (activeQuest.getQuest().equals(quest)) {
-                            for (final ActiveObjective objective : activeQuest.getCompletedObjectives()) {
-                                if (objective.getObjectiveID() == objectiveID) {
-                                    return "Yes";
-                                }
-                            }
-                            return "No";
-                        }
+            case INVALID -> null;
+        };
+    }
 
+    private ActiveQuest getActiveQuest(final QuestPlayer questPlayer, final Route route) {
+        final Quest quest = main.getQuestManager().getQuest(route.questName());
+        if (quest == null) {
+            return null;
+        }
+        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
+            if (activeQuest.getQuest().equals(quest)) {
+                return activeQuest;
+            }
+        }
+        return null;
+    }
 
-                    }
-                    return "No";
-                }
-                return "No";
+    private String getActiveQuestsList(final QuestPlayer questPlayer, final int limit, final boolean useDisplayNameIfAvailable, final String separator) {
+        final StringBuilder list = new StringBuilder();
+        int amount = 0;
+        for (final ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
+            amount++;
+            //return if it's bigger than limit
+            if (limit >= 0 && amount > limit) {
+                break;
             }
-            return "No";
+
+            String nameToAdd = activeQuest.getQuest().getQuestName();
+            if (useDisplayNameIfAvailable && !activeQuest.getQuest().getQuestDisplayName().isBlank()) {
+                nameToAdd = activeQuest.getQuest().getQuestDisplayName();
+            }
+
+            if (amount > 1) {
+                list.append(separator);
+            }
+            list.append(nameToAdd);
         }
+        return list.toString();
+    }
 
+    /**
+     * Removes the cached answers of a player, for example when they leave the server
+     *
+     * @param uuid the UUID of the player
+     */
+    public void removeCachedAnswers(final UUID uuid) {
+        cachedAnswers.remove(uuid);
+    }
 
-        // We return null if an invalid placeholder (f.e. %someplugin_placeholder3%)
-        // was provided
-        return null;
+    /**
+     * Removes all cached answers, so they are re-calculated with the current quests and configuration
+     */
+    public void clearCachedAnswers() {
+        generation++;
+        cachedAnswers.clear();
     }
 }
 //%notquests_player_has_completed_quest_bob_the_king%
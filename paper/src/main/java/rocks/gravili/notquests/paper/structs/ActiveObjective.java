@@ -25,6 +25,7 @@ import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.commands.NotQuestColors;
 import rocks.gravili.notquests.paper.events.notquests.ObjectiveUnlockEvent;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
+import rocks.gravili.notquests.paper.structs.conditions.ConditionResult;
 import rocks.gravili.notquests.paper.structs.objectives.EscortNPCObjective;
 import rocks.gravili.notquests.paper.structs.objectives.Objective;
 import rocks.gravili.notquests.paper.structs.objectives.OtherQuestObjective;
@@ -49,6 +50,7 @@ public class ActiveObjective {
     private long currentProgress;
     private boolean unlocked = false;
     private boolean hasBeenCompleted = false;
+    private boolean dirty = false;
 
     public ActiveObjective(final NotQuests main, final int objectiveID, final Objective objective, final ActiveQuest activeQuest) {
         this.main = main;
@@ -61,22 +63,14 @@ public class ActiveObjective {
 
     public final void setUnlocked(final boolean unlocked, final boolean notifyPlayer, final boolean triggerAcceptQuestTrigger) {
         if (this.unlocked != unlocked) {
-            getQuestPlayer().sendDebugMessage("Changed objective unlock status to " + unlocked);
+            getQuestPlayer().sendDebugMessage(() -> "Changed objective unlock status to " + unlocked);
 
 
             this.unlocked = unlocked;
+            getQuestPlayer().invalidateObjectiveIndex();
             if (unlocked) {
 
-                ObjectiveUnlockEvent objectiveUnlockEvent = new ObjectiveUnlockEvent(getQuestPlayer(), this, activeQuest, triggerAcceptQuestTrigger);
-                if (Bukkit.isPrimaryThread()) {
-                    Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
-                        Bukkit.getPluginManager().callEvent(objectiveUnlockEvent);
-                    });
-                } else {
-                    Bukkit.getPluginManager().callEvent(objectiveUnlockEvent);
-                }
-
-                if (objectiveUnlockEvent.isCancelled()) {
+                if (main.getUtilManager().callCancellableEvent(ObjectiveUnlockEvent.getHandlerList(), () -> new ObjectiveUnlockEvent(getQuestPlayer(), this, activeQuest, triggerAcceptQuestTrigger))) {
                     return;
                 }
 
@@ -121,12 +115,12 @@ public class ActiveObjective {
 
         boolean foundStillFalseConditions = false;
         for (final Condition condition : objective.getConditions()){
-            String check = condition.check(getQuestPlayer(), false);
-            getQuestPlayer().sendDebugMessage("Condition status for " + objective.getObjectiveFinalName() + ": " + check);
+            final ConditionResult result = condition.getResult(getQuestPlayer());
+            getQuestPlayer().sendDebugMessage(() -> "Condition status for " + objective.getObjectiveFinalName() + ": " + result.getReason());
 
-            if(!check.isBlank()) {
+            if (!result.isFulfilled()) {
                 foundStillFalseConditions = true;
-                getQuestPlayer().sendDebugMessage("Following objective condition is still unfinished: " + condition.getConditionDescription());
+                getQuestPlayer().sendDebugMessage(() -> "Following objective condition is still unfinished: " + condition.getConditionDescription());
                 setUnlocked(false, notifyPlayer, triggerAcceptQuestTrigger);
             }
 
@@ -135,7 +129,7 @@ public class ActiveObjective {
             }
         }
         if (!foundStillFalseConditions) {
-            getQuestPlayer().sendDebugMessage("Active objective " + objective.getObjectiveFinalName() + " has been set to unlocked!");
+            getQuestPlayer().sendDebugMessage(() -> "Active objective " + objective.getObjectiveFinalName() + " has been set to unlocked!");
             setUnlocked(true, notifyPlayer, triggerAcceptQuestTrigger);
 
         }
@@ -181,6 +175,7 @@ public class ActiveObjective {
 
     public void addProgress(long progressToAdd, final int NPCID, final UUID armorStandUUID, boolean silent) {
         currentProgress += progressToAdd;
+        markDirty();
         if (isCompleted(armorStandUUID)) {
             setHasBeenCompleted(true);
             if(armorStandUUID != null){
@@ -189,7 +184,7 @@ public class ActiveObjective {
                 activeQuest.notifyActiveObjectiveCompleted(this, silent, NPCID);
             }
         }
-        getQuestPlayer().sendDebugMessage("+" + progressToAdd + " progress for objective " + NotQuestColors.debugHighlightGradient + getObjective().getObjectiveFinalName() + "</gradient> of quest " + NotQuestColors.debugHighlightGradient + getActiveQuest().getQuest().getQuestFinalName() + "</gradient>. Silent: " + silent);
+        getQuestPlayer().sendDebugMessage(() -> "+" + progressToAdd + " progress for objective " + NotQuestColors.debugHighlightGradient + getObjective().getObjectiveFinalName() + "</gradient> of quest " + NotQuestColors.debugHighlightGradient + getActiveQuest().getQuest().getQuestFinalName() + "</gradient>. Silent: " + silent);
     }
 
 
@@ -206,8 +201,9 @@ public class ActiveObjective {
         } else {
             currentProgress -= i;
         }
+        markDirty();
 
-        getQuestPlayer().sendDebugMessage("-" + i + " progress for objective " + NotQuestColors.debugHighlightGradient + getObjective().getObjectiveFinalName() + "</gradient> of quest " + NotQuestColors.debugHighlightGradient + getActiveQuest().getQuest().getQuestFinalName() + "</gradient>.");
+        getQuestPlayer().sendDebugMessage(() -> "-" + i + " progress for objective " + NotQuestColors.debugHighlightGradient + getObjective().getObjectiveFinalName() + "</gradient> of quest " + NotQuestColors.debugHighlightGradient + getActiveQuest().getQuest().getQuestFinalName() + "</gradient>.");
 
     }
 
@@ -250,5 +246,22 @@ public class ActiveObjective {
     public void setHasBeenCompleted(final boolean hasBeenCompleted) {
         // System.out.println("§4§lSet has been completed to: §b" + hasBeenCompleted + " §cfor objective with ID §b" + getObjectiveID());
         this.hasBeenCompleted = hasBeenCompleted;
+        markDirty();
+    }
+
+    /**
+     * @return if the progress of this objective has changed since the last save
+     */
+    public final boolean isDirty() {
+        return dirty;
+    }
+
+    private void markDirty() {
+        dirty = true;
+        activeQuest.markDirty();
+    }
+
+    public void markSaved() {
+        dirty = false;
     }
 }
@@ -33,6 +33,7 @@ import rocks.gravili.notquests.paper.structs.triggers.ActiveTrigger;
 import rocks.gravili.notquests.paper.structs.triggers.Trigger;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.UUID;
 
 /**
@@ -56,6 +57,10 @@ public class ActiveQuest {
 
     private final QuestPlayer questPlayer;
 
+    /**
+     * If the progress of any of the objectives or triggers of this active quest has changed since the last save
+     */
+    private boolean dirty = false;
 
 
     public ActiveQuest(NotQuests main, Quest quest, QuestPlayer questPlayer) {
@@ -111,6 +116,28 @@ public class ActiveQuest {
         return questPlayer;
     }
 
+    public final boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Called when the progress of an objective or trigger of this active quest changes, so it will be saved with the next save
+     */
+    public void markDirty() {
+        dirty = true;
+        questPlayer.markDirty();
+    }
+
+    public void markSaved() {
+        dirty = false;
+        for (final ActiveObjective activeObjective : activeObjectives) {
+            activeObjective.markSaved();
+        }
+        for (final ActiveObjective completedObjective : completedObjectives) {
+            completedObjective.markSaved();
+        }
+    }
+
     //For Citizens NPCs
     public void notifyActiveObjectiveCompleted(final ActiveObjective activeObjective, final boolean silent, final int NPCID) {
         notifyActiveObjectiveCompleted(activeObjective, silent, NPCID, null);
@@ -120,17 +147,8 @@ public class ActiveQuest {
         notifyActiveObjectiveCompleted(activeObjective, silent, -1, armorStandUUID);
     }
     public void notifyActiveObjectiveCompleted(final ActiveObjective activeObjective, final boolean silent, final int NPCID, final UUID armorStandUUID) {
-        if (!main.getDataManager().isCurrentlyLoading()) {
-            ObjectiveCompleteEvent objectiveCompleteEvent = new ObjectiveCompleteEvent(getQuestPlayer(), activeObjective, this);
-            if (Bukkit.isPrimaryThread()) {
-                Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
-                    Bukkit.getPluginManager().callEvent(objectiveCompleteEvent);
-                });
-            } else {
-                Bukkit.getPluginManager().callEvent(objectiveCompleteEvent);
-            }
-
-            if (objectiveCompleteEvent.isCancelled()) {
+        if (!main.getDataManager().isCurrentlyLoading() && !questPlayer.isCurrentlyLoading()) {
+            if (main.getUtilManager().callCancellableEvent(ObjectiveCompleteEvent.getHandlerList(), () -> new ObjectiveCompleteEvent(getQuestPlayer(), activeObjective, this))) {
                 return;
             }
             final Player player = Bukkit.getPlayer(questPlayer.getUUID());
@@ -191,12 +209,22 @@ public class ActiveQuest {
         }
         questPlayer.sendDebugMessage("Executing removeCompletedObjectives");
 
+        //Other active objectives might be unlocked if these objectives are completed. Only the ones which depend on them
+        //(or on something outside the quest) need to be re-checked.
+        final ObjectiveDependencies objectiveDependencies = getQuest().getObjectiveDependencies();
+        final HashSet<Objective> objectivesToCheck = new HashSet<>();
+        for (final ActiveObjective completedObjective : toRemove) {
+            objectivesToCheck.addAll(objectiveDependencies.getDependentObjectives(completedObjective.getObjectiveID()));
+        }
+
         activeObjectives.removeAll(toRemove);
         toRemove.clear();
+        questPlayer.invalidateObjectiveIndex();
 
-        //Other active objectives might be unlocked if this objective is completed. This will re-check them all. (This is either due to a dependency or OtherQuest condition (for v3))
         for (final ActiveObjective activeObjectiveToCheckForIfUnlocked : activeObjectives) {
-            activeObjectiveToCheckForIfUnlocked.updateUnlocked(notifyPlayer, true);
+            if (objectivesToCheck.contains(activeObjectiveToCheckForIfUnlocked.getObjective()) || objectiveDependencies.isExternallyDependent(activeObjectiveToCheckForIfUnlocked.getObjective())) {
+                activeObjectiveToCheckForIfUnlocked.updateUnlocked(notifyPlayer, true);
+            }
         }
 
         if (activeObjectives.size() == 0) {
@@ -206,14 +234,7 @@ public class ActiveQuest {
 
     public void fail() {
 
-        QuestFailEvent questFailEvent = new QuestFailEvent(getQuestPlayer(), this);
-        if (Bukkit.isPrimaryThread()) {
-            Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> Bukkit.getPluginManager().callEvent(questFailEvent));
-        } else {
-            Bukkit.getPluginManager().callEvent(questFailEvent);
-        }
-
-        if (questFailEvent.isCancelled()) {
+        if (main.getUtilManager().callCancellableEvent(QuestFailEvent.getHandlerList(), () -> new QuestFailEvent(getQuestPlayer(), this))) {
             return;
         }
 
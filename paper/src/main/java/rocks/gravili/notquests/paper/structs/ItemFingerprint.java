@@ -0,0 +1,68 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.structs;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * The parts of an objective item which are compared when checking if an item counts for the objective: its material
+ * and its ItemMeta. It's created once when the objective item is set, so events don't have to clone the ItemMeta of
+ * the objective item every time.
+ * <p>
+ * Like before, an item only matches if its ItemMeta is equal to the one of the objective item. If the objective item
+ * has no ItemMeta, this is checked without getting the ItemMeta of the other item at all.
+ */
+public class ItemFingerprint {
+    private final Material material;
+    /**
+     * A copy of the ItemMeta of the objective item, or null if it doesn't have any
+     */
+    private final ItemMeta itemMeta;
+    private final int itemMetaHash;
+
+    public ItemFingerprint(final ItemStack itemStack) {
+        this.material = itemStack.getType();
+        this.itemMeta = itemStack.hasItemMeta() ? itemStack.getItemMeta() : null;
+        this.itemMetaHash = itemMeta != null ? itemMeta.hashCode() : 0;
+    }
+
+    public final Material getMaterial() {
+        return material;
+    }
+
+    /**
+     * @param itemStack the item to check
+     * @return if the item has the same material and ItemMeta as the objective item
+     */
+    public final boolean matches(final ItemStack itemStack) {
+        if (itemStack == null || itemStack.getType() != material) {
+            return false;
+        }
+        if (itemMeta == null) {
+            return !itemStack.hasItemMeta();
+        }
+        if (!itemStack.hasItemMeta()) {
+            return false;
+        }
+        final ItemMeta otherItemMeta = itemStack.getItemMeta();
+        return otherItemMeta.hashCode() == itemMetaHash && itemMeta.equals(otherItemMeta);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.structs;
+
+import rocks.gravili.notquests.paper.structs.conditions.CompletedObjectiveCondition;
+import rocks.gravili.notquests.paper.structs.conditions.Condition;
+import rocks.gravili.notquests.paper.structs.conditions.ConditionCondition;
+import rocks.gravili.notquests.paper.structs.objectives.Objective;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * The dependency graph between the objectives of a quest, built from their CompletedObjective conditions (also if they are
+ * wrapped in a ConditionCondition). It's used to only re-check the objectives which could have been unlocked when an
+ * objective is completed, instead of checking the conditions of all objectives of the quest again.
+ * <p>
+ * Objectives with any other condition depend on something outside the quest (like money, permissions or other quests).
+ * These are externally dependent and are still re-checked whenever any objective is completed.
+ */
+public class ObjectiveDependencies {
+    /**
+     * ConditionConditions can reference other ConditionConditions. This stops looking for the actual condition after that many.
+     */
+    private static final int MAX_CONDITION_CONDITION_DEPTH = 8;
+
+    /**
+     * Objective ID => objectives which have a CompletedObjective condition for that objective
+     */
+    private final HashMap<Integer, List<Objective>> dependentObjectives = new HashMap<>();
+    private final HashSet<Objective> externallyDependentObjectives = new HashSet<>();
+
+    public ObjectiveDependencies(final Quest quest) {
+        for (final Objective objective : quest.getObjectives()) {
+            for (final Condition condition : objective.getConditions()) {
+                final Condition unwrappedCondition = unwrap(condition);
+                if (unwrappedCondition instanceof final CompletedObjectiveCondition completedObjectiveCondition
+                        && (unwrappedCondition == condition || completedObjectiveCondition.getQuest() == quest)) {
+                    dependentObjectives.computeIfAbsent(completedObjectiveCondition.getObjectiveToCompleteID(), k -> new ArrayList<>()).add(objective);
+                } else {
+                    externallyDependentObjectives.add(objective);
+                }
+            }
+        }
+    }
+
+    private static Condition unwrap(Condition condition) {
+        for (int depth = 0; depth < MAX_CONDITION_CONDITION_DEPTH && condition instanceof final ConditionCondition conditionCondition; depth++) {
+            condition = conditionCondition.getCondition();
+        }
+        return condition;
+    }
+
+    /**
+     * @param objectiveID the ID of the completed objective
+     * @return the objectives which have a CompletedObjective condition for that objective
+     */
+    public final List<Objective> getDependentObjectives(final int objectiveID) {
+        return dependentObjectives.getOrDefault(objectiveID, Collections.emptyList());
+    }
+
+    /**
+     * @param objective the objective to check
+     * @return if the objective has conditions which depend on something else than the completion of objectives of its quest
+     */
+    public final boolean isExternallyDependent(final Objective objective) {
+        return externallyDependentObjectives.contains(objective);
+    }
+}
@@ -56,6 +56,11 @@ public class Quest {
     private String displayName = "";
     private ItemStack takeItem = new ItemStack(Material.BOOK);
 
+    /**
+     * Built the first time it's needed and reset whenever objectives or their conditions change
+     */
+    private ObjectiveDependencies objectiveDependencies = null;
+
     public Quest(NotQuests main, String questName) {
         this.main = main;
         this.questName = questName;
@@ -86,6 +91,26 @@ public class Quest {
         return objectives;
     }
 
+    /**
+     * @return the dependency graph of the objectives of this quest, which tells which objectives need to be re-checked for
+     * being unlocked when an objective is completed
+     */
+    public final ObjectiveDependencies getObjectiveDependencies() {
+        ObjectiveDependencies dependencies = objectiveDependencies;
+        if (dependencies == null) {
+            dependencies = new ObjectiveDependencies(this);
+            objectiveDependencies = dependencies;
+        }
+        return dependencies;
+    }
+
+    /**
+     * This needs to be called whenever objectives or objective conditions of this quest are added or removed
+     */
+    public void invalidateObjectiveDependencies() {
+        objectiveDependencies = null;
+    }
+
     public final Objective getObjectiveFromID(final int objectiveID) {
         for (final Objective objective : objectives) {
             if (objective.getObjectiveID() == objectiveID) {
@@ -123,6 +148,7 @@ public class Quest {
         }
         if (!dupeID) {
             objectives.add(objective);
+            invalidateObjectiveDependencies();
             if (save) {
                 main.getDataManager().getQuestsConfig().set("quests." + questName + ".objectives." + objective.getObjectiveID() + ".objectiveType", main.getObjectiveManager().getObjectiveType(objective.getClass()));
                 main.getDataManager().getQuestsConfig().set("quests." + questName + ".objectives." + objective.getObjectiveID() + ".progressNeeded", objective.getProgressNeeded());
@@ -175,6 +201,7 @@ public class Quest {
 
     public void clearObjectives() {
         objectives.clear();
+        invalidateObjectiveDependencies();
         main.getDataManager().getQuestsConfig().set("quests." + questName + ".objectives", null);
     }
 
@@ -216,6 +243,10 @@ public class Quest {
         this.description = newQuestDescription;
         main.getDataManager().getQuestsConfig().set("quests." + questName + ".description", newQuestDescription);
 
+        //The description is shown in the cached quest journals
+        if (main.getGuiManager() != null) {
+            main.getGuiManager().clearCachedJournals();
+        }
     }
 
     public final String getQuestDescription(final int maxLengthPerLine) {
@@ -246,6 +277,13 @@ public class Quest {
         this.displayName = newQuestDisplayName;
         main.getDataManager().getQuestsConfig().set("quests." + questName + ".displayName", newQuestDisplayName);
 
+        //The display name is part of some placeholder answers and the cached quest journals
+        if (main.getIntegrationsManager().getQuestPlaceholders() != null) {
+            main.getIntegrationsManager().getQuestPlaceholders().clearCachedAnswers();
+        }
+        if (main.getGuiManager() != null) {
+            main.getGuiManager().clearCachedJournals();
+        }
     }
 
 
@@ -269,7 +307,7 @@ public class Quest {
             if (main.getQuestManager().getAllQuestsAttachedToNPC(npc).size() == 1) {
                 npc.removeTrait(QuestGiverNPCTrait.class);
             }
-
+            main.getQuestManager().removeQuestAttachedToNPC(npc.getId(), this);
         }
         attachedNPCsWithQuestShowing.clear();
         attachedNPCsWithoutQuestShowing.clear();
@@ -287,6 +325,7 @@ public class Quest {
             } else {
                 attachedNPCsWithoutQuestShowing.add(npc);
             }
+            main.getQuestManager().addQuestAttachedToNPC(npc.getId(), this, showQuest);
 
         }
 
@@ -352,6 +391,7 @@ public class Quest {
             main.getDataManager().getQuestsConfig().set("quests." + questName + ".npcs." + npc.getId(), null);
             attachedNPCsWithQuestShowing.remove(npc);
             attachedNPCsWithoutQuestShowing.remove(npc);
+            main.getQuestManager().removeQuestAttachedToNPC(npc.getId(), this);
 
         }
 
@@ -371,6 +411,7 @@ public class Quest {
 
     public void removeObjective(final Objective objective) {
         objectives.remove(objective);
+        invalidateObjectiveDependencies();
         main.getDataManager().getQuestsConfig().set("quests." + questName + ".objectives." + objective.getObjectiveID(), null);
     }
 
@@ -401,6 +442,11 @@ public class Quest {
         if (takeItem != null) {
             this.takeItem = takeItem;
             main.getDataManager().getQuestsConfig().set("quests." + questName + ".takeItem", takeItem);
+
+            //The take item is shown in the cached quest journals
+            if (main.getGuiManager() != null) {
+                main.getGuiManager().clearCachedJournals();
+            }
         }
 
     }
@@ -31,12 +31,20 @@ import rocks.gravili.notquests.paper.events.notquests.QuestFinishAcceptEvent;
 import rocks.gravili.notquests.paper.events.notquests.QuestPointsChangeEvent;
 import rocks.gravili.notquests.paper.structs.actions.Action;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
+import rocks.gravili.notquests.paper.structs.conditions.ConditionResult;
+import rocks.gravili.notquests.paper.structs.objectives.Objective;
 import rocks.gravili.notquests.paper.structs.objectives.OtherQuestObjective;
+import rocks.gravili.notquests.paper.structs.objectives.ReachLocationObjective;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * The QuestPlayer Object is initialized for every player, once they join the server - loading its data from the database.
@@ -57,6 +65,50 @@ public class QuestPlayer {
     private final ArrayList<ActiveQuest> questsToRemove;
     private final ArrayList<CompletedQuest> completedQuests; //has to accept multiple entries of the same value
     private long questPoints;
+    private boolean currentlyLoading = false;
+
+    /*
+     * Dirty tracking: these are set whenever something changes which needs to be saved to the database. They are reset
+     * once the changes have been collected by the QuestPlayerManager for saving. A new QuestPlayer has not been saved
+     * yet, so everything is dirty.
+     */
+    private volatile boolean dirty = true;
+    private boolean questPointsChanged = true;
+    private boolean activeQuestsChanged = true;
+    private boolean completedQuestsChanged = true;
+    private final ArrayList<CompletedQuest> unsavedCompletedQuests;
+
+    /*
+     * Incremented whenever the active quests, their progress, the completed quests or the quest points change. Unlike the
+     * dirty flags, this is never reset, so cached views of the player's quest data (like the quest journal or placeholder
+     * answers) can check if they are outdated.
+     */
+    private volatile int revision = 0;
+
+    /**
+     * Condition => its result for this player. Only valid during the tick and revision it was filled in, so one event
+     * cascade doesn't check the same condition several times. Only used on the main thread.
+     */
+    private final HashMap<Condition, ConditionResult> conditionResults = new HashMap<>();
+    private int conditionResultsTick = -1;
+    private int conditionResultsRevision = -1;
+
+    /**
+     * Index from objective class to all unlocked active objectives of that class (or a subclass), so events only have to look
+     * at the objectives they care about. It's set to null whenever an objective is unlocked, locked or completed, or a quest
+     * is added or removed, and then re-built the next time it's needed.
+     */
+    private HashMap<Class<? extends Objective>, List<ActiveObjective>> unlockedObjectivesIndex = null;
+
+    /**
+     * Chunk grid of the regions of the unlocked ReachLocation objectives. It's re-built together with unlockedObjectivesIndex.
+     */
+    private ReachLocationIndex reachLocationIndex = null;
+    /**
+     * The ReachLocation objectives whose region the player was in at their last move, so progress is only added once
+     * they enter a region, not for every block they move inside of it.
+     */
+    private final HashSet<ActiveObjective> reachLocationsInside = new HashSet<>();
 
     public QuestPlayer(NotQuests main, UUID uuid) {
         this.main = main;
@@ -66,6 +118,7 @@ public class QuestPlayer {
         questsToComplete = new ArrayList<>();
         questsToRemove = new ArrayList<>();
         completedQuests = new ArrayList<>();
+        unsavedCompletedQuests = new ArrayList<>();
     }
 
     public String addActiveQuest(final ActiveQuest quest, final boolean triggerAcceptQuestTrigger, final boolean sendQuestInfo) {
@@ -114,20 +167,20 @@ public class QuestPlayer {
                 }
 
                 for (final Condition condition : quest.getQuest().getRequirements()) {
-                    final String check = condition.check(this, false);
-                    if (!check.isBlank()) {
-                        requirementsStillNeeded.append("\n").append(check);
+                    final ConditionResult result = condition.getResult(this);
+                    if (!result.isFulfilled()) {
+                        requirementsStillNeeded.append("\n").append(result.getReason());
 
                     }
                 }
 
 
-                if (!requirementsStillNeeded.toString().isBlank()) {
+                if (!requirementsStillNeeded.isEmpty()) {
                     return "<RED>You do not fulfill all the requirements this quest needs! Requirement still needed:" + requirementsStillNeeded;
                 }else{
-                    //Now loop through all the requirements again in order to enforce them
+                    //Now enforce the requirements which do something when enforced (like deducting money)
                     for (final Condition condition : quest.getQuest().getRequirements()) {
-                        condition.check(this, true);
+                        condition.enforce(this);
                     }
                 }
 
@@ -206,22 +259,14 @@ public class QuestPlayer {
 
     private void finishAddingQuest(final ActiveQuest activeQuest, boolean triggerAcceptQuestTrigger, final boolean sendUpdateObjectivesUnlocked) {
 
-        QuestFinishAcceptEvent questFinishAcceptEvent = new QuestFinishAcceptEvent(this, activeQuest, triggerAcceptQuestTrigger);
-        if (Bukkit.isPrimaryThread()) {
-            Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
-                Bukkit.getPluginManager().callEvent(questFinishAcceptEvent);
-            });
-        } else {
-            Bukkit.getPluginManager().callEvent(questFinishAcceptEvent);
-        }
-
-        if (questFinishAcceptEvent.isCancelled()) {
+        if (main.getUtilManager().callCancellableEvent(QuestFinishAcceptEvent.getHandlerList(), () -> new QuestFinishAcceptEvent(this, activeQuest, triggerAcceptQuestTrigger))) {
             return;
         }
 
 
         activeQuests.add(activeQuest);
         activeQuestsCopy.add(activeQuest);
+        markActiveQuestsChanged();
 
 
         activeQuest.updateObjectivesUnlocked(sendUpdateObjectivesUnlocked, triggerAcceptQuestTrigger);
@@ -243,6 +288,192 @@ public class QuestPlayer {
         return uuid;
     }
 
+    /**
+     * @return if this QuestPlayer's data is currently being loaded from the database. No objective rewards are given out while this is true.
+     */
+    public final boolean isCurrentlyLoading() {
+        return currentlyLoading;
+    }
+
+    public void setCurrentlyLoading(final boolean currentlyLoading) {
+        this.currentlyLoading = currentlyLoading;
+    }
+
+    /**
+     * @return if this QuestPlayer has any changes which have not been saved to the database yet
+     */
+    public final boolean isDirty() {
+        return dirty;
+    }
+
+    public void markDirty() {
+        dirty = true;
+        revision++;
+    }
+
+    /**
+     * @return a number which changes whenever the active quests, their progress, the completed quests or the quest points change
+     */
+    public final int getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return the cached condition results of this player for the current tick. Outdated results are removed first.
+     */
+    public final HashMap<Condition, ConditionResult> getConditionResults() {
+        final int currentTick = Bukkit.getCurrentTick();
+        if (conditionResultsTick != currentTick || conditionResultsRevision != revision) {
+            conditionResults.clear();
+            conditionResultsTick = currentTick;
+            conditionResultsRevision = revision;
+        }
+        return conditionResults;
+    }
+
+    /**
+     * Removes all cached condition results, for example after a condition has been enforced (which might have changed the
+     * result of other conditions)
+     */
+    public void clearConditionResults() {
+        if (Bukkit.isPrimaryThread()) {
+            conditionResults.clear();
+        }
+    }
+
+    /**
+     * This needs to be called whenever quests are added to or removed from the active quests list. All active quests,
+     * objectives and triggers of this player will then be re-saved.
+     */
+    public void markActiveQuestsChanged() {
+        activeQuestsChanged = true;
+        dirty = true;
+        revision++;
+        invalidateObjectiveIndex();
+    }
+
+    /**
+     * This needs to be called whenever the set of unlocked active objectives changes, so the index used by
+     * getUnlockedActiveObjectives() is re-built.
+     */
+    public void invalidateObjectiveIndex() {
+        unlockedObjectivesIndex = null;
+        reachLocationIndex = null;
+        revision++;
+    }
+
+    /**
+     * Returns all unlocked active objectives of all active quests whose objective is of the given type. If the player
+     * doesn't have any, this is a single map lookup.
+     * <p>
+     * The returned list is never modified afterwards (the index is re-built instead), so it's safe to add progress to the
+     * objectives while iterating over it.
+     *
+     * @param objectiveType the objective class, for example BreakBlocksObjective.class
+     * @return the unlocked active objectives of that type
+     */
+    public final List<ActiveObjective> getUnlockedActiveObjectives(final Class<? extends Objective> objectiveType) {
+        if (unlockedObjectivesIndex == null) {
+            final HashMap<Class<? extends Objective>, List<ActiveObjective>> newIndex = new HashMap<>();
+            for (final ActiveQuest activeQuest : activeQuests) {
+                for (final ActiveObjective activeObjective : activeQuest.getActiveObjectives()) {
+                    if (!activeObjective.isUnlocked()) {
+                        continue;
+                    }
+                    //Also add it for all super classes, so objectives extending other objective types are found as well
+                    Class<?> objectiveClass = activeObjective.getObjective().getClass();
+                    while (objectiveClass != null && objectiveClass != Objective.class && Objective.class.isAssignableFrom(objectiveClass)) {
+                        newIndex.computeIfAbsent(objectiveClass.asSubclass(Objective.class), k -> new ArrayList<>()).add(activeObjective);
+                        objectiveClass = objectiveClass.getSuperclass();
+                    }
+                }
+            }
+            unlockedObjectivesIndex = newIndex;
+        }
+        return unlockedObjectivesIndex.getOrDefault(objectiveType, Collections.emptyList());
+    }
+
+    /**
+     * @return the chunk grid of the regions of all unlocked ReachLocation objectives of this player
+     */
+    public final ReachLocationIndex getReachLocationIndex() {
+        if (reachLocationIndex == null) {
+            reachLocationIndex = new ReachLocationIndex(getUnlockedActiveObjectives(ReachLocationObjective.class));
+        }
+        return reachLocationIndex;
+    }
+
+    /**
+     * @return the ReachLocation objectives whose region the player was in at their last move
+     */
+    public final HashSet<ActiveObjective> getReachLocationsInside() {
+        return reachLocationsInside;
+    }
+
+    /**
+     * Removes completed objectives and quests after progress has been added to objectives in an event.
+     */
+    public void removeCompletedObjectivesAndQuests() {
+        for (final ActiveQuest activeQuest : activeQuests) {
+            activeQuest.removeCompletedObjectives(true);
+        }
+        removeCompletedQuests();
+    }
+
+    /**
+     * This needs to be called whenever completed quests are removed from the completed quests list. All completed
+     * quests of this player will then be re-saved.
+     */
+    public void markCompletedQuestsChanged() {
+        completedQuestsChanged = true;
+        dirty = true;
+        revision++;
+    }
+
+    /**
+     * Marks everything as changed, so all data of this player will be re-saved. This is used if saving failed.
+     */
+    public void markAllDirty() {
+        questPointsChanged = true;
+        activeQuestsChanged = true;
+        completedQuestsChanged = true;
+        dirty = true;
+    }
+
+    /**
+     * Resets all dirty flags of this player and its active quests and objectives. This is called after the player's data
+     * has been loaded from the database, or once the changes have been collected for saving.
+     */
+    public void markSaved() {
+        dirty = false;
+        questPointsChanged = false;
+        activeQuestsChanged = false;
+        completedQuestsChanged = false;
+        unsavedCompletedQuests.clear();
+        for (final ActiveQuest activeQuest : activeQuests) {
+            activeQuest.markSaved();
+        }
+    }
+
+    public final boolean isQuestPointsChanged() {
+        return questPointsChanged;
+    }
+
+    public final boolean isActiveQuestsChanged() {
+        return activeQuestsChanged;
+    }
+
+    public final boolean isCompletedQuestsChanged() {
+        return completedQuestsChanged;
+    }
+
+    /**
+     * @return the quests which have been completed since the last save
+     */
+    public final ArrayList<CompletedQuest> getUnsavedCompletedQuests() {
+        return unsavedCompletedQuests;
+    }
+
     public final ArrayList<ActiveQuest> getActiveQuests() {
         return activeQuests;
     }
@@ -264,7 +495,7 @@ public class QuestPlayer {
     }*/
 
     public void giveReward(Quest quest) {
-        sendDebugMessage("QuestPlayer.giveReward(). Quest: " + quest.getQuestName());
+        sendDebugMessage(() -> "QuestPlayer.giveReward(). Quest: " + quest.getQuestName());
 
 
         final Player player = getPlayer();
@@ -311,14 +542,34 @@ public class QuestPlayer {
         }
     }
 
+    /**
+     * @return if this player has enabled their debug mode
+     */
+    public final boolean isDebugEnabled() {
+        return main.getQuestManager().isDebugEnabledPlayer(uuid);
+    }
+
     public void sendDebugMessage(String message) {
+        if (!isDebugEnabled()) {
+            return;
+        }
         final Player player = getPlayer();
         if (player != null) {
-            if (main.getQuestManager().isDebugEnabledPlayer(player)) {
-                player.sendMessage(main.parse(NotQuestColors.debugTitleGradient + "[NotQuests Debug]</gradient> " + NotQuestColors.debugGradient + message + "</gradient>"));
-            }
+            player.sendMessage(main.parse(NotQuestColors.debugTitleGradient + "[NotQuests Debug]</gradient> " + NotQuestColors.debugGradient + message + "</gradient>"));
+        }
+    }
 
+    /**
+     * Sends a debug message which is only built if this player has enabled their debug mode. This should be used for
+     * messages which are built in frequently called code, so nothing is built if debug mode is disabled.
+     *
+     * @param message supplies the debug message
+     */
+    public void sendDebugMessage(final Supplier<String> message) {
+        if (!isDebugEnabled()) {
+            return;
         }
+        sendDebugMessage(message.get());
     }
 
     public final ArrayList<CompletedQuest> getCompletedQuests() {
@@ -327,16 +578,7 @@ public class QuestPlayer {
 
 
     public void forceActiveQuestCompleted(ActiveQuest activeQuest) {
-        QuestCompletedEvent questCompletedEvent = new QuestCompletedEvent(this, activeQuest, true);
-        if (Bukkit.isPrimaryThread()) {
-            Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
-                Bukkit.getPluginManager().callEvent(questCompletedEvent);
-            });
-        } else {
-            Bukkit.getPluginManager().callEvent(questCompletedEvent);
-        }
-
-        if (questCompletedEvent.isCancelled()) {
+        if (main.getUtilManager().callCancellableEvent(QuestCompletedEvent.getHandlerList(), () -> new QuestCompletedEvent(this, activeQuest, true))) {
             return;
         }
 
@@ -345,7 +587,7 @@ public class QuestPlayer {
 
         questsToComplete.add(activeQuest);
 
-        completedQuests.add(new CompletedQuest(activeQuest.getQuest(), this));
+        addCompletedQuest(new CompletedQuest(activeQuest.getQuest(), this));
 
         final Player player = getPlayer();
         if (player != null) {
@@ -380,16 +622,7 @@ public class QuestPlayer {
     }
 
     public void notifyActiveQuestCompleted(ActiveQuest activeQuest) {
-        QuestCompletedEvent questCompletedEvent = new QuestCompletedEvent(this, activeQuest, false);
-        if (Bukkit.isPrimaryThread()) {
-            Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
-                Bukkit.getPluginManager().callEvent(questCompletedEvent);
-            });
-        } else {
-            Bukkit.getPluginManager().callEvent(questCompletedEvent);
-        }
-
-        if (questCompletedEvent.isCancelled()) {
+        if (main.getUtilManager().callCancellableEvent(QuestCompletedEvent.getHandlerList(), () -> new QuestCompletedEvent(this, activeQuest, false))) {
             return;
         }
 
@@ -398,7 +631,7 @@ public class QuestPlayer {
             //(Without a ConcurrentModificationException)
             questsToComplete.add(activeQuest);
             //We can safely (without ConcurrentModificationException) add it to the CompletedQuests list already without having to remove it from activeQuests
-            completedQuests.add(new CompletedQuest(activeQuest.getQuest(), this));
+            addCompletedQuest(new CompletedQuest(activeQuest.getQuest(), this));
 
             //Give Quest completion reward & show Quest completion title
             giveReward(activeQuest.getQuest());
@@ -432,18 +665,12 @@ public class QuestPlayer {
         if (newQuestPoints < 0) { //Prevent questPoints from going below 0
             newQuestPoints = 0;
         }
-        QuestPointsChangeEvent questPointsChangeEvent = new QuestPointsChangeEvent(this, newQuestPoints);
-        if (Bukkit.isPrimaryThread()) {
-            Bukkit.getScheduler().runTaskAsynchronously(main.getMain(), () -> {
-                Bukkit.getPluginManager().callEvent(questPointsChangeEvent);
-            });
-        } else {
-            Bukkit.getPluginManager().callEvent(questPointsChangeEvent);
-        }
-
-
-        if (!questPointsChangeEvent.isCancelled()) {
-            this.questPoints = questPointsChangeEvent.getNewQuestPointsAmount();
+        final long finalNewQuestPoints = newQuestPoints;
+        if (!main.getUtilManager().callCancellableEvent(QuestPointsChangeEvent.getHandlerList(), () -> new QuestPointsChangeEvent(this, finalNewQuestPoints))) {
+            this.questPoints = newQuestPoints;
+            questPointsChanged = true;
+            dirty = true;
+            revision++;
 
 
             if (notifyPlayer) {
@@ -498,13 +725,16 @@ public class QuestPlayer {
 
         activeQuests.removeAll(questsToComplete);
         activeQuestsCopy.removeAll(questsToComplete);
+        markActiveQuestsChanged();
 
         questsToComplete.clear();
     }
 
     public void addCompletedQuest(final CompletedQuest completedQuest) {
         completedQuests.add(completedQuest);
-
+        unsavedCompletedQuests.add(completedQuest);
+        dirty = true;
+        revision++;
     }
 
 
@@ -531,6 +761,7 @@ public class QuestPlayer {
         }
         activeQuests.removeAll(questsToRemove);
         activeQuestsCopy.removeAll(questsToComplete);
+        markActiveQuestsChanged();
 
         questsToComplete.clear();
 
@@ -0,0 +1,107 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.structs;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import rocks.gravili.notquests.paper.structs.objectives.ReachLocationObjective;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A per-world chunk grid of the regions of unlocked ReachLocation objectives. Looking up the regions which could contain
+ * a location is a single chunk lookup, so move events only need to check the regions close to the player.
+ */
+public class ReachLocationIndex {
+    /**
+     * Regions covering more chunks than this are not added to the grid, but always checked instead
+     */
+    private static final int MAX_CHUNKS_PER_REGION = 256;
+
+    /**
+     * World name => chunk key => active objectives whose region overlaps that chunk
+     */
+    private final HashMap<String, HashMap<Long, List<ActiveObjective>>> regionsByWorld = new HashMap<>();
+    /**
+     * Regions without a world (they match every world) and regions which are too big for the grid
+     */
+    private final List<ActiveObjective> alwaysCheckedRegions = new ArrayList<>();
+
+    public ReachLocationIndex(final List<ActiveObjective> reachLocationObjectives) {
+        for (final ActiveObjective activeObjective : reachLocationObjectives) {
+            if (!(activeObjective.getObjective() instanceof final ReachLocationObjective reachLocationObjective)) {
+                continue;
+            }
+            final Location min = reachLocationObjective.getMinLocation();
+            final Location max = reachLocationObjective.getMaxLocation();
+            if (min == null || max == null) {
+                continue;
+            }
+            final World world = min.getWorld();
+            final int minChunkX = min.getBlockX() >> 4;
+            final int minChunkZ = min.getBlockZ() >> 4;
+            final int maxChunkX = max.getBlockX() >> 4;
+            final int maxChunkZ = max.getBlockZ() >> 4;
+            if (world == null || (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) > MAX_CHUNKS_PER_REGION) {
+                alwaysCheckedRegions.add(activeObjective);
+                continue;
+            }
+            final HashMap<Long, List<ActiveObjective>> chunks = regionsByWorld.computeIfAbsent(world.getName(), k -> new HashMap<>());
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    chunks.computeIfAbsent(getChunkKey(chunkX, chunkZ), k -> new ArrayList<>(1)).add(activeObjective);
+                }
+            }
+        }
+    }
+
+    private static long getChunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public final boolean isEmpty() {
+        return regionsByWorld.isEmpty() && alwaysCheckedRegions.isEmpty();
+    }
+
+    /**
+     * @param location the location of the player
+     * @return the active objectives whose region might contain the location. Their regions still need to be checked.
+     */
+    public final List<ActiveObjective> getCandidates(final Location location) {
+        final World world = location.getWorld();
+        final HashMap<Long, List<ActiveObjective>> chunks = world != null ? regionsByWorld.get(world.getName()) : null;
+        final List<ActiveObjective> chunkRegions = chunks != null
+                ? chunks.getOrDefault(getChunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), Collections.emptyList())
+                : Collections.emptyList();
+
+        if (alwaysCheckedRegions.isEmpty()) {
+            return chunkRegions;
+        }
+        if (chunkRegions.isEmpty()) {
+            return alwaysCheckedRegions;
+        }
+        final ArrayList<ActiveObjective> candidates = new ArrayList<>(chunkRegions.size() + alwaysCheckedRegions.size());
+        candidates.addAll(chunkRegions);
+        candidates.addAll(alwaysCheckedRegions);
+        return candidates;
+    }
+}
@@ -28,6 +28,7 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.commands.arguments.ActionSelector;
+import rocks.gravili.notquests.paper.structs.QuestPlayer;
 
 public class ActionAction extends Action {
 
@@ -95,11 +96,16 @@ public class ActionAction extends Action {
         main.getLogManager().debug("Executing Action action. IsIgnoreConditions: " + isIgnoreConditions());
 
         if (!isIgnoreConditions()) {
+            final QuestPlayer questPlayer = main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId());
+            if (questPlayer == null) {
+                main.getLogManager().warn("Tried to execute Action action for the player <highlight>" + player.getName() + "</highlight>, whose data is still being loaded.");
+                return;
+            }
             if (amount == 1) {
-                main.getActionManager().executeActionWithConditions(action, main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId()), null, true, objects);
+                main.getActionManager().executeActionWithConditions(action, questPlayer, null, true, objects);
             } else {
                 for (int i = 0; i < amount; i++) {
-                    main.getActionManager().executeActionWithConditions(action, main.getQuestPlayerManager().getOrCreateQuestPlayer(player.getUniqueId()), null, true, objects);
+                    main.getActionManager().executeActionWithConditions(action, questPlayer, null, true, objects);
                 }
             }
         } else {
@@ -66,20 +66,20 @@ public class ActiveQuestCondition extends Condition {
     }
 
     @Override
-    public String check(final QuestPlayer questPlayer, final boolean enforce) {
+    protected ConditionResult evaluate(final QuestPlayer questPlayer, final boolean enforce) {
         final Quest otherQuest = getOtherQuest();
 
         if (otherQuest == null) {
-            return "<RED>Error! Report this to an admin: The following Quest which should be active was not found: <highlight>" + getOtherQuestName();
+            return ConditionResult.unfulfilled(() -> "<RED>Error! Report this to an admin: The following Quest which should be active was not found: <highlight>" + getOtherQuestName());
 
         }
 
         for (ActiveQuest activeQuest : questPlayer.getActiveQuests()) {
             if (activeQuest.getQuest().equals(otherQuest)) {
-                return "";
+                return ConditionResult.fulfilled();
             }
         }
-        return "<YELLOW>Following Quest needs to be active first: <highlight>" + otherQuest.getQuestFinalName();
+        return ConditionResult.unfulfilled(() -> "<YELLOW>Following Quest needs to be active first: <highlight>" + otherQuest.getQuestFinalName());
 
     }
 
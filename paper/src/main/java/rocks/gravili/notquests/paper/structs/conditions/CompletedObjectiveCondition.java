@@ -64,26 +64,26 @@ public class CompletedObjectiveCondition extends Condition {
 
 
     @Override
-    public String check(final QuestPlayer questPlayer, final boolean enforce) {
+    protected ConditionResult evaluate(final QuestPlayer questPlayer, final boolean enforce) {
         final Objective objectiveToComplete = getObjectiveToComplete();
         if(objectiveToComplete == null){
-            return "<RED>Error: Cannot find objective you have to complete first.";
+            return ConditionResult.unfulfilled("<RED>Error: Cannot find objective you have to complete first.");
         }
 
         final Quest quest = getQuest();
         if(quest == null){
-            return "<RED>Error: Cannot find current quest.";
+            return ConditionResult.unfulfilled("<RED>Error: Cannot find current quest.");
         }
 
         ActiveQuest activeQuest = questPlayer.getActiveQuest(quest);
         if(activeQuest == null){
-            return "<RED>Error: Cannot find current active quest.";
+            return ConditionResult.unfulfilled("<RED>Error: Cannot find current active quest.");
         }
 
         if(activeQuest.getActiveObjectiveFromID(getObjectiveToCompleteID()) != null){
-            return "<YELLOW>Finish the following objective first: <highlight>" + objectiveToComplete.getObjectiveFinalName();
+            return ConditionResult.unfulfilled(() -> "<YELLOW>Finish the following objective first: <highlight>" + objectiveToComplete.getObjectiveFinalName());
         }
-        return "";
+        return ConditionResult.fulfilled();
 
     }
 
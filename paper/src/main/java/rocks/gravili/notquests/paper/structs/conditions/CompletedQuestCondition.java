@@ -96,11 +96,11 @@ public class CompletedQuestCondition extends Condition {
     }
 
     @Override
-    public String check(final QuestPlayer questPlayer, final boolean enforce) {
+    protected ConditionResult evaluate(final QuestPlayer questPlayer, final boolean enforce) {
         final Quest otherQuest = getOtherQuest();
 
         if (otherQuest == null) {
-            return "<YELLOW> Cannot check CompletedQuest Condition because the specified Quest is null. Report this to the server owner.";
+            return ConditionResult.unfulfilled("<YELLOW> Cannot check CompletedQuest Condition because the specified Quest is null. Report this to the server owner.");
         }
 
         int otherQuestCompletedAmount = 0;
@@ -115,7 +115,7 @@ public class CompletedQuestCondition extends Condition {
             }
         }
         if (otherQuestCompletedAmount < getProgressNeeded()) {
-            return "<YELLOW>Finish the following quest: <highlight>" + otherQuest.getQuestFinalName() + " <GRAY>(" + getProgressNeeded() + " times)";
+            return ConditionResult.unfulfilled(() -> "<YELLOW>Finish the following quest: <highlight>" + otherQuest.getQuestFinalName() + " <GRAY>(" + getProgressNeeded() + " times)");
         } else {
             //Now check minimum time after completion
             if (getMinimumTimeAfterCompletion() > 1) {
@@ -128,24 +128,24 @@ public class CompletedQuestCondition extends Condition {
                 final double timeToWaitInDays = Math.round((timeToWaitInHours / 24f) * 10) / 10.0;
 
                 if (acceptTimeDifferenceMinutes >= getMinimumTimeAfterCompletion()) {
-                    return "";
+                    return ConditionResult.fulfilled();
                 } else {
                     if (timeToWaitInMinutes < 60) {
-                        return "<YELLOW>You have to wait another <highlight>" + timeToWaitInMinutes + " minutes</highlight>.";
+                        return ConditionResult.unfulfilled(() -> "<YELLOW>You have to wait another <highlight>" + timeToWaitInMinutes + " minutes</highlight>.");
                     } else {
                         if (timeToWaitInHours < 24) {
                             if (timeToWaitInHours == 1) {
-                                return "<YELLOW>You have to wait another <highlight>" + timeToWaitInHours + " hour</highlight>.";
+                                return ConditionResult.unfulfilled(() -> "<YELLOW>You have to wait another <highlight>" + timeToWaitInHours + " hour</highlight>.");
 
                             } else {
-                                return "<YELLOW>You have to wait another <highlight>" + timeToWaitInHours + " hours</highlight>.";
+                                return ConditionResult.unfulfilled(() -> "<YELLOW>You have to wait another <highlight>" + timeToWaitInHours + " hours</highlight>.");
                             }
                         } else {
                             if (timeToWaitInDays == 1) {
-                                return "<YELLOW>You have to wait another <highlight>" + timeToWaitInDays + " day</highlight>.";
+                                return ConditionResult.unfulfilled(() -> "<YELLOW>You have to wait another <highlight>" + timeToWaitInDays + " day</highlight>.");
 
                             } else {
-                                return "<YELLOW>You have to wait another <highlight>" + timeToWaitInDays + " days</highlight>.";
+                                return ConditionResult.unfulfilled(() -> "<YELLOW>You have to wait another <highlight>" + timeToWaitInDays + " days</highlight>.");
                             }
                         }
                     }
@@ -153,7 +153,7 @@ public class CompletedQuestCondition extends Condition {
             }
 
 
-            return "";
+            return ConditionResult.fulfilled();
         }
     }
 
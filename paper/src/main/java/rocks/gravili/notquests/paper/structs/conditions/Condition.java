@@ -18,12 +18,17 @@
 
 package rocks.gravili.notquests.paper.structs.conditions;
 
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.Quest;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 import rocks.gravili.notquests.paper.structs.objectives.Objective;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+
 public abstract class Condition {
     protected final NotQuests main;
     private String conditionName = "";
@@ -70,10 +75,86 @@ public abstract class Condition {
     }
 
 
+    /**
+     * Checks the condition without using the per-tick cache of the player.
+     *
+     * @param enforce if the condition should also be enforced (like deducting money). This is only done if it's fulfilled.
+     * @return if the condition is fulfilled, and if it's not, what is still required
+     */
+    protected abstract ConditionResult evaluate(final QuestPlayer questPlayer, final boolean enforce);
+
+    /**
+     * @return if enforcing this condition does anything (like deducting money or quest points). Other conditions don't
+     * have to be evaluated again to enforce them.
+     */
+    public boolean hasEnforceEffect() {
+        return false;
+    }
+
+    /**
+     * Checks the condition. The result is cached for the player until the end of the tick or until their quest data
+     * changes, so a condition which is checked several times by one event is only evaluated once.
+     *
+     * @return if the condition is fulfilled, and if it's not, what is still required
+     */
+    public final ConditionResult getResult(final QuestPlayer questPlayer) {
+        if (!Bukkit.isPrimaryThread()) {
+            return evaluate(questPlayer, false);
+        }
+        final HashMap<Condition, ConditionResult> conditionResults = questPlayer.getConditionResults();
+        ConditionResult result = conditionResults.get(this);
+        if (result == null) {
+            result = evaluate(questPlayer, false);
+            conditionResults.put(this, result);
+        }
+        return result;
+    }
+
+    /**
+     * Queries the values this condition needs from other plugins off the main thread, so checking it afterwards only has to
+     * read their snapshots. Conditions which don't depend on other plugins don't have to do anything here. This has to be
+     * called on the main thread.
+     *
+     * @return a future which completes once the values have been queried
+     */
+    public CompletableFuture<Void> prefetch(final QuestPlayer questPlayer) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Queries the values of all the conditions off the main thread.
+     *
+     * @return a future which completes once the values of all conditions have been queried
+     * @see #prefetch(QuestPlayer)
+     */
+    public static CompletableFuture<Void> prefetchAll(final QuestPlayer questPlayer, final Collection<Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.allOf(conditions.stream().map(condition -> condition.prefetch(questPlayer)).toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Enforces the condition (like deducting money). It should only be called after all conditions have been checked
+     * to be fulfilled.
+     */
+    public final void enforce(final QuestPlayer questPlayer) {
+        if (hasEnforceEffect()) {
+            evaluate(questPlayer, true);
+            questPlayer.clearConditionResults();
+        }
+    }
+
     /**
      * @return String if the condition is not fulfilled. Empty string if the condition is fulfilled. The String should say the still-required condition.
      */
-    public abstract String check(final QuestPlayer questPlayer, final boolean enforce);
+    public final String check(final QuestPlayer questPlayer, final boolean enforce) {
+        final String reason = evaluate(questPlayer, enforce).getReason();
+        if (enforce) {
+            questPlayer.clearConditionResults();
+        }
+        return reason;
+    }
 
 
     public abstract String getConditionDescription();
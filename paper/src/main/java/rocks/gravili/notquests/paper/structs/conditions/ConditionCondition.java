@@ -32,6 +32,7 @@ import rocks.gravili.notquests.paper.structs.QuestPlayer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static rocks.gravili.notquests.paper.commands.NotQuestColors.*;
 
@@ -77,6 +78,11 @@ public class ConditionCondition extends Condition {
                 }));
     }
 
+    @Override
+    public boolean hasEnforceEffect() {
+        return condition != null && condition.hasEnforceEffect();
+    }
+
     public final Condition getCondition() {
         return condition;
     }
@@ -86,12 +92,20 @@ public class ConditionCondition extends Condition {
     }
 
     @Override
-    public String check(final QuestPlayer questPlayer, final boolean enforce) {
+    protected ConditionResult evaluate(final QuestPlayer questPlayer, final boolean enforce) {
         if (condition == null) {
-            return "<warn>Error: ConditionCondition cannot be checked because the condition was not found. Report this to the server owner.";
+            return ConditionResult.unfulfilled("<warn>Error: ConditionCondition cannot be checked because the condition was not found. Report this to the server owner.");
         }
 
-        return condition.check(questPlayer, enforce);
+        return condition.evaluate(questPlayer, enforce);
+    }
+
+    @Override
+    public CompletableFuture<Void> prefetch(final QuestPlayer questPlayer) {
+        if (condition == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return condition.prefetch(questPlayer);
     }
 
     @Override
@@ -0,0 +1,72 @@
+/*
+ * NotQuests - A Questing plugin for Minecraft Servers
+ * Copyright (C) 2021 Alessio Gravili
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package rocks.gravili.notquests.paper.structs.conditions;
+
+import java.util.function.Supplier;
+
+/**
+ * The result of checking a condition. If the condition is not fulfilled, it contains the reason, which is only built
+ * once it's actually needed (for example to tell the player what is still missing).
+ */
+public final class ConditionResult {
+    private static final ConditionResult FULFILLED = new ConditionResult(true, null, "");
+
+    private final boolean fulfilled;
+    private Supplier<String> reasonSupplier;
+    private String reason;
+
+    private ConditionResult(final boolean fulfilled, final Supplier<String> reasonSupplier, final String reason) {
+        this.fulfilled = fulfilled;
+        this.reasonSupplier = reasonSupplier;
+        this.reason = reason;
+    }
+
+    public static ConditionResult fulfilled() {
+        return FULFILLED;
+    }
+
+    /**
+     * @param reason MiniMessage string which says what is still required
+     */
+    public static ConditionResult unfulfilled(final String reason) {
+        return new ConditionResult(false, null, reason);
+    }
+
+    /**
+     * @param reasonSupplier builds the MiniMessage string which says what is still required
+     */
+    public static ConditionResult unfulfilled(final Supplier<String> reasonSupplier) {
+        return new ConditionResult(false, reasonSupplier, null);
+    }
+
+    public final boolean isFulfilled() {
+        return fulfilled;
+    }
+
+    /**
+     * @return what is still required to fulfill the condition. Empty string if the condition is fulfilled.
+     */
+    public final String getReason() {
+        if (reason == null) {
+            reason = reasonSupplier.get();
+            reasonSupplier = null;
+        }
+        return reason;
+    }
+}
@@ -25,12 +25,16 @@ import cloud.commandframework.meta.CommandMeta;
 import cloud.commandframework.paper.PaperCommandManager;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.milkbowl.vault.economy.Economy;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 public class MoneyCondition extends Condition {
 
     private boolean deductMoney = false;
@@ -51,6 +55,11 @@ public class MoneyCondition extends Condition {
     }
 
 
+    @Override
+    public boolean hasEnforceEffect() {
+        return isDeductMoney();
+    }
+
     public final boolean isDeductMoney() {
         return deductMoney;
     }
@@ -117,34 +126,63 @@ public class MoneyCondition extends Condition {
         }
     }
 
+    /**
+     * Balances are queried per world, since some economy plugins have a different balance in each world
+     */
+    private static String getBalanceQueryKey(final String worldName) {
+        return "vault.balance." + worldName;
+    }
+
+    private Supplier<Double> getBalanceQuery(final Player player, final String worldName) {
+        final Economy economy = main.getIntegrationsManager().getVaultManager().getEconomy();
+        return () -> economy.getBalance(player, worldName);
+    }
+
+    @Override
+    public CompletableFuture<Void> prefetch(final QuestPlayer questPlayer) {
+        final Player player = questPlayer.getPlayer();
+        if (isDeductMoney() || player == null || !main.getIntegrationsManager().isVaultEnabled() || main.getIntegrationsManager().getVaultManager().getEconomy() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final String worldName = player.getWorld().getName();
+        return main.getIntegrationsManager().getIntegrationQueryCache().refresh(player.getUniqueId(), getBalanceQueryKey(worldName), getBalanceQuery(player, worldName));
+    }
+
     @Override
-    public String check(QuestPlayer questPlayer, boolean enforce) {
+    protected ConditionResult evaluate(QuestPlayer questPlayer, boolean enforce) {
 
         final long moneyRequirementAmount = getMoneyRequirement();
         final boolean deductMoney = isDeductMoney();
         final Player player = questPlayer.getPlayer();
         if (player != null) {
             if (!main.getIntegrationsManager().isVaultEnabled() || main.getIntegrationsManager().getVaultManager().getEconomy() == null) {
-                return "<YELLOW>Error: The server does not have vault enabled. Please ask the Owner to install Vault for money stuff to work.";
-            } else if (main.getIntegrationsManager().getVaultManager().getEconomy().getBalance(player, player.getWorld().getName()) < moneyRequirementAmount) {
-                return "<YELLOW>You need <highlight>" + (moneyRequirementAmount - main.getIntegrationsManager().getVaultManager().getEconomy().getBalance(player, player.getWorld().getName())) + "</highlight> more money.";
+                return ConditionResult.unfulfilled("<YELLOW>Error: The server does not have vault enabled. Please ask the Owner to install Vault for money stuff to work.");
+            }
+            final String worldName = player.getWorld().getName();
+            final Supplier<Double> balanceQuery = getBalanceQuery(player, worldName);
+            //If money is deducted, the current balance is always used. Otherwise, a quest could be accepted because of an
+            //outdated snapshot, without being able to deduct the money afterwards.
+            final double balance = deductMoney ? balanceQuery.get() : main.getIntegrationsManager().getIntegrationQueryCache().get(player.getUniqueId(), getBalanceQueryKey(worldName), balanceQuery);
+            if (balance < moneyRequirementAmount) {
+                return ConditionResult.unfulfilled(() -> "<YELLOW>You need <highlight>" + (moneyRequirementAmount - balance) + "</highlight> more money.");
             } else {
                 if (enforce && deductMoney && moneyRequirementAmount > 0) {
 
                     if (main.getIntegrationsManager().isVaultEnabled()) {
-                        removeMoney(player, player.getWorld().getName(), moneyRequirementAmount, true);
+                        removeMoney(player, worldName, moneyRequirementAmount, true);
+                        main.getIntegrationsManager().getIntegrationQueryCache().invalidate(player.getUniqueId(), getBalanceQueryKey(worldName));
                     } else {
                         main.getLogManager().warn("Warning: Could not deduct money, because Vault was not found. Please install Vault for money stuff to work.");
                         main.getLogManager().warn("Error: Tried to load Economy when Vault is not enabled. Please report this to the plugin author (and I also recommend you installing Vault for money stuff to work)");
-                        return "<RED>Error deducting money, because Vault has not been found. Report this to an Admin.";
+                        return ConditionResult.unfulfilled("<RED>Error deducting money, because Vault has not been found. Report this to an Admin.");
                     }
 
 
                 }
-                return "";
+                return ConditionResult.fulfilled();
             }
         } else {
-            return "<YELLOW>Error reading money requirement...";
+            return ConditionResult.unfulfilled("<YELLOW>Error reading money requirement...");
 
         }
     }
@@ -52,16 +52,16 @@ public class PermissionCondition extends Condition {
 
 
     @Override
-    public String check(QuestPlayer questPlayer, boolean enforce) {
+    protected ConditionResult evaluate(QuestPlayer questPlayer, boolean enforce) {
         final String requiredPermission = getRequiredPermission();
 
         final Player player = questPlayer.getPlayer();
         if (player != null) {
             if (!player.hasPermission(requiredPermission)) {
-                return "<YELLOW>You need the following permission: <highlight>" + requiredPermission + "</highlight>.";
+                return ConditionResult.unfulfilled(() -> "<YELLOW>You need the following permission: <highlight>" + requiredPermission + "</highlight>.");
             }
         } else {
-            return "<YELLOW>You need to be online.";
+            return ConditionResult.unfulfilled("<YELLOW>You need to be online.");
         }
         return "";
     }
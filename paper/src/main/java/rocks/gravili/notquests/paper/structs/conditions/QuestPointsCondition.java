@@ -47,22 +47,27 @@ public class QuestPointsCondition extends Condition {
     }
 
 
+    @Override
+    public boolean hasEnforceEffect() {
+        return isDeductQuestPoints();
+    }
+
     public final boolean isDeductQuestPoints() {
         return deductQuestPoints;
     }
 
     @Override
-    public String check(final QuestPlayer questPlayer, final boolean enforce) {
+    protected ConditionResult evaluate(final QuestPlayer questPlayer, final boolean enforce) {
         final long questPointRequirementAmount = getQuestPointRequirement();
         final boolean deductQuestPoints = isDeductQuestPoints();
 
         if (questPlayer.getQuestPoints() < questPointRequirementAmount) {
-            return "<YELLOW>You need <highlight>" + (questPointRequirementAmount - questPlayer.getQuestPoints()) + "</highlight> more quest points.";
+            return ConditionResult.unfulfilled(() -> "<YELLOW>You need <highlight>" + (questPointRequirementAmount - questPlayer.getQuestPoints()) + "</highlight> more quest points.");
         } else {
             if (enforce && deductQuestPoints && questPointRequirementAmount > 0) {
                 questPlayer.removeQuestPoints(questPointRequirementAmount, true);
             }
-            return "";
+            return ConditionResult.fulfilled();
         }
     }
 
@@ -73,35 +73,36 @@ public class WorldTimeCondition extends Condition {
     }
 
     @Override
-    public String check(final QuestPlayer questPlayer, final boolean enforce) {
-        long currentTime = questPlayer.getPlayer().getWorld().getTime();
+    protected ConditionResult evaluate(final QuestPlayer questPlayer, final boolean enforce) {
+        final long worldTime = questPlayer.getPlayer().getWorld().getTime();
+        final long currentTime;
 
-        if (currentTime >= 18000) {
+        if (worldTime >= 18000) {
 
-            currentTime = currentTime / 1000 - 18;
+            currentTime = worldTime / 1000 - 18;
         } else {
 
-            currentTime = currentTime / 1000 + 6;
+            currentTime = worldTime / 1000 + 6;
         }
 
         if (getMaxTime() >= getMinTime()) {
             if (currentTime <= getMaxTime() && currentTime >= getMinTime()) {
-                return "";
+                return ConditionResult.fulfilled();
             } else {
-                return "<YELLOW>Come back between <highlight>" + getMinTime() + "</highlight> and <highlight>" + getMaxTime() + "</highlight> (It's now " + currentTime + ")";
+                return ConditionResult.unfulfilled(() -> "<YELLOW>Come back between <highlight>" + getMinTime() + "</highlight> and <highlight>" + getMaxTime() + "</highlight> (It's now " + currentTime + ")");
             }
         } else { //Maxtime is the next day
             if (currentTime <= getMinTime()) { //Chec for next day
                 if (currentTime <= getMaxTime()) {
-                    return "";
+                    return ConditionResult.fulfilled();
                 } else {
-                    return "<YELLOW>Come back between <highlight>" + getMinTime() + "</highlight> and <highlight>" + getMaxTime() + "</highlight> (It's now " + currentTime + ")";
+                    return ConditionResult.unfulfilled(() -> "<YELLOW>Come back between <highlight>" + getMinTime() + "</highlight> and <highlight>" + getMaxTime() + "</highlight> (It's now " + currentTime + ")");
                 }
             } else { //Check for current day
                 if (currentTime >= getMinTime() && currentTime <= 24) {
-                    return "";
+                    return ConditionResult.fulfilled();
                 } else {
-                    return "<YELLOW>Come back between <highlight>" + getMinTime() + "</highlight> and <highlight>" + getMaxTime() + "</highlight> (It's now " + currentTime + ")";
+                    return ConditionResult.unfulfilled(() -> "<YELLOW>Come back between <highlight>" + getMinTime() + "</highlight> and <highlight>" + getMaxTime() + "</highlight> (It's now " + currentTime + ")");
                 }
             }
 
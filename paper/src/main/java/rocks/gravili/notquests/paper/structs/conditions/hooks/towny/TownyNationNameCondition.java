@@ -33,13 +33,18 @@ import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
+import rocks.gravili.notquests.paper.structs.conditions.ConditionResult;
 import rocks.gravili.notquests.paper.structs.conditions.ConditionFor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class TownyNationNameCondition extends Condition {
 
+    private static final String QUERY_KEY = "towny.nation-name";
+
     private String townyNationName = "";
 
     public TownyNationNameCondition(final NotQuests main) {
@@ -83,32 +88,46 @@ public class TownyNationNameCondition extends Condition {
 
 
 
+    /**
+     * @return the name of the nation of the player (with spaces instead of underscores), or null if they are not in a nation
+     */
+    private static String queryNationName(final UUID uuid) {
+        final Resident resident = TownyUniverse.getInstance().getResident(uuid);
+        if (resident == null) {
+            return null;
+        }
+        final Nation nation = resident.getNationOrNull();
+        return nation != null ? nation.getName().replace("_", " ") : null;
+    }
+
+    @Override
+    public CompletableFuture<Void> prefetch(final QuestPlayer questPlayer) {
+        if (!main.getIntegrationsManager().isTownyEnabled() || questPlayer.getPlayer() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final UUID uuid = questPlayer.getUUID();
+        return main.getIntegrationsManager().getIntegrationQueryCache().refresh(uuid, QUERY_KEY, () -> queryNationName(uuid));
+    }
+
     @Override
-    public String check(QuestPlayer questPlayer, boolean enforce) {
+    protected ConditionResult evaluate(QuestPlayer questPlayer, boolean enforce) {
         if (!main.getIntegrationsManager().isTownyEnabled()) {
-            return "<YELLOW>Error: The server does not have Towny enabled. Please ask the Owner to install Towny for Towny stuff to work.";
+            return ConditionResult.unfulfilled("<YELLOW>Error: The server does not have Towny enabled. Please ask the Owner to install Towny for Towny stuff to work.");
         }
 
         final Player player = questPlayer.getPlayer();
         if (player != null) {
-            Resident resident = TownyUniverse.getInstance().getResident(questPlayer.getUUID());
-            if (resident != null && resident.getTownOrNull() != null && resident.hasTown() && resident.getTownOrNull().hasNation()) {
-
-                Nation nation = resident.getNationOrNull();
-                if (nation != null && nation.getName().replace("_", " ").equals(getTownyNationName())) {
-                    return "";
-                } else {
-                    if (nation != null) {
-                        return "<YELLOW>You need to be in the nation <highlight>" + getTownyNationName() + "</highlight>. However, you are currently in <highlight>" + nation.getName().replace("_", " ");
-                    } else {
-                        return "<YELLOW>You need to be in the nation <highlight>" + getTownyNationName();
-                    }
-                }
+            final UUID uuid = questPlayer.getUUID();
+            final String nationName = main.getIntegrationsManager().getIntegrationQueryCache().get(uuid, QUERY_KEY, () -> queryNationName(uuid));
+            if (nationName != null && nationName.equals(getTownyNationName())) {
+                return ConditionResult.fulfilled();
+            } else if (nationName != null) {
+                return ConditionResult.unfulfilled(() -> "<YELLOW>You need to be in the nation <highlight>" + getTownyNationName() + "</highlight>. However, you are currently in <highlight>" + nationName);
             } else {
-                return "<YELLOW>You need to be in the nation <highlight>" + getTownyNationName();
+                return ConditionResult.unfulfilled(() -> "<YELLOW>You need to be in the nation <highlight>" + getTownyNationName());
             }
         } else {
-            return "<YELLOW>Error reading TownyNationName requirement...";
+            return ConditionResult.unfulfilled("<YELLOW>Error reading TownyNationName requirement...");
 
         }
     }
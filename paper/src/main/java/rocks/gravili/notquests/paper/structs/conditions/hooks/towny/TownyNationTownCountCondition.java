@@ -14,10 +14,16 @@ import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
+import rocks.gravili.notquests.paper.structs.conditions.ConditionResult;
 import rocks.gravili.notquests.paper.structs.conditions.ConditionFor;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 public class TownyNationTownCountCondition extends Condition {
 
+    private static final String QUERY_KEY = "towny.nation-town-count";
+
     private int minTownCount = 1;
 
     public TownyNationTownCountCondition(final NotQuests main) {
@@ -51,30 +57,46 @@ public class TownyNationTownCountCondition extends Condition {
         this.minTownCount = minTownCount;
     }
 
+    /**
+     * @return the number of towns of the nation of the player, or null if they are not in a nation
+     */
+    private static Integer queryNationTownCount(final UUID uuid) {
+        final Resident resident = TownyUniverse.getInstance().getResident(uuid);
+        if (resident == null || resident.getTownOrNull() == null || !resident.hasNation()) {
+            return null;
+        }
+        final Nation nation = resident.getNationOrNull();
+        return nation != null ? nation.getNumTowns() : null;
+    }
+
     @Override
-    public String check(QuestPlayer questPlayer, boolean enforce) {
+    public CompletableFuture<Void> prefetch(final QuestPlayer questPlayer) {
+        if (!main.getIntegrationsManager().isTownyEnabled() || questPlayer.getPlayer() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final UUID uuid = questPlayer.getUUID();
+        return main.getIntegrationsManager().getIntegrationQueryCache().refresh(uuid, QUERY_KEY, () -> queryNationTownCount(uuid));
+    }
+
+    @Override
+    protected ConditionResult evaluate(QuestPlayer questPlayer, boolean enforce) {
         if (!main.getIntegrationsManager().isTownyEnabled()) {
-            return "<YELLOW>Error: The server does not have Towny enabled. Please ask the Owner to install Towny for Towny stuff to work.";
+            return ConditionResult.unfulfilled("<YELLOW>Error: The server does not have Towny enabled. Please ask the Owner to install Towny for Towny stuff to work.");
         }
 
         final Player player = questPlayer.getPlayer();
         if (player != null) {
-            Resident resident = TownyUniverse.getInstance().getResident(questPlayer.getUUID());
-            if (resident != null && resident.getTownOrNull() != null && resident.hasNation() && resident.getNationOrNull() != null) {
-                Nation nation = resident.getNationOrNull();
-                if (nation.getNumTowns() >= getMinTownCount()) {
-                    return "";
-                } else {
-                    return "<YELLOW>Your nation needs to have at least <highlight>" + getMinTownCount() + "</highlight> towns.";
-                }
-            } else {
-                return "<YELLOW>You need to be in a nation";
+            final UUID uuid = questPlayer.getUUID();
+            final Integer count = main.getIntegrationsManager().getIntegrationQueryCache().get(uuid, QUERY_KEY, () -> queryNationTownCount(uuid));
+            if (count == null) {
+                return ConditionResult.unfulfilled("<YELLOW>You need to be in a nation");
             }
-
-
+            if (count >= getMinTownCount()) {
+                return ConditionResult.fulfilled();
+            }
+            return ConditionResult.unfulfilled(() -> "<YELLOW>Your nation needs to have at least <highlight>" + getMinTownCount() + "</highlight> towns.");
         } else {
-            return "<YELLOW>Error reading TownyTownResidentCount requirement...";
-
+            return ConditionResult.unfulfilled("<YELLOW>Error reading TownyTownResidentCount requirement...");
         }
     }
 
@@ -14,10 +14,16 @@ import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
+import rocks.gravili.notquests.paper.structs.conditions.ConditionResult;
 import rocks.gravili.notquests.paper.structs.conditions.ConditionFor;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 public class TownyTownPlotCountCondition extends Condition {
 
+    private static final String QUERY_KEY = "towny.town-plot-group-count";
+
     private int minTownPlotCount = 1;
 
     public TownyTownPlotCountCondition(final NotQuests main) {
@@ -51,29 +57,46 @@ public class TownyTownPlotCountCondition extends Condition {
         this.minTownPlotCount = minTownPlotCount;
     }
 
+    /**
+     * @return the number of plot groups of the town of the player, or null if they are not in a town
+     */
+    private static Integer queryTownPlotGroupCount(final UUID uuid) {
+        final Resident resident = TownyUniverse.getInstance().getResident(uuid);
+        if (resident == null || !resident.hasTown()) {
+            return null;
+        }
+        final Town town = resident.getTownOrNull();
+        return town != null ? town.getPlotGroups().size() : null;
+    }
+
+    @Override
+    public CompletableFuture<Void> prefetch(final QuestPlayer questPlayer) {
+        if (!main.getIntegrationsManager().isTownyEnabled() || questPlayer.getPlayer() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final UUID uuid = questPlayer.getUUID();
+        return main.getIntegrationsManager().getIntegrationQueryCache().refresh(uuid, QUERY_KEY, () -> queryTownPlotGroupCount(uuid));
+    }
+
     @Override
-    public String check(QuestPlayer questPlayer, boolean enforce) {
+    protected ConditionResult evaluate(QuestPlayer questPlayer, boolean enforce) {
         if (!main.getIntegrationsManager().isTownyEnabled()) {
-            return "<YELLOW>Error: The server does not have Towny enabled. Please ask the Owner to install Towny for Towny stuff to work.";
+            return ConditionResult.unfulfilled("<YELLOW>Error: The server does not have Towny enabled. Please ask the Owner to install Towny for Towny stuff to work.");
         }
 
         final Player player = questPlayer.getPlayer();
         if (player != null) {
-            Resident resident = TownyUniverse.getInstance().getResident(questPlayer.getUUID());
-            if (resident != null && resident.getTownOrNull() != null && resident.hasTown()) {
-                Town town = resident.getTownOrNull();
-                if (town.getPlotGroups().size() >= getMinTownPlotCount()) {
-                    return "";
-                } else {
-                    return "<YELLOW>Your town needs to have at least <highlight>" + getMinTownPlotCount() + "</highlight> plot groups.";
-                }
-            } else {
-                return "<YELLOW>You need to be in a town";
+            final UUID uuid = questPlayer.getUUID();
+            final Integer count = main.getIntegrationsManager().getIntegrationQueryCache().get(uuid, QUERY_KEY, () -> queryTownPlotGroupCount(uuid));
+            if (count == null) {
+                return ConditionResult.unfulfilled("<YELLOW>You need to be in a town");
             }
-
-
+            if (count >= getMinTownPlotCount()) {
+                return ConditionResult.fulfilled();
+            }
+            return ConditionResult.unfulfilled(() -> "<YELLOW>Your town needs to have at least <highlight>" + getMinTownPlotCount() + "</highlight> plot groups.");
         } else {
-            return "<YELLOW>Error reading TownyTownPlotCount requirement...";
+            return ConditionResult.unfulfilled("<YELLOW>Error reading TownyTownPlotCount requirement...");
         }
     }
 
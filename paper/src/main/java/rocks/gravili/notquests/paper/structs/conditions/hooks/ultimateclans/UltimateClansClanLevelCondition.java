@@ -29,10 +29,16 @@ import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.structs.QuestPlayer;
 import rocks.gravili.notquests.paper.structs.conditions.Condition;
+import rocks.gravili.notquests.paper.structs.conditions.ConditionResult;
 import rocks.gravili.notquests.paper.structs.conditions.ConditionFor;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 public class UltimateClansClanLevelCondition extends Condition {
 
+    private static final String QUERY_KEY = "ultimateclans.clan-level";
+
     private int minClanLevel = 1;
 
 
@@ -84,19 +90,30 @@ public class UltimateClansClanLevelCondition extends Condition {
     }
 
     @Override
-    public String check(QuestPlayer questPlayer, boolean enforce) {
+    public CompletableFuture<Void> prefetch(final QuestPlayer questPlayer) {
+        if (!main.getIntegrationsManager().isUltimateClansEnabled() || questPlayer.getPlayer() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final UUID uuid = questPlayer.getUUID();
+        return main.getIntegrationsManager().getIntegrationQueryCache().refresh(uuid, QUERY_KEY, () -> main.getIntegrationsManager().getUltimateClansManager().getClanLevel(uuid));
+    }
+
+    @Override
+    protected ConditionResult evaluate(QuestPlayer questPlayer, boolean enforce) {
         if (!main.getIntegrationsManager().isUltimateClansEnabled()) {
-            return "<YELLOW>Error: The server does not have UltimateClans enabled. Please ask the Owner to install UltimateClans for UltimateClans stuff to work.";
+            return ConditionResult.unfulfilled("<YELLOW>Error: The server does not have UltimateClans enabled. Please ask the Owner to install UltimateClans for UltimateClans stuff to work.");
         }
 
         final Player player = questPlayer.getPlayer();
         if (player != null) {
-            if (main.getIntegrationsManager().getUltimateClansManager().isInClanWithMinLevel(player, getMinClanLevel())) {
-                return "";
+            final UUID uuid = questPlayer.getUUID();
+            final Long clanLevel = main.getIntegrationsManager().getIntegrationQueryCache().get(uuid, QUERY_KEY, () -> main.getIntegrationsManager().getUltimateClansManager().getClanLevel(uuid));
+            if (clanLevel != null && clanLevel >= getMinClanLevel()) {
+                return ConditionResult.fulfilled();
             }
-            return "<YELLOW>You need to be in a Clan with at least level <highlight>" + getMinClanLevel() + "</highlight>.";
+            return ConditionResult.unfulfilled(() -> "<YELLOW>You need to be in a Clan with at least level <highlight>" + getMinClanLevel() + "</highlight>.");
         } else {
-            return "<YELLOW>Error reading UltimateClans requirement...";
+            return ConditionResult.unfulfilled("<YELLOW>Error reading UltimateClans requirement...");
 
         }
     }
@@ -25,6 +25,7 @@ import cloud.commandframework.meta.CommandMeta;
 import cloud.commandframework.paper.PaperCommandManager;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
@@ -34,10 +35,16 @@ import rocks.gravili.notquests.paper.commands.arguments.MaterialOrHandArgument;
 import rocks.gravili.notquests.paper.commands.arguments.wrappers.MaterialOrHand;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
 
+import java.util.Locale;
+
 public class BreakBlocksObjective extends Objective {
     private String blockToBreak;
     private boolean deductIfBlockIsPlaced = true;
 
+    //Compiled from blockToBreak, so block events only have to compare enums
+    private boolean anyBlock;
+    private Material blockToBreakMaterial;
+
 
     public BreakBlocksObjective(NotQuests main) {
         super(main);
@@ -111,6 +118,16 @@ public class BreakBlocksObjective extends Objective {
 
     public void setBlockToBreak(final String blockToBreak) {
         this.blockToBreak = blockToBreak;
+        this.anyBlock = "any".equalsIgnoreCase(blockToBreak);
+        this.blockToBreakMaterial = blockToBreak != null && !anyBlock ? Material.getMaterial(blockToBreak.toUpperCase(Locale.ROOT)) : null;
+    }
+
+    /**
+     * @param material the material of the block which was broken or placed
+     * @return if the block counts for this objective
+     */
+    public final boolean isMatchingBlock(final Material material) {
+        return anyBlock || material == blockToBreakMaterial;
     }
 
     public final long getAmountToBreak() {
@@ -123,7 +140,7 @@ public class BreakBlocksObjective extends Objective {
 
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
-        blockToBreak = configuration.getString(initialPath + ".specifics.blockToBreak.material");
+        setBlockToBreak(configuration.getString(initialPath + ".specifics.blockToBreak.material"));
         deductIfBlockIsPlaced = configuration.getBoolean(initialPath + ".specifics.deductIfBlockPlaced", true);
     }
 }
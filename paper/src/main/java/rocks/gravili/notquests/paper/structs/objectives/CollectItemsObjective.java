@@ -35,10 +35,12 @@ import rocks.gravili.notquests.paper.commands.NotQuestColors;
 import rocks.gravili.notquests.paper.commands.arguments.MaterialOrHandArgument;
 import rocks.gravili.notquests.paper.commands.arguments.wrappers.MaterialOrHand;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
+import rocks.gravili.notquests.paper.structs.ItemFingerprint;
 
 public class CollectItemsObjective extends Objective {
 
     private ItemStack itemToCollect;
+    private ItemFingerprint itemToCollectFingerprint = null;
     private boolean deductIfItemIsDropped = true;
     private boolean collectAnyItem = false;
 
@@ -101,6 +103,18 @@ public class CollectItemsObjective extends Objective {
 
     public void setItemToCollect(final ItemStack itemToCollect) {
         this.itemToCollect = itemToCollect;
+        this.itemToCollectFingerprint = itemToCollect != null ? new ItemFingerprint(itemToCollect) : null;
+    }
+
+    /**
+     * @param itemStack the item to check
+     * @return if the item counts for this objective
+     */
+    public final boolean isMatchingItem(final ItemStack itemStack) {
+        if (isCollectAnyItem()) {
+            return true;
+        }
+        return itemToCollectFingerprint != null && itemToCollectFingerprint.matches(itemStack);
     }
 
     @Override
@@ -149,7 +163,7 @@ public class CollectItemsObjective extends Objective {
 
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
-        itemToCollect = configuration.getItemStack(initialPath + ".specifics.itemToCollect.itemstack");
+        setItemToCollect(configuration.getItemStack(initialPath + ".specifics.itemToCollect.itemstack"));
         deductIfItemIsDropped = configuration.getBoolean(initialPath + ".specifics.deductIfItemDropped", true);
         collectAnyItem = configuration.getBoolean(initialPath + ".specifics.collectAnyItem", false);
     }
@@ -35,10 +35,12 @@ import rocks.gravili.notquests.paper.commands.NotQuestColors;
 import rocks.gravili.notquests.paper.commands.arguments.MaterialOrHandArgument;
 import rocks.gravili.notquests.paper.commands.arguments.wrappers.MaterialOrHand;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
+import rocks.gravili.notquests.paper.structs.ItemFingerprint;
 
 public class ConsumeItemsObjective extends Objective {
 
     private ItemStack itemToConsume;
+    private ItemFingerprint itemToConsumeFingerprint = null;
     private boolean consumeAnyItem = false;
 
     public ConsumeItemsObjective(NotQuests main) {
@@ -95,6 +97,18 @@ public class ConsumeItemsObjective extends Objective {
 
     public void setItemToConsume(final ItemStack itemToConsume) {
         this.itemToConsume = itemToConsume;
+        this.itemToConsumeFingerprint = itemToConsume != null ? new ItemFingerprint(itemToConsume) : null;
+    }
+
+    /**
+     * @param itemStack the item to check
+     * @return if the item counts for this objective
+     */
+    public final boolean isMatchingItem(final ItemStack itemStack) {
+        if (isConsumeAnyItem()) {
+            return true;
+        }
+        return itemToConsumeFingerprint != null && itemToConsumeFingerprint.matches(itemStack);
     }
 
     @Override
@@ -152,7 +166,7 @@ public class ConsumeItemsObjective extends Objective {
 
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
-        itemToConsume = configuration.getItemStack(initialPath + ".specifics.itemToConsume.itemstack");
+        setItemToConsume(configuration.getItemStack(initialPath + ".specifics.itemToConsume.itemstack"));
         consumeAnyItem = configuration.getBoolean(initialPath + ".specifics.consumeAnyItem", false);
     }
 }
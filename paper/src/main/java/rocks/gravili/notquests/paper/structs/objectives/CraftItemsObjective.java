@@ -35,10 +35,12 @@ import rocks.gravili.notquests.paper.commands.NotQuestColors;
 import rocks.gravili.notquests.paper.commands.arguments.MaterialOrHandArgument;
 import rocks.gravili.notquests.paper.commands.arguments.wrappers.MaterialOrHand;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
+import rocks.gravili.notquests.paper.structs.ItemFingerprint;
 
 public class CraftItemsObjective extends Objective {
 
     private ItemStack itemToCraft;
+    private ItemFingerprint itemToCraftFingerprint = null;
     private boolean craftAnyItem = false;
 
     public CraftItemsObjective(NotQuests main) {
@@ -93,6 +95,18 @@ public class CraftItemsObjective extends Objective {
 
     public void setItemToCraft(final ItemStack itemToCraft) {
         this.itemToCraft = itemToCraft;
+        this.itemToCraftFingerprint = itemToCraft != null ? new ItemFingerprint(itemToCraft) : null;
+    }
+
+    /**
+     * @param itemStack the item to check
+     * @return if the item counts for this objective
+     */
+    public final boolean isMatchingItem(final ItemStack itemStack) {
+        if (isCraftAnyItem()) {
+            return true;
+        }
+        return itemToCraftFingerprint != null && itemToCraftFingerprint.matches(itemStack);
     }
 
     @Override
@@ -151,7 +165,7 @@ public class CraftItemsObjective extends Objective {
 
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
-        itemToCraft = configuration.getItemStack(initialPath + ".specifics.itemToCraft.itemstack");
+        setItemToCraft(configuration.getItemStack(initialPath + ".specifics.itemToCraft.itemstack"));
         craftAnyItem = configuration.getBoolean(initialPath + ".specifics.craftAnyItem", false);
     }
 }
@@ -40,6 +40,7 @@ import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.commands.arguments.MaterialOrHandArgument;
 import rocks.gravili.notquests.paper.commands.arguments.wrappers.MaterialOrHand;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
+import rocks.gravili.notquests.paper.structs.ItemFingerprint;
 import rocks.gravili.notquests.paper.structs.Quest;
 
 import java.util.ArrayList;
@@ -50,6 +51,7 @@ import java.util.UUID;
 public class DeliverItemsObjective extends Objective {
 
     private ItemStack itemToDeliver = null;
+    private ItemFingerprint itemToDeliverFingerprint = null;
     private int recipientNPCID = -1;
     private UUID recipientArmorStandUUID = null;
     private boolean deliverAnyItem = false;
@@ -222,6 +224,18 @@ public class DeliverItemsObjective extends Objective {
 
     public void setItemToDeliver(final ItemStack itemToDeliver) {
         this.itemToDeliver = itemToDeliver;
+        this.itemToDeliverFingerprint = itemToDeliver != null ? new ItemFingerprint(itemToDeliver) : null;
+    }
+
+    /**
+     * @param itemStack the item to check
+     * @return if the item counts for this objective
+     */
+    public final boolean isMatchingItem(final ItemStack itemStack) {
+        if (isDeliverAnyItem()) {
+            return true;
+        }
+        return itemToDeliverFingerprint != null && itemToDeliverFingerprint.matches(itemStack);
     }
 
     public void setRecipientNPCID(final int recipientNPCID) {
@@ -327,7 +341,7 @@ public class DeliverItemsObjective extends Objective {
 
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
-        itemToDeliver = configuration.getItemStack(initialPath + ".specifics.itemToCollect.itemstack");
+        setItemToDeliver(configuration.getItemStack(initialPath + ".specifics.itemToCollect.itemstack"));
         recipientNPCID = configuration.getInt(initialPath + ".specifics.recipientNPCID");
 
         if (recipientNPCID != -1) {
@@ -27,18 +27,26 @@ import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import rocks.gravili.notquests.paper.NotQuests;
 import rocks.gravili.notquests.paper.commands.NotQuestColors;
 import rocks.gravili.notquests.paper.commands.arguments.EntityTypeSelector;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
 
+import java.util.Locale;
+
 public class KillMobsObjective extends Objective {
 
     private String mobToKillType;
     private String nameTagContainsAny = "";
     private String nameTagEquals = "";
 
+    //Compiled from the strings above, so kill events don't have to do any string handling for the mob type and name tag
+    private boolean anyMob;
+    private EntityType mobToKillEntityType;
+    private String[] nameTagContainsAnyParts = new String[0];
+
     public KillMobsObjective(NotQuests main) {
         super(main);
     }
@@ -99,6 +107,31 @@ public class KillMobsObjective extends Objective {
 
     public void setMobToKillType(final String mobToKillType) {
         this.mobToKillType = mobToKillType;
+        this.anyMob = "any".equalsIgnoreCase(mobToKillType);
+        this.mobToKillEntityType = null;
+        if (mobToKillType != null && !anyMob) {
+            try {
+                this.mobToKillEntityType = EntityType.valueOf(mobToKillType.toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException ignored) {
+                //Not a vanilla entity type, for example a MythicMobs mob
+            }
+        }
+    }
+
+    /**
+     * @param entityType the type of the killed entity
+     * @return if the killed entity counts for this objective
+     */
+    public final boolean isMatchingEntityType(final EntityType entityType) {
+        return anyMob || entityType == mobToKillEntityType;
+    }
+
+    /**
+     * @param internalName the MythicMobs internal name of the killed mob
+     * @return if the killed MythicMobs mob counts for this objective
+     */
+    public final boolean isMatchingMythicMob(final String internalName) {
+        return anyMob || (mobToKillType != null && mobToKillType.equals(internalName));
     }
 
     @Override
@@ -135,6 +168,20 @@ public class KillMobsObjective extends Objective {
 
     public void setNameTagContainsAny(final String nameTagContainsAny) {
         this.nameTagContainsAny = nameTagContainsAny;
+        this.nameTagContainsAnyParts = nameTagContainsAny.isBlank() ? new String[0] : nameTagContainsAny.toLowerCase(Locale.ROOT).split(" ");
+    }
+
+    /**
+     * @param lowerCaseCustomName the lower-case custom name of the killed entity
+     * @return if the custom name contains all the parts of the nameTagContainsAny flag
+     */
+    public final boolean isNameTagContainingAll(final String lowerCaseCustomName) {
+        for (final String namePart : nameTagContainsAnyParts) {
+            if (!lowerCaseCustomName.contains(namePart)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public final String getNameTagEquals() {
@@ -147,7 +194,7 @@ public class KillMobsObjective extends Objective {
 
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
-        mobToKillType = configuration.getString(initialPath + ".specifics.mobToKill");
+        setMobToKillType(configuration.getString(initialPath + ".specifics.mobToKill"));
 
         //Extras
         final String nameTagContains = configuration.getString(initialPath + ".extras.nameTagContainsAny", "");
@@ -49,6 +49,9 @@ public abstract class Objective {
 
     public void setQuest(final Quest quest) {
         this.quest = quest;
+        if (quest != null) {
+            quest.invalidateObjectiveDependencies();
+        }
     }
 
     public void setProgressNeeded(final long progressNeeded) {
@@ -105,6 +108,9 @@ public abstract class Objective {
 
     public void addCondition(final Condition condition, final boolean save) {
         conditions.add(condition);
+        if (quest != null) {
+            quest.invalidateObjectiveDependencies();
+        }
         if (save) {
             main.getDataManager().getQuestsConfig().set("quests." + quest.getQuestName() + ".objectives." + getObjectiveID() + ".conditions." + conditions.size() + ".conditionType", condition.getConditionType());
             main.getDataManager().getQuestsConfig().set("quests." + quest.getQuestName() + ".objectives." + getObjectiveID() + ".conditions." + conditions.size() + ".progressNeeded", condition.getProgressNeeded());
@@ -127,6 +133,9 @@ public abstract class Objective {
     public void removeCondition(final Condition condition, final boolean save) {
         int conditionID = conditions.indexOf(condition);
         conditions.remove(condition);
+        if (quest != null) {
+            quest.invalidateObjectiveDependencies();
+        }
         if (save) {
             main.getDataManager().getQuestsConfig().set("quests." + quest.getQuestName() + ".objectives." + getObjectiveID() + ".conditions." + conditionID, null);
         }
@@ -147,6 +156,9 @@ public abstract class Objective {
 
     public void clearConditions() {
         conditions.clear();
+        if (quest != null) {
+            quest.invalidateObjectiveDependencies();
+        }
         main.getDataManager().getQuestsConfig().set("quests." + quest.getQuestName() + ".objectives." + getObjectiveID() + ".conditions", null);
     }
 
@@ -25,6 +25,7 @@ import cloud.commandframework.meta.CommandMeta;
 import cloud.commandframework.paper.PaperCommandManager;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
@@ -34,11 +35,17 @@ import rocks.gravili.notquests.paper.commands.arguments.MaterialOrHandArgument;
 import rocks.gravili.notquests.paper.commands.arguments.wrappers.MaterialOrHand;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
 
+import java.util.Locale;
+
 public class PlaceBlocksObjective extends Objective {
 
     private String blockToPlace;
     private boolean deductIfBlockIsBroken = true;
 
+    //Compiled from blockToPlace, so block events only have to compare enums
+    private boolean anyBlock;
+    private Material blockToPlaceMaterial;
+
     public PlaceBlocksObjective(NotQuests main) {
         super(main);
     }
@@ -99,7 +106,7 @@ public class PlaceBlocksObjective extends Objective {
 
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
-        blockToPlace = configuration.getString(initialPath + ".specifics.blockToPlace.material");
+        setBlockToPlace(configuration.getString(initialPath + ".specifics.blockToPlace.material"));
         deductIfBlockIsBroken = configuration.getBoolean(initialPath + ".specifics.deductIfBlockBroken", true);
     }
 
@@ -115,6 +122,16 @@ public class PlaceBlocksObjective extends Objective {
 
     public void setBlockToPlace(final String blockToPlace) {
         this.blockToPlace = blockToPlace;
+        this.anyBlock = "any".equalsIgnoreCase(blockToPlace);
+        this.blockToPlaceMaterial = blockToPlace != null && !anyBlock ? Material.getMaterial(blockToPlace.toUpperCase(Locale.ROOT)) : null;
+    }
+
+    /**
+     * @param material the material of the block which was placed or broken
+     * @return if the block counts for this objective
+     */
+    public final boolean isMatchingBlock(final Material material) {
+        return anyBlock || material == blockToPlaceMaterial;
     }
 
     public final long getAmountToPlace() {
@@ -111,6 +111,19 @@ public class ReachLocationObjective extends Objective {
         return locationName;
     }
 
+    /**
+     * @param location the location which should be checked
+     * @return if the location is inside the region of this objective. If the region has no world, it matches every world.
+     */
+    public final boolean isInRegion(final Location location) {
+        if (min.getWorld() != null && location.getWorld() != null && !location.getWorld().equals(min.getWorld())) {
+            return false;
+        }
+        return location.getX() >= min.getX() && location.getX() <= max.getX()
+                && location.getZ() >= min.getZ() && location.getZ() <= max.getZ()
+                && location.getY() >= min.getY() && location.getY() <= max.getY();
+    }
+
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
         min = configuration.getLocation(initialPath + ".specifics.minLocation");
@@ -35,10 +35,12 @@ import rocks.gravili.notquests.paper.commands.NotQuestColors;
 import rocks.gravili.notquests.paper.commands.arguments.MaterialOrHandArgument;
 import rocks.gravili.notquests.paper.commands.arguments.wrappers.MaterialOrHand;
 import rocks.gravili.notquests.paper.structs.ActiveObjective;
+import rocks.gravili.notquests.paper.structs.ItemFingerprint;
 
 public class SmeltObjective extends Objective {
 
     private ItemStack itemToSmelt;
+    private ItemFingerprint itemToSmeltFingerprint = null;
     private boolean smeltAnyItem = false;
 
     public SmeltObjective(NotQuests main) {
@@ -94,6 +96,18 @@ public class SmeltObjective extends Objective {
 
     public void setItemToSmelt(final ItemStack itemToSmelt) {
         this.itemToSmelt = itemToSmelt;
+        this.itemToSmeltFingerprint = itemToSmelt != null ? new ItemFingerprint(itemToSmelt) : null;
+    }
+
+    /**
+     * @param itemStack the item to check
+     * @return if the item counts for this objective
+     */
+    public final boolean isMatchingItem(final ItemStack itemStack) {
+        if (isSmeltAnyItem()) {
+            return true;
+        }
+        return itemToSmeltFingerprint != null && itemToSmeltFingerprint.matches(itemStack);
     }
 
     @Override
@@ -153,7 +167,7 @@ public class SmeltObjective extends Objective {
 
     @Override
     public void load(FileConfiguration configuration, String initialPath) {
-        itemToSmelt = configuration.getItemStack(initialPath + ".specifics.itemToSmelt.itemstack");
+        setItemToSmelt(configuration.getItemStack(initialPath + ".specifics.itemToSmelt.itemstack"));
         smeltAnyItem = configuration.getBoolean(initialPath + ".specifics.smeltAnyItem");
     }
 }
@@ -48,6 +48,7 @@ public class ActiveTrigger {
 
     public void setCurrentProgress(long newCurrentProgress) {
         this.currentProgress = newCurrentProgress;
+        activeQuest.markDirty();
 
     }
 
@@ -58,7 +59,7 @@ public class ActiveTrigger {
     public void addAndCheckTrigger(ActiveQuest activeQuest) {
         addProgress(1);
         if (isCompleted()) {
-            activeQuest.getQuestPlayer().sendDebugMessage("Trigger: Triggering trigger " + trigger.getTriggerType() + " for Quest " + activeQuest.getQuest().getQuestName());
+            activeQuest.getQuestPlayer().sendDebugMessage(() -> "Trigger: Triggering trigger " + trigger.getTriggerType() + " for Quest " + activeQuest.getQuest().getQuestName());
             trigger.trigger(activeQuest);
         }
     }
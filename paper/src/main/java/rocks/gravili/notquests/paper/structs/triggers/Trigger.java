@@ -98,7 +98,7 @@ public abstract class Trigger {
         final Player player = Bukkit.getPlayer(activeQuest.getQuestPlayer().getUUID());
 
         if (player != null) {
-            activeQuest.getQuestPlayer().sendDebugMessage("Trigger: Executing action " + action.getActionName() + " for Quest " + activeQuest.getQuest().getQuestName());
+            activeQuest.getQuestPlayer().sendDebugMessage(() -> "Trigger: Executing action " + action.getActionName() + " for Quest " + activeQuest.getQuest().getQuestName());
             if (quest != null) {
                 main.getActionManager().executeActionWithConditions(action, activeQuest.getQuestPlayer(), null, true, quest);
             } else {